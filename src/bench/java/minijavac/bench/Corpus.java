@@ -0,0 +1,276 @@
+package minijavac.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generates synthetic, but valid, source files for benchmarking the compiler front end.
+ */
+public class Corpus {
+
+    private Corpus() {}
+
+    /**
+     * Generates a single class containing enough methods to reach (roughly) the given size.
+     * @param className  class name
+     * @param targetSize approximate size of the source, in bytes
+     * @return source text
+     */
+    public static String generate(String className, int targetSize) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("class ").append(className).append(" {\n");
+        sb.append("    private static int count;\n");
+        sb.append("    public float ratio;\n\n");
+
+        int i = 0;
+        while (sb.length() < targetSize) {
+            appendMethod(sb, i++);
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Generates a single class made up mostly of keywords, containing enough methods to reach (roughly) the given size.
+     * @param className  class name
+     * @param targetSize approximate size of the source, in bytes
+     * @return source text
+     */
+    public static String generateKeywordHeavy(String className, int targetSize) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("class ").append(className).append(" {\n");
+        sb.append("    private static final boolean enabled = true;\n");
+        sb.append("    public static final int limit = 10;\n\n");
+
+        int i = 0;
+        while (sb.length() < targetSize) {
+            appendKeywordMethod(sb, i++);
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Generates a single class whose methods are riddled with (recoverable) syntax errors, containing enough methods to
+     * reach (roughly) the given size.
+     * @param className  class name
+     * @param targetSize approximate size of the source, in bytes
+     * @return source text
+     */
+    public static String generateErrorHeavy(String className, int targetSize) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("class ").append(className).append(" {\n");
+
+        int i = 0;
+        while (sb.length() < targetSize) {
+            appendBrokenMethod(sb, i++);
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Generates a single class whose methods consist of long arithmetic, bitwise, and logical expressions, containing
+     * enough methods to reach (roughly) the given size.
+     * @param className  class name
+     * @param targetSize approximate size of the source, in bytes
+     * @return source text
+     */
+    public static String generateExpressionHeavy(String className, int targetSize) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("class ").append(className).append(" {\n");
+
+        int i = 0;
+        while (sb.length() < targetSize) {
+            appendExpressionMethod(sb, i++);
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Generates a single class whose methods are documented by long block and line comments, which make up most of the
+     * source, containing enough methods to reach (roughly) the given size.
+     * @param className  class name
+     * @param targetSize approximate size of the source, in bytes
+     * @return source text
+     */
+    public static String generateCommentHeavy(String className, int targetSize) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("class ").append(className).append(" {\n");
+
+        int i = 0;
+        while (sb.length() < targetSize) {
+            appendCommentedMethod(sb, i++);
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Generates a single class whose methods are deeply indented and padded out with blank lines and alignment, containing
+     * enough methods to reach (roughly) the given size.
+     * @param className  class name
+     * @param targetSize approximate size of the source, in bytes
+     * @return source text
+     */
+    public static String generateWhitespaceHeavy(String className, int targetSize) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("class ").append(className).append(" {\n");
+
+        int i = 0;
+        while (sb.length() < targetSize) {
+            appendPaddedMethod(sb, i++);
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static void appendMethod(StringBuilder sb, int i) {
+        sb.append("    // helper number ").append(i).append('\n');
+        sb.append("    public static int compute").append(i).append("(int a, int b, boolean flag) {\n");
+        sb.append("        int total = 0;\n");
+        sb.append("        int[] values = new int[] {a, b, a + b, a * b};\n");
+        sb.append("        for (int j = 0; j < values.length; j++) {\n");
+        sb.append("            if (flag && values[j] % 2 == 0) {\n");
+        sb.append("                total += values[j] << 1;\n");
+        sb.append("            } else {\n");
+        sb.append("                total -= (values[j] >> 2) | 7;\n");
+        sb.append("            }\n");
+        sb.append("        }\n");
+        sb.append("        /* keep the counter in sync */\n");
+        sb.append("        count++;\n");
+        sb.append("        while (total > 1000 || total < -1000) {\n");
+        sb.append("            total = total / 3;\n");
+        sb.append("        }\n");
+        sb.append("        return flag ? total : -total;\n");
+        sb.append("    }\n\n");
+    }
+
+    private static void appendKeywordMethod(StringBuilder sb, int i) {
+        sb.append("    public boolean check").append(i).append("(final boolean flag, final int count) {\n");
+        sb.append("        if (flag == true && this != null) {\n");
+        sb.append("            return false;\n");
+        sb.append("        } else if (count != 0 || enabled == false) {\n");
+        sb.append("            return flag;\n");
+        sb.append("        }\n");
+        sb.append("        for (int j = 0; j < count; j++) {\n");
+        sb.append("            if (flag) {\n");
+        sb.append("                continue;\n");
+        sb.append("            } else {\n");
+        sb.append("                break;\n");
+        sb.append("            }\n");
+        sb.append("        }\n");
+        sb.append("        while (flag && count > limit) {\n");
+        sb.append("            return true;\n");
+        sb.append("        }\n");
+        sb.append("        return !flag;\n");
+        sb.append("    }\n\n");
+    }
+
+    private static void appendExpressionMethod(StringBuilder sb, int i) {
+        sb.append("    public static int eval").append(i).append("(int a, int b, int c, boolean p) {\n");
+        sb.append("        int x = a * b + c / 3 - (a % 7) * 2 + b * b - c;\n");
+        sb.append("        int y = (x << 2) + (a >> 1) - (b >>> 3) & 255 | c ^ x & 15;\n");
+        sb.append("        boolean q = x < y && y <= a + b || c >= 10 && !p || x == y != (a > b);\n");
+        sb.append("        int z = q ? x * y - a : -x + ~y * (b - c) / (a + 1);\n");
+        sb.append("        return x + y * z - (a + b) * (c - a) + z % 5 + (p ? 1 : 0);\n");
+        sb.append("    }\n\n");
+    }
+
+    private static void appendCommentedMethod(StringBuilder sb, int i) {
+        sb.append("    /**\n");
+        sb.append("     * Computes the weighted sum of the two given values, number ").append(i).append(".\n");
+        sb.append("     * <br><br>\n");
+        sb.append("     * The weights are fixed, and were chosen so that the result never overflows for inputs\n");
+        sb.append("     * within the expected range - see the notes on the caller for how that range is derived,\n");
+        sb.append("     * and why values outside of it are rejected before they ever reach this method.\n");
+        sb.append("     * @param a first value, which must be non-negative\n");
+        sb.append("     * @param b second value, which must be non-negative\n");
+        sb.append("     * @return weighted sum\n");
+        sb.append("     */\n");
+        sb.append("    public int weigh").append(i).append("(int a, int b) {\n");
+        sb.append("        // the first value counts for three times as much as the second, as agreed upon earlier\n");
+        sb.append("        int sum = a * 3 + b; /* never overflows, given the range checks above */\n");
+        sb.append("        // the result is halved so that it fits within the same range as the inputs themselves\n");
+        sb.append("        return sum / 2;\n");
+        sb.append("    }\n\n");
+    }
+
+    private static void appendPaddedMethod(StringBuilder sb, int i) {
+        String indent = "                ";
+        sb.append("\n\n    public int pad").append(i).append("(int a,          int b) {\n\n");
+        sb.append("        if (a > b) {\n");
+        sb.append("            while (a > b) {\n\n");
+        sb.append(indent).append("if (a > 100) {\n");
+        sb.append(indent).append("    a     =     a     -     b;\n\n\n");
+        sb.append(indent).append("}\t\t\telse {\n");
+        sb.append(indent).append("    a     =     a     -     1;\n");
+        sb.append(indent).append("}\n\n");
+        sb.append("            }\n");
+        sb.append("        }\n\n");
+        sb.append("        return        a;\n");
+        sb.append("    }\n");
+    }
+
+    private static void appendBrokenMethod(StringBuilder sb, int i) {
+        sb.append("    public int broken").append(i).append("(int a, int b) {\n");
+        sb.append("        int x = ;\n");
+        sb.append("        a = a + ;\n");
+        sb.append("        compute(a, b;\n");
+        sb.append("        int y = a # b;\n");
+        sb.append("        b = a * 2 b;\n");
+        sb.append("        if (a > b) {\n");
+        sb.append("            return a b;\n");
+        sb.append("        }\n");
+        sb.append("        return a;\n");
+        sb.append("    }\n\n");
+    }
+
+    /**
+     * Writes the given source to a temporary file, which is deleted on exit.
+     * @param className class name, used as the file name
+     * @param source    source text
+     * @return file path
+     * @throws IOException file unable to be written
+     */
+    public static Path write(String className, String source) throws IOException {
+        Path dir = Files.createTempDirectory("minijavac-bench");
+        Path file = dir.resolve(className + ".java");
+        Files.writeString(file, source, StandardCharsets.UTF_8);
+        file.toFile().deleteOnExit();
+        dir.toFile().deleteOnExit();
+        return file;
+    }
+
+    /**
+     * Writes a project to a temporary directory - a {@code Main} class referencing, through its fields, each of the given
+     * number of generated classes, which are each written to their own file.
+     * @param classCount number of referenced classes
+     * @param classSize  approximate size of each referenced class, in bytes
+     * @return path of {@code Main.java}, whose directory is the project's source path
+     * @throws IOException files unable to be written
+     */
+    public static Path writeProject(int classCount, int classSize) throws IOException {
+        Path dir = Files.createTempDirectory("minijavac-bench");
+        dir.toFile().deleteOnExit();
+
+        StringBuilder main = new StringBuilder("class Main {\n");
+        for (int i = 0; i < classCount; i++) {
+            String className = "C" + i;
+            main.append("    ").append(className).append(" c").append(i).append(";\n");
+
+            Path file = dir.resolve(className + ".java");
+            Files.writeString(file, generate(className, classSize), StandardCharsets.UTF_8);
+            file.toFile().deleteOnExit();
+        }
+        main.append("}\n");
+
+        Path mainFile = dir.resolve("Main.java");
+        Files.writeString(mainFile, main.toString(), StandardCharsets.UTF_8);
+        mainFile.toFile().deleteOnExit();
+        return mainFile;
+    }
+}
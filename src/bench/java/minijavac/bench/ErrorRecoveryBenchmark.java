@@ -0,0 +1,61 @@
+package minijavac.bench;
+
+import minijavac.ast.ClassDecl;
+import minijavac.listener.SimpleListener;
+import minijavac.syntax.Parser;
+import minijavac.syntax.Scanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * Compares parsing a valid source file with parsing one of the same size that's riddled with syntax errors, to measure
+ * the cost of reporting and recovering from them.
+ *
+ * Source is read into memory once, so that the cost of reading the file isn't included.
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorRecoveryBenchmark {
+
+    @Param({"1048576"})
+    public int size;
+
+    @Param({"valid", "errors"})
+    public String corpus;
+
+    private Path file;
+    private ByteBuffer source;
+
+    @Setup
+    public void setup() throws IOException {
+        String text = corpus.equals("errors")
+                ? Corpus.generateErrorHeavy("Bench", size)
+                : Corpus.generate("Bench", size);
+        file = Corpus.write("Bench", text);
+        source = Scanner.read(file);
+
+        // make sure each corpus measures what it's meant to
+        SimpleListener listener = new SimpleListener();
+        new Parser(new Scanner(source, file, listener), listener).parse();
+        if (corpus.equals("errors") != listener.getErrCnt() > 0) {
+            throw new IllegalStateException(String.format("%s corpus has %d errors", corpus, listener.getErrCnt()));
+        }
+    }
+
+    @Benchmark
+    public List<ClassDecl> parse() {
+        SimpleListener listener = new SimpleListener();
+        return new Parser(new Scanner(source, file, listener), listener).parse();
+    }
+}
@@ -0,0 +1,57 @@
+package minijavac.bench;
+
+import minijavac.Compiler;
+import minijavac.ast.ClassDecl;
+import minijavac.cli.Args;
+import minijavac.listener.SimpleListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * Measures {@link Compiler#parseAndEnter()} over a project of many source files, all discovered through the source path,
+ * with a varying number of parse threads.
+ *
+ * Unlike the other benchmarks, files are read from disk on every invocation - they'll be in the page cache after the
+ * first, though.
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FrontEndBenchmark {
+
+    @Param({"64"})
+    public int files;
+
+    @Param({"65536"})
+    public int size;
+
+    @Param({"1", "0"})
+    public int threads;
+
+    private Path main;
+
+    @Setup
+    public void setup() throws IOException {
+        main = Corpus.writeProject(files, size);
+    }
+
+    @Benchmark
+    public List<ClassDecl> parseAndEnter() throws IOException {
+        Args args = new Args();
+        args.files = List.of(main);
+        args.sourcePath = main.getParent();
+        args.threads = threads;
+        try (Compiler compiler = new Compiler(new SimpleListener(), args)) {
+            return compiler.parseAndEnter();
+        }
+    }
+}
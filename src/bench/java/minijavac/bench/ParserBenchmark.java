@@ -0,0 +1,84 @@
+package minijavac.bench;
+
+import minijavac.ast.ClassDecl;
+import minijavac.listener.SimpleListener;
+import minijavac.syntax.Parser;
+import minijavac.syntax.Scanner;
+import minijavac.syntax.Token;
+import minijavac.syntax.TokenCursor;
+import minijavac.syntax.TokenKind;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * Compares stepping through a file's tokens with the {@link TokenCursor} API against materializing a {@link Token} per
+ * lexeme, as well as measuring a full parse - of both a typical and an expression-dense source file.
+ *
+ * Source is read into memory once, so that the cost of reading the file isn't included. Run with {@code -prof gc},
+ * and divide {@code gc.alloc.rate.norm} by the token count printed during setup to get bytes allocated per token.
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"1048576"})
+    public int size;
+
+    @Param({"mixed", "expressions"})
+    public String corpus;
+
+    private Path file;
+    private ByteBuffer source;
+
+    @Setup
+    public void setup() throws IOException {
+        String text = corpus.equals("expressions")
+                ? Corpus.generateExpressionHeavy("Bench", size)
+                : Corpus.generate("Bench", size);
+        file = Corpus.write("Bench", text);
+        source = Scanner.read(file);
+
+        int tokens = cursor();
+        System.out.printf("%n%d tokens%n", tokens);
+    }
+
+    @Benchmark
+    public int tokens() {
+        Scanner scanner = new Scanner(source, file, new SimpleListener());
+        int count = 0;
+        Token token;
+        do {
+            token = scanner.scan();
+            count++;
+        } while (token.kind != TokenKind.EOF);
+        return count;
+    }
+
+    @Benchmark
+    public int cursor() {
+        Scanner scanner = new Scanner(source, file, new SimpleListener());
+        int count = 0;
+        do {
+            scanner.advance();
+            count++;
+        } while (scanner.kind != TokenKind.EOF);
+        return count;
+    }
+
+    @Benchmark
+    public List<ClassDecl> parse() {
+        SimpleListener listener = new SimpleListener();
+        return new Parser(new Scanner(source, file, listener), listener).parse();
+    }
+}
@@ -0,0 +1,59 @@
+package minijavac.bench;
+
+import minijavac.ast.ClassDecl;
+import minijavac.listener.SimpleListener;
+import minijavac.syntax.Parser;
+import minijavac.syntax.PipelinedCursor;
+import minijavac.syntax.Scanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * Compares parsing a large source file synchronously, with the {@link Parser} driving a {@link Scanner} directly, against
+ * parsing it through a {@link PipelinedCursor}, with the scanner running ahead on a separate thread.
+ *
+ * Source is read into memory once, so that the cost of reading the file isn't included. The pipeline can only help
+ * with at least two available processors.
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PipelineBenchmark {
+
+    @Param({"16777216"})
+    public int size;
+
+    private Path file;
+    private ByteBuffer source;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Corpus.write("Bench", Corpus.generate("Bench", size));
+        source = Scanner.read(file);
+        System.out.printf("%n%d processors%n", Runtime.getRuntime().availableProcessors());
+    }
+
+    @Benchmark
+    public List<ClassDecl> synchronous() {
+        SimpleListener listener = new SimpleListener();
+        return new Parser(new Scanner(source, file, listener), listener).parse();
+    }
+
+    @Benchmark
+    public List<ClassDecl> pipelined() {
+        SimpleListener listener = new SimpleListener();
+        try (PipelinedCursor cursor = new PipelinedCursor(source, file, listener)) {
+            return new Parser(cursor, listener).parse();
+        }
+    }
+}
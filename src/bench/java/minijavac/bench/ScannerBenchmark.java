@@ -0,0 +1,84 @@
+package minijavac.bench;
+
+import minijavac.listener.SimpleListener;
+import minijavac.syntax.Scanner;
+import minijavac.syntax.Token;
+import minijavac.syntax.TokenKind;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scanning a file handed over as an {@link InputStream} with scanning its contents from a single buffer -
+ * either word-at-a-time (the default) or one byte at a time - on typical, keyword-heavy, comment-heavy, and
+ * whitespace-heavy source files.
+ * <br><br>
+ * Throughput is reported in characters per second, via the {@link Chars} counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScannerBenchmark {
+
+    @Param({"65536", "4194304"})
+    public int size;
+
+    @Param({"mixed", "keywords", "comments", "whitespace"})
+    public String corpus;
+
+    private Path file;
+    private long length;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Chars {
+        public long chars;
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        String source = switch (corpus) {
+            case "keywords" -> Corpus.generateKeywordHeavy("Bench", size);
+            case "comments" -> Corpus.generateCommentHeavy("Bench", size);
+            case "whitespace" -> Corpus.generateWhitespaceHeavy("Bench", size);
+            default -> Corpus.generate("Bench", size);
+        };
+        file = Corpus.write("Bench", source);
+        length = Files.size(file);
+    }
+
+    @Benchmark
+    public int stream(Chars chars) throws IOException {
+        try (InputStream stream = Files.newInputStream(file)) {
+            return scan(new Scanner(stream, file, new SimpleListener()), chars);
+        }
+    }
+
+    @Benchmark
+    public int buffer(Chars chars) throws IOException {
+        return scan(Scanner.open(file, new SimpleListener()), chars);
+    }
+
+    @Benchmark
+    public int bytewise(Chars chars) throws IOException {
+        return scan(new Scanner(Scanner.read(file), file, new SimpleListener(), false), chars);
+    }
+
+    private int scan(Scanner scanner, Chars chars) {
+        int count = 0;
+        Token token;
+        do {
+            token = scanner.scan();
+            count++;
+        } while (token.kind != TokenKind.EOF);
+        chars.chars += length;
+        return count;
+    }
+}
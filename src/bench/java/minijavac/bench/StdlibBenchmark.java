@@ -0,0 +1,44 @@
+package minijavac.bench;
+
+import minijavac.ast.ClassDecl;
+import minijavac.syntax.Names;
+import minijavac.utils.StandardLibrary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * Measures the cold-start cost of loading the standard library, once per freshly forked JVM - which is what every
+ * compiler invocation pays.
+ *
+ * {@code yaml} is the previous path, parsing {@code stdlib.yaml} with Jackson (and so loading and initializing Jackson
+ * and SnakeYAML along the way), while {@code snapshot} reads the binary snapshot written at build time.
+ *
+ * Each fork only measures a single invocation, so use plenty of forks, i.e. {@code -f 20}.
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StdlibBenchmark {
+
+    @Setup
+    public void setup() {
+        if (!StandardLibrary.hasSnapshot()) throw new IllegalStateException("stdlib snapshot missing");
+    }
+
+    @Benchmark
+    public List<ClassDecl> yaml() {
+        return StandardLibrary.getClassesFromYaml(new Names());
+    }
+
+    @Benchmark
+    public List<ClassDecl> snapshot() {
+        return StandardLibrary.getClasses(new Names());
+    }
+}
@@ -0,0 +1,104 @@
+package minijavac.bench;
+
+import minijavac.Compiler;
+import minijavac.ast.ClassDecl;
+import minijavac.cli.Args;
+import minijavac.gen.file.ClassFile;
+import minijavac.listener.SimpleListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * Measures serializing and writing the class files of a generated project.
+ *
+ * {@code stream} and {@code buffer} are the previous serialization paths - a {@link DataOutputStream} straight over the
+ * file, issuing a write for every field, and a growable in-memory buffer - while {@code channel} serializes each class
+ * file into an exactly-sized array and writes it with a single channel write, and {@code unchanged} does the same with
+ * unchanged files skipped (which, after the first invocation, is all of them).
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriteBenchmark {
+
+    @Param({"64"})
+    public int files;
+
+    @Param({"65536"})
+    public int size;
+
+    private Compiler compiler;
+    private Args args;
+    private List<ClassFile> classFiles;
+
+    @Setup
+    public void setup() throws IOException {
+        Path main = Corpus.writeProject(files, size);
+        args = new Args();
+        args.files = List.of(main);
+        args.sourcePath = main.getParent();
+        args.destinationDir = Files.createTempDirectory("minijavac-bench-out");
+        args.destinationDir.toFile().deleteOnExit();
+
+        SimpleListener listener = new SimpleListener();
+        compiler = new Compiler(listener, args);
+        List<ClassDecl> classes = compiler.prepare();
+        if (listener.hasErrors()) throw new IllegalStateException("generated project has errors");
+        classFiles = compiler.generate(classes);
+        compiler.close();
+    }
+
+    @Benchmark
+    public void stream() throws IOException {
+        for (ClassFile classFile : classFiles) {
+            Path file = args.destinationDir.resolve(classFile.getClassName() + ".class");
+            try (DataOutputStream stream = new DataOutputStream(Files.newOutputStream(file))) {
+                classFile.writeTo(stream);
+            }
+        }
+    }
+
+    @Benchmark
+    public int buffer() throws IOException {
+        int total = 0;
+        for (ClassFile classFile : classFiles) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            classFile.writeTo(new DataOutputStream(bytes));
+            total += bytes.toByteArray().length;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int exact() throws IOException {
+        int total = 0;
+        for (ClassFile classFile : classFiles) {
+            total += classFile.toByteArray().length;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void channel() {
+        args.skipUnchanged = false;
+        compiler.write(classFiles);
+    }
+
+    @Benchmark
+    public void unchanged() {
+        args.skipUnchanged = true;
+        compiler.write(classFiles);
+    }
+}
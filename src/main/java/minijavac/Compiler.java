@@ -4,48 +4,129 @@ import minijavac.ast.ClassDecl;
 import minijavac.cli.Args;
 import minijavac.gen.Generator;
 import minijavac.gen.file.ClassFile;
+import minijavac.gen.file.JarWriter;
 import minijavac.utils.UniqueQueue;
 import minijavac.context.Context;
 import minijavac.context.enter.Enter;
 import minijavac.context.SymbolTable;
+import minijavac.listener.BufferingListener;
+import minijavac.listener.FileResolvingListener;
 import minijavac.listener.Listener;
 import minijavac.listener.PrintListener;
+import minijavac.syntax.FileTable;
+import minijavac.syntax.Names;
 import minijavac.syntax.Parser;
+import minijavac.syntax.PipelinedCursor;
+import minijavac.syntax.Prefetcher;
 import minijavac.syntax.Scanner;
-import minijavac.utils.StandardLibrary;
+import minijavac.utils.JrtStandardLibrary;
+import minijavac.utils.SourcePathIndex;
+import minijavac.utils.Stats;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Mixin;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Command(name = "minijavac", description = "minimal Java compiler")
-public class Compiler implements Callable<Integer> {
+public class Compiler implements Callable<Integer>, AutoCloseable {
 
+    /*
+    * Listener given to the compiler, wrapped so that every error's file is resolved against the file table below.
+    * */
     private final Listener listener;
     private final SymbolTable symbolTable;
 
+    /*
+    * Identifiers interned and source files registered while compiling, shared by every file - dropped along with the
+    * compiler, so nothing outlives the compilation.
+    * */
+    private final Names names = new Names();
+    private final FileTable files = new FileTable();
+
     @Mixin
     private Args args;
 
+    /*
+    * Contents of each source file, if compiling from memory rather than from disk - null otherwise.
+    * */
+    private final Map<Path, ByteBuffer> sources;
+
+    private final Stats stats = new Stats();
+
+    /*
+    * Reads source files ahead of them being parsed - only set while parsing and entering, and only if compiling from
+    * disk.
+    * */
+    private Prefetcher prefetcher;
+
+    /*
+    * Work-stealing pool shared by every parallel phase - created the first time one runs, and shut down by
+    * {@link #close()}.
+    * */
+    private ExecutorService pool;
+
+    /*
+    * Threads that pipelined files are scanned on, one per thread of the shared pool - created the first time a file is
+    * pipelined, and shut down by {@link #close()}.
+    * */
+    private ExecutorService scanners;
+
     public Compiler(Listener listener) {
-        this.listener = listener;
-        this.symbolTable = new SymbolTable(listener);
+        this.listener = new FileResolvingListener(listener, files);
+        this.symbolTable = new SymbolTable(this.listener, names);
+        this.symbolTable.setStats(stats);
+        this.sources = null;
     }
 
     public Compiler(Listener listener, Args args) {
-        this(listener);
+        this(listener, args, null);
+    }
+
+    /**
+     * Creates a compiler that reads every source file from the given map rather than from disk - including those
+     * found through {@link Args#sourcePath}, which are looked up by their resolved path.
+     * @param listener error listener
+     * @param args     compiler arguments
+     * @param sources  contents of each source file, keyed by path
+     */
+    public Compiler(Listener listener, Args args, Map<Path, ByteBuffer> sources) {
+        this.listener = new FileResolvingListener(listener, files);
+        this.symbolTable = new SymbolTable(this.listener, names);
+        this.symbolTable.setStats(stats);
         this.args = args;
+        this.sources = sources;
+    }
+
+    /**
+     * @return statistics collected so far
+     */
+    public Stats getStats() {
+        return stats;
     }
 
     /**
@@ -56,11 +137,70 @@ public class Compiler implements Callable<Integer> {
      * @throws IOException file unable to be parsed
      */
     public List<ClassDecl> parse(InputStream stream, Path file) throws IOException {
-        Scanner scanner = new Scanner(stream, file, listener);
+        Scanner scanner = new Scanner(ByteBuffer.wrap(stream.readAllBytes()), file, listener, names, files);
         Parser parser = new Parser(scanner, listener);
         return parser.parse();
     }
 
+    /**
+     * Parses a given file into the {@link ClassDecl} nodes it contains, scanning directly over the file's contents
+     * rather than through a stream.
+     * @param file file path
+     * @return parsed classes
+     * @throws IOException file unable to be parsed
+     */
+    public List<ClassDecl> parse(Path file) throws IOException {
+        return parse(file, false);
+    }
+
+    /**
+     * Parses a given file into the {@link ClassDecl} nodes it contains, optionally as skeletons - with every method and
+     * constructor body skipped, leaving only the fields and signatures needed to enter the classes.
+     * @param file     file path
+     * @param skeleton whether to skip method bodies
+     * @return parsed classes
+     * @throws IOException file unable to be parsed
+     */
+    public List<ClassDecl> parse(Path file, boolean skeleton) throws IOException {
+        return parse(file, skeleton, args != null && args.pipeline, listener);
+    }
+
+    private List<ClassDecl> parse(Path file, boolean skeleton, boolean pipeline, Listener listener)
+            throws IOException {
+        ByteBuffer buf = read(file);
+        if (pipeline) {
+            // scan on a separate thread, overlapping with parsing
+            try (PipelinedCursor cursor = new PipelinedCursor(buf, file, listener, names, files, scanners())) {
+                return new Parser(cursor, listener, skeleton).parse();
+            }
+        }
+        Scanner scanner = new Scanner(buf, file, listener, names, files);
+        Parser parser = new Parser(scanner, listener, skeleton);
+        return parser.parse();
+    }
+
+    /**
+     * Reads the entire contents of the given source file, either from disk or, if compiling from memory, from the
+     * map of sources.
+     * @param file file path
+     * @return file contents
+     * @throws IOException file unable to be read, or not one of the in-memory sources
+     */
+    private ByteBuffer read(Path file) throws IOException {
+        if (sources == null) return prefetcher != null ? prefetcher.take(file) : Scanner.read(file);
+
+        ByteBuffer buf = sources.get(file);
+        if (buf == null) throw new NoSuchFileException(file.toString());
+        // each parse gets its own position and limit, so the same source can be compiled concurrently
+        return buf.duplicate();
+    }
+
+    /**
+     * Outcome of parsing a single file on the parse pool - either its classes (null if a fatal parse error occurred)
+     * and the errors logged while parsing them, or the exception that prevented the file from being read.
+     */
+    private record ParseResult(List<ClassDecl> classes, BufferingListener listener, IOException ex) {}
+
     /**
      * <pre>
      * Parses the classes in every file specified by the user and enters their members into the {@link SymbolTable}.
@@ -68,39 +208,68 @@ public class Compiler implements Callable<Integer> {
      * Additionally, if any of the specified classes appears to reference a unspecified class, then an attempt is made
      * to parse and enter that unspecified class and any other unspecified classes it references, and so on and so
      * forth - this will continue until all referenced classes have been processed.
+     *
+     * Standard library classes aren't entered here - the {@link SymbolTable} faults each one in the first time it's
+     * referenced, from the classes bundled with the compiler or, if {@link Args#jrtStdLib} is set, from the JDK itself.
+     *
+     * Whether a referenced class has a source file is answered from a {@link SourcePathIndex}, listed once per
+     * compilation (or read from {@link Args#sourcePathCache}), so names that never resolve to a file - such as those of
+     * standard library classes - don't cost a failed file open for every file that references them.
+     *
+     * If {@link Args#implicitNone} is set, those unspecified classes are only parsed as skeletons, and are entered
+     * (so that the specified classes can be checked against their signatures) but not returned - so they're neither
+     * analyzed nor generated.
+     *
+     * Files are parsed in parallel on a work-stealing pool of {@link Args#threads} threads: each file is submitted as
+     * soon as it's enqueued, logging its errors to its own {@link BufferingListener}. Results are then consumed on the
+     * calling thread in queue order - replaying the errors and entering the classes - so both the symbol table and the
+     * reported errors are the same as if the files had been parsed one at a time.
+     *
+     * Unless {@link Args#prefetchLimit} is 0, each file is also handed to a {@link Prefetcher} as it's enqueued, so
+     * that its contents are read into memory in the background, ahead of its parse.
      * </pre>
-     * @return parsed and entered {@link ClassDecl} nodes
+     * @return parsed and entered {@link ClassDecl} nodes, to be analyzed and generated
      * @throws IOException file is unable to be parsed, or user-specified file cannot be found
      */
     public List<ClassDecl> parseAndEnter() throws IOException {
         UniqueQueue<Path> toParseAndEnterQueue = new UniqueQueue<>();
+        Map<Path, Future<ParseResult>> parsing = new HashMap<>();
+        ExecutorService pool = pool();
 
         Set<Path> userFiles = new HashSet<>(args.files);
-        // enqueue user-specified files
-        for (Path file : args.files) {
-            toParseAndEnterQueue.offer(file);
-        }
+        SourcePathIndex sourcePathIndex = indexSourcePath();
+        if (sources == null && args.prefetchLimit > 0) prefetcher = new Prefetcher(args.prefetchLimit, stats);
 
-        List<ClassDecl> enteredClasses = new ArrayList<>();
-        Enter enterVisitor = new Enter(symbolTable, listener);
+        try {
+            // enqueue user-specified files
+            for (Path file : args.files) {
+                if (toParseAndEnterQueue.offer(file)) parsing.put(file, submitParse(pool, file, false, args.pipeline));
+            }
 
-        // enter std lib classes
-        List<ClassDecl> stdClasses = StandardLibrary.getClasses();
-        for (ClassDecl stdClass : stdClasses) {
-            enterVisitor.enterStd(stdClass);
-        }
+            List<ClassDecl> enteredClasses = new ArrayList<>();
+            Enter enterVisitor = new Enter(symbolTable, listener);
 
-        while (!toParseAndEnterQueue.isEmpty()) {
-            Path file = toParseAndEnterQueue.poll(); // dequeue file
+            // std lib classes aren't entered here, but faulted in by the symbol table as they're first referenced
+            if (args.jrtStdLib) symbolTable.setStdLib(JrtStandardLibrary.shared());
 
-            try (InputStream stream = Files.newInputStream(file)) {
-                int errCnt = listener.getErrCnt();
+            while (!toParseAndEnterQueue.isEmpty()) {
+                Path file = toParseAndEnterQueue.poll(); // dequeue file
+                boolean implicit = !userFiles.contains(file);
 
-                // parse file
-                List<ClassDecl> parsedClasses = parse(stream, file);
+                ParseResult result = await(parsing.remove(file));
+                if (result.ex() != null) {
+                    // only throw error if file was specified by user, otherwise ignore
+                    if (!implicit) throw result.ex();
+                    continue;
+                }
+
+                int errCnt = listener.getErrCnt();
+                result.listener().replay(listener);
                 // if parse errors occurred, don't enter
                 if (listener.getErrCnt() != errCnt) continue;
 
+                List<ClassDecl> parsedClasses = result.classes();
+
                 // collect all class names within file
                 Set<String> classesInFile = parsedClasses.stream()
                         .map(c -> c.id.contents)
@@ -110,22 +279,151 @@ public class Compiler implements Callable<Integer> {
                     // enter class
                     Set<String> referencedClasses = enterVisitor.enter(cls);
 
-                    // enqueue each referenced class that can't be found within the same file
-                    referencedClasses.stream()
-                            .filter(refClass -> !classesInFile.contains(refClass))
-                            .forEach(refClass -> toParseAndEnterQueue.offer(
-                                    args.sourcePath.resolve(String.format("%s.java", refClass))
-                            ));
+                    // enqueue each referenced class that can't be found within the same file, and start parsing it
+                    for (String refClass : referencedClasses) {
+                        if (classesInFile.contains(refClass)) continue;
 
-                    enteredClasses.add(cls);
+                        Path refFile = args.sourcePath.resolve(String.format("%s.java", refClass));
+                        if (!sourceExists(sourcePathIndex, refClass, refFile)) continue;
+                        if (toParseAndEnterQueue.offer(refFile)) {
+                            parsing.put(refFile, submitParse(pool, refFile, args.implicitNone, args.pipeline));
+                        }
+                    }
+
+                    if (!implicit || !args.implicitNone) enteredClasses.add(cls);
                 }
+            }
+
+            return enteredClasses;
+        } finally {
+            cancel(parsing.values());
+            if (prefetcher != null) {
+                prefetcher.close();
+                prefetcher = null;
+            }
+        }
+    }
+
+    /**
+     * @return index of the source path, or null if compiling from memory, or the source path couldn't be listed (in
+     * which case each referenced file is just opened, as it's found)
+     */
+    private SourcePathIndex indexSourcePath() {
+        if (sources != null) return null;
+        try {
+            return args.sourcePathCache != null
+                    ? SourcePathIndex.load(args.sourcePath, args.sourcePathCache)
+                    : SourcePathIndex.build(args.sourcePath);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * @param index     source path index, if available
+     * @param className referenced class name
+     * @param file      the class's source file
+     * @return whether the source file might exist - only a definite no skips it
+     */
+    private boolean sourceExists(SourcePathIndex index, String className, Path file) {
+        if (sources != null) return sources.containsKey(file);
+        return index == null || index.contains(className);
+    }
+
+    /**
+     * Submits the given file to be parsed on the pool.
+     * <br><br>
+     * The file's id is registered first, on the calling thread, so that ids (and therefore packed positions) are
+     * assigned in queue order rather than in whatever order the pool happens to open the files.
+     */
+    private Future<ParseResult> submitParse(ExecutorService pool, Path file, boolean skeleton, boolean pipeline) {
+        files.id(file);
+        if (prefetcher != null) prefetcher.prefetch(file);
+        return pool.submit(() -> {
+            BufferingListener buffer = new BufferingListener();
+            try {
+                return new ParseResult(parse(file, skeleton, pipeline, buffer), buffer, null);
             } catch (IOException ex) {
-                // only throw error if file was specified by user, otherwise ignore
-                if (userFiles.contains(file)) throw ex;
+                return new ParseResult(null, buffer, ex);
             }
+        });
+    }
+
+    /**
+     * @return work-stealing pool of {@link Args#threads} threads, shared by every phase of this compilation
+     */
+    private ExecutorService pool() {
+        if (pool == null) {
+            pool = Executors.newWorkStealingPool(threads());
         }
+        return pool;
+    }
 
-        return enteredClasses;
+    /**
+     * <pre>
+     * Pipelined files are parsed on the shared pool, so at most one is pipelined per pool thread at a time - and so one
+     * scanning thread per pool thread means a file's scanner never queues behind another's. Threads are reused from
+     * file to file, rather than started per file.
+     * </pre>
+     * @return fixed pool of daemon threads that the pipelined files of this compilation are scanned on
+     */
+    private synchronized ExecutorService scanners() {
+        if (scanners == null) {
+            AtomicInteger threadCnt = new AtomicInteger();
+            scanners = Executors.newFixedThreadPool(threads(), r -> {
+                Thread thread = new Thread(r, String.format("minijavac-scanner-%d", threadCnt.incrementAndGet()));
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scanners;
+    }
+
+    /**
+     * @return number of threads used by each parallel phase
+     */
+    private int threads() {
+        return args.threads > 0 ? args.threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Cancels any of the given tasks that haven't completed, i.e. when a phase is abandoned part way through - so that
+     * they don't keep running on the shared pool.
+     */
+    private static void cancel(Collection<? extends Future<?>> tasks) {
+        for (Future<?> task : tasks) {
+            task.cancel(true);
+        }
+    }
+
+    /**
+     * Shuts down the pool shared by each phase, and the scanning threads, if they've been started. The compiler can
+     * still be used afterwards, in which case new ones are started.
+     */
+    @Override
+    public synchronized void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+        if (scanners != null) {
+            scanners.shutdownNow();
+            scanners = null;
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while compiling");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException cause) throw cause;
+            if (ex.getCause() instanceof RuntimeException cause) throw cause;
+            if (ex.getCause() instanceof Error cause) throw cause;
+            throw new IllegalStateException(ex.getCause());
+        }
     }
 
     /**
@@ -136,31 +434,202 @@ public class Compiler implements Callable<Integer> {
      */
     public List<ClassDecl> prepare() throws IOException {
         List<ClassDecl> enteredClasses = parseAndEnter();
-        Context context = new Context(symbolTable, listener);
-        for (ClassDecl classDecl : enteredClasses) {
-            context.resolve(classDecl);
-        }
+        resolve(enteredClasses);
         return enteredClasses;
     }
 
     /**
-     * Generates {@link ClassFile} instances for the given {@link ClassDecl} nodes.
+     * <pre>
+     * Performs contextual analysis and type checking on the given (entered) classes, in parallel on a work-stealing
+     * pool of {@link Args#threads} threads.
+     *
+     * Once every class has been entered the {@link SymbolTable} is read-only, so each class is resolved by its own
+     * {@link Context}, logging its errors to its own {@link BufferingListener}. Those errors are then replayed in the
+     * order of the given classes, so they're reported exactly as if the classes had been resolved one at a time.
+     * </pre>
+     * @param classes entered classes
+     * @throws IOException interrupted while waiting for a class to be resolved
+     */
+    private void resolve(List<ClassDecl> classes) throws IOException {
+        // resolve every member signature up front, so that classes never see each other's unresolved types
+        symbolTable.resolveSignatures();
+
+        ExecutorService pool = pool();
+        List<Future<BufferingListener>> resolving = new ArrayList<>();
+        try {
+            for (ClassDecl classDecl : classes) {
+                resolving.add(pool.submit(() -> {
+                    BufferingListener buffer = new BufferingListener();
+                    new Context(symbolTable, buffer).resolve(classDecl);
+                    return buffer;
+                }));
+            }
+
+            for (Future<BufferingListener> future : resolving) {
+                await(future).replay(listener);
+            }
+        } finally {
+            cancel(resolving);
+        }
+    }
+
+    /**
+     * Generates {@link ClassFile} instances for the given {@link ClassDecl} nodes, in parallel on a work-stealing pool
+     * of {@link Args#threads} threads.
      * @param classes list of prepared {@link ClassDecl} nodes
      * @return list of corresponding {@link ClassFile} instances
+     * @throws IOException interrupted while waiting for a class to be generated
+     */
+    public List<ClassFile> generate(List<ClassDecl> classes) throws IOException {
+        Generator generator = new Generator(names);
+        ExecutorService pool = pool();
+        List<Future<ClassFile>> generating = new ArrayList<>();
+        try {
+            for (ClassDecl classDecl : classes) {
+                generating.add(pool.submit(() -> generator.gen(classDecl)));
+            }
+
+            List<ClassFile> classFiles = new ArrayList<>();
+            for (Future<ClassFile> future : generating) {
+                classFiles.add(await(future));
+            }
+            return classFiles;
+        } finally {
+            cancel(generating);
+        }
+    }
+
+    /**
+     * <pre>
+     * Generates and serializes a {@link ClassFile} for each of the given {@link ClassDecl} nodes, in parallel on a
+     * work-stealing pool of {@link Args#threads} threads - without writing anything to disk.
+     *
+     * Each class file is serialized by the same task that generated it, so only its bytes are held on to.
+     * </pre>
+     * @param classes list of prepared {@link ClassDecl} nodes
+     * @return serialized class files, keyed by class name, in the order of the given classes
+     * @throws IOException interrupted while waiting for a class to be generated
      */
-    public List<ClassFile> generate(List<ClassDecl> classes) {
-        Generator generator = new Generator();
-        return classes.stream()
-                .map(generator::gen)
-                .collect(Collectors.toList());
+    public Map<String, byte[]> serialize(List<ClassDecl> classes) throws IOException {
+        Generator generator = new Generator(names);
+        ExecutorService pool = pool();
+        List<Future<byte[]>> serializing = new ArrayList<>();
+        try {
+            for (ClassDecl classDecl : classes) {
+                serializing.add(pool.submit(() -> generator.gen(classDecl).toByteArray()));
+            }
+
+            Map<String, byte[]> classFiles = new LinkedHashMap<>();
+            for (int i = 0; i < classes.size(); i++) {
+                classFiles.put(classes.get(i).id.contents, await(serializing.get(i)));
+            }
+            return classFiles;
+        } finally {
+            cancel(serializing);
+        }
+    }
+
+    /**
+     * <pre>
+     * Generates a {@link ClassFile} for each of the given {@link ClassDecl} nodes and writes it to disk, in parallel on
+     * a work-stealing pool of {@link Args#threads} threads.
+     *
+     * Each class file is written by the same task that generated it, as soon as it's been generated - so generation
+     * overlaps with writing, and a class file is only held in memory until it's been written, rather than until every
+     * class has been generated.
+     *
+     * Write errors are reported in the order of the given classes, regardless of the order in which they occurred.
+     *
+     * If the destination is a jar file, the class files are packaged into it instead - see
+     * {@link #generateAndWriteJar(List)}.
+     * </pre>
+     * @param classes list of prepared {@link ClassDecl} nodes
+     * @throws IOException interrupted while waiting for a class to be generated and written, or jar unable to be
+     * written
+     */
+    public void generateAndWrite(List<ClassDecl> classes) throws IOException {
+        if (args.isJarOutput()) {
+            generateAndWriteJar(classes);
+            return;
+        }
+        createDestinationDir();
+
+        Generator generator = new Generator(names);
+        ExecutorService pool = pool();
+        List<Future<Void>> writing = new ArrayList<>();
+        try {
+            for (ClassDecl classDecl : classes) {
+                writing.add(pool.submit(() -> {
+                    write(generator.gen(classDecl));
+                    return null;
+                }));
+            }
+
+            for (Future<Void> future : writing) {
+                try {
+                    await(future);
+                } catch (InterruptedIOException ex) {
+                    throw ex;
+                } catch (IOException ex) {
+                    System.err.printf("error: unable to write file: %s%n", ex.getMessage());
+                }
+            }
+        } finally {
+            cancel(writing);
+        }
+    }
+
+    /**
+     * <pre>
+     * Generates and serializes a {@link ClassFile} for each of the given {@link ClassDecl} nodes in parallel, and
+     * streams them straight into the destination jar - no class file is ever written to disk on its own.
+     *
+     * Entries are written on the calling thread in order of class name, each as soon as it (and every entry before it)
+     * has been serialized - so the jar's contents don't depend on how the tasks were scheduled.
+     * </pre>
+     * @param classes list of prepared {@link ClassDecl} nodes
+     * @throws IOException jar unable to be written
+     */
+    private void generateAndWriteJar(List<ClassDecl> classes) throws IOException {
+        List<ClassDecl> sorted = new ArrayList<>(classes);
+        sorted.sort(Comparator.comparing(classDecl -> classDecl.id.contents));
+
+        Generator generator = new Generator(names);
+        ExecutorService pool = pool();
+        List<Future<byte[]>> serializing = new ArrayList<>();
+        try (JarWriter jar = openJar()) {
+            for (ClassDecl classDecl : sorted) {
+                serializing.add(pool.submit(() -> generator.gen(classDecl).toByteArray()));
+            }
+
+            for (int i = 0; i < sorted.size(); i++) {
+                jar.addClass(sorted.get(i).id.contents, await(serializing.get(i)));
+            }
+        } finally {
+            cancel(serializing);
+        }
     }
 
     /**
-     * Executes compilation.
+     * Executes compilation, printing statistics afterwards if {@link Args#stats} is set.
      * @return exit code
      */
     @Override
     public Integer call() {
+        int res;
+        try {
+            res = compile();
+        } finally {
+            close();
+        }
+        if (args.stats) stats.print(System.err);
+        return res;
+    }
+
+    /**
+     * @return exit code
+     */
+    private int compile() {
         List<ClassDecl> classes = null;
 
         // attempt to parse, enter, analyze, & type check all necessary classes
@@ -175,10 +644,13 @@ public class Compiler implements Callable<Integer> {
         // if io or compile errors occurred, return error exit code
         if (classes == null || listener.hasErrors()) return 1;
 
-        // generate class file instances
-        List<ClassFile> classFiles = generate(classes);
-        // write bytecode to disk
-        write(classFiles);
+        // generate class file instances, writing bytecode to disk as each is ready
+        try {
+            generateAndWrite(classes);
+        } catch (IOException ex) {
+            System.err.printf("error: unable to write output: %s%n", ex.getMessage());
+            return 1;
+        }
 
         return 0;
     }
@@ -189,11 +661,47 @@ public class Compiler implements Callable<Integer> {
      * filesystem.
      *
      * If the user specifies a destination directory, all class files will be written there - otherwise, they are each
-     * written to the same directory as their corresponding source file.
+     * written to the same directory as their corresponding source file. If the destination is a jar file, they're all
+     * packaged into it, in order of class name.
      * </pre>
      * @param classFiles classes to write
      */
     public void write(List<ClassFile> classFiles) {
+        if (args.isJarOutput()) {
+            List<ClassFile> sorted = new ArrayList<>(classFiles);
+            sorted.sort(Comparator.comparing(ClassFile::getClassName));
+            try (JarWriter jar = openJar()) {
+                for (ClassFile classFile : sorted) {
+                    jar.addClass(classFile.getClassName(), classFile.toByteArray());
+                }
+            } catch (IOException ex) {
+                System.err.printf("error: unable to write file: %s%n", ex.getMessage());
+            }
+            return;
+        }
+        createDestinationDir();
+
+        for (ClassFile classFile : classFiles) {
+            try {
+                write(classFile);
+            } catch (IOException ex) {
+                System.err.printf("error: unable to write file: %s%n", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates the destination jar file, along with any missing parent directories.
+     * @return jar writer
+     * @throws IOException jar unable to be created
+     */
+    private JarWriter openJar() throws IOException {
+        Path parent = args.destinationDir.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        return new JarWriter(args.destinationDir, args.jarCompression);
+    }
+
+    private void createDestinationDir() {
         if (args.destinationDir != null) {
             try {
                 Files.createDirectories(args.destinationDir);
@@ -201,21 +709,50 @@ public class Compiler implements Callable<Integer> {
                 System.out.printf("error: unable to create destination directory: %s%n", args.destinationDir);
             }
         }
+    }
 
-        for (ClassFile classFile : classFiles) {
-            Path dirPath = args.destinationDir != null ? args.destinationDir :
-                    classFile.getSourceFilePath().getParent();
-            String classFileName = String.format("%s.class", classFile.getClassName());
-            Path filePath = dirPath != null ? dirPath.resolve(classFileName) : Paths.get(classFileName);
-
-            try (DataOutputStream stream = new DataOutputStream(Files.newOutputStream(filePath))) {
-                classFile.writeTo(stream);
-            } catch (IOException ex) {
-                System.err.printf("error: unable to write file: %s%n", ex.getMessage());
+    /**
+     * <pre>
+     * Writes the given {@link ClassFile} instance to its Java class file.
+     *
+     * The class file is serialized into a single array of exactly the right size, which is then written with a single
+     * channel write - rather than issuing a separate write for every field of every entry.
+     *
+     * If {@link Args#skipUnchanged} is set and the file already holds exactly those bytes, it's left untouched, so
+     * that its modification time only changes when its contents do.
+     * </pre>
+     * @param classFile class to write
+     * @throws IOException file unable to be written
+     */
+    private void write(ClassFile classFile) throws IOException {
+        Path dirPath = args.destinationDir != null ? args.destinationDir :
+                classFile.getSourceFilePath().getParent();
+        String classFileName = String.format("%s.class", classFile.getClassName());
+        Path filePath = dirPath != null ? dirPath.resolve(classFileName) : Paths.get(classFileName);
+
+        byte[] bytes = classFile.toByteArray();
+        if (args.skipUnchanged && unchanged(filePath, bytes)) return;
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            while (buf.hasRemaining()) {
+                channel.write(buf);
             }
         }
     }
 
+    /**
+     * @return whether the given file exists and holds exactly the given bytes
+     */
+    private static boolean unchanged(Path file, byte[] bytes) {
+        try {
+            return Files.size(file) == bytes.length && Arrays.equals(Files.readAllBytes(file), bytes);
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
     public Listener getListener() {
         return listener;
     }
@@ -224,6 +761,20 @@ public class Compiler implements Callable<Integer> {
         return symbolTable;
     }
 
+    /**
+     * @return identifiers interned by this compilation
+     */
+    public Names getNames() {
+        return names;
+    }
+
+    /**
+     * @return source files registered by this compilation
+     */
+    public FileTable getFiles() {
+        return files;
+    }
+
     public Args getArgs() {
         return args;
     }
@@ -5,14 +5,14 @@ import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
- * Abstract base class, containing just the {@link Position}, for every node of the Abstract Syntax Tree constructed by
- * the {@link Parser}.
+ * Abstract base class, containing just the packed position (see {@link Position}), for every node of the Abstract
+ * Syntax Tree constructed by the {@link Parser}.
  */
 public abstract class AST {
 
-  public Position pos;
+  public long pos;
 
-  public AST (Position pos) {
+  public AST (long pos) {
     this.pos = pos;
   }
 
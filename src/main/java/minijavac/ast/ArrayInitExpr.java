@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 import java.util.List;
@@ -18,7 +17,7 @@ public class ArrayInitExpr extends Expression {
 
     public List<Expression> exprList;
 
-    public ArrayInitExpr(List<Expression> exprList, Position pos) {
+    public ArrayInitExpr(List<Expression> exprList, long pos) {
         super(pos);
         this.exprList = exprList;
     }
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -19,7 +18,7 @@ public class ArrayType extends Type {
 	public Type elementType;
 	public int dims;
 
-	public ArrayType(Type elementType, Position pos, int dims) {
+	public ArrayType(Type elementType, long pos, int dims) {
 		super(TypeKind.ARRAY, pos);
 		this.elementType = elementType;
 		this.dims = dims;
@@ -65,6 +64,7 @@ public class ArrayType extends Type {
 	 */
 	@Override
 	public String descriptor() {
+		if (descriptor != null) return descriptor;
 		StringBuilder sb = new StringBuilder();
 		for (int i=0; i<dims; i++) {
 			sb.append("[");
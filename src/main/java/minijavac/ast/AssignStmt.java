@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -19,7 +18,7 @@ public class AssignStmt extends Statement {
     public Operator operator;
     public Expression val;
 
-    public AssignStmt(Reference ref, Operator operator, Expression expr, Position pos) {
+    public AssignStmt(Reference ref, Operator operator, Expression expr, long pos) {
         super(pos);
         this.ref = ref;
         this.operator = operator;
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 
 /**
  * Abstract class for {@link Reference} nodes that refer to a specific declaration.
@@ -15,7 +14,7 @@ public abstract class BaseRef extends Reference {
 
     public Declaration decl;
 
-    public BaseRef(Position pos) {
+    public BaseRef(long pos) {
         super(pos);
     }
 }
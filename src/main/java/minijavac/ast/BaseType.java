@@ -17,7 +17,7 @@ import minijavac.utils.TraversalState;
  */
 public class BaseType extends Type {
 
-    public BaseType(TypeKind t, Position pos){
+    public BaseType(TypeKind t, long pos){
         super(t, pos);
     }
 
@@ -25,7 +25,7 @@ public class BaseType extends Type {
      * Factory method used for standard library members.
      */
     public static BaseType stdLib(TypeKind kind) {
-        return new BaseType(kind, null);
+        return new BaseType(kind, Position.NOPOS);
     }
 
     /**
@@ -56,6 +56,7 @@ public class BaseType extends Type {
      */
     @Override
     public String descriptor() {
+        if (descriptor != null) return descriptor;
         return descriptor(this.kind);
     }
 
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -20,7 +19,7 @@ public class BinaryExpr extends Expression {
     public Type leftType;
     public Type rightType;
 
-    public BinaryExpr(Operator o, Expression left, Expression right, Position pos) {
+    public BinaryExpr(Operator o, Expression left, Expression right, long pos) {
         super(pos);
         operator = o;
         this.left = left;
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 import java.util.List;
@@ -19,7 +18,7 @@ import java.util.List;
 public class BlockStmt extends Statement {
 
     public List<Statement> statements;
-    public BlockStmt(List<Statement> statements, Position pos) {
+    public BlockStmt(List<Statement> statements, long pos) {
         super(pos);
         this.statements = statements;
     }
@@ -1,6 +1,6 @@
 package minijavac.ast;
 
-import minijavac.syntax.Token;
+import minijavac.syntax.TokenKind;
 import minijavac.utils.TraversalState;
 
 /**
@@ -14,8 +14,8 @@ import minijavac.utils.TraversalState;
  */
 public class BooleanLiteral extends Terminal {
 
-  public BooleanLiteral(Token token) {
-    super(token);
+  public BooleanLiteral(TokenKind kind, long pos) {
+    super(kind, kind.getSpelling(), pos);
   }
 
   @Override
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 import java.util.List;
@@ -24,7 +23,7 @@ public class CallRef extends Reference {
     public Reference ref;
     public List<Expression> argList;
 
-    public CallRef(Reference ref, List<Expression> argList, Position pos) {
+    public CallRef(Reference ref, List<Expression> argList, long pos) {
         super(pos);
         this.ref = ref;
         this.argList = argList;
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -16,7 +15,7 @@ public class CallStmt extends Statement {
 
     public Reference methodRef;
 
-    public CallStmt(Reference methodRef, Position pos) {
+    public CallStmt(Reference methodRef, long pos) {
         super(pos);
         this.methodRef = methodRef;
     }
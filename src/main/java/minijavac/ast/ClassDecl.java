@@ -1,8 +1,10 @@
 package minijavac.ast;
 
+import minijavac.syntax.Names;
 import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -19,21 +21,26 @@ public class ClassDecl extends Declaration {
     public List<MethodDecl> methodDecls;
     public String shortName;
 
-    public ClassDecl(Identifier id, List<FieldDecl> fieldDecls, List<MethodDecl> methodDecls, Position pos) {
+    /**
+     * Source file the class was parsed from, null for standard library classes.
+     */
+    public Path file;
+
+    public ClassDecl(Identifier id, List<FieldDecl> fieldDecls, List<MethodDecl> methodDecls, long pos) {
         super(id, new ClassType(id, pos), false, pos);
         this.fieldDecls = fieldDecls;
         this.methodDecls = methodDecls;
     }
 
     public static ClassDecl stdLib(String className, List<FieldDecl> fieldDecls, List<MethodDecl> methodDecls,
-                                   String shortName) {
-        ClassDecl classDecl = new ClassDecl(Identifier.of(className), fieldDecls, methodDecls, null);
+                                   String shortName, Names names) {
+        ClassDecl classDecl = new ClassDecl(Identifier.of(className, names), fieldDecls, methodDecls, Position.NOPOS);
         classDecl.shortName = shortName;
         return classDecl;
     }
 
     public ClassDecl(Identifier id) {
-        super(id, new ClassType(id, null), false, null);
+        super(id, new ClassType(id, Position.NOPOS), false, Position.NOPOS);
     }
 
     @Override
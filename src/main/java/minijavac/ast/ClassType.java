@@ -1,5 +1,6 @@
 package minijavac.ast;
 
+import minijavac.syntax.Names;
 import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
@@ -16,7 +17,7 @@ public class ClassType extends Type {
     public Identifier className;
     public Declaration decl;
 
-    public ClassType(Identifier className, Position pos) {
+    public ClassType(Identifier className, long pos) {
         super(TypeKind.CLASS, pos);
         this.className = className;
     }
@@ -24,8 +25,8 @@ public class ClassType extends Type {
     /**
      * Factory method used for standard library classes and methods.
      */
-    public static ClassType stdLib(String className) {
-        return new ClassType(Identifier.of(className), null);
+    public static ClassType stdLib(String className, Names names) {
+        return new ClassType(Identifier.of(className, names), Position.NOPOS);
     }
 
     /**
@@ -51,6 +52,7 @@ public class ClassType extends Type {
      */
     @Override
     public String descriptor() {
+        if (descriptor != null) return descriptor;
         return String.format("L%s;", decl != null ? decl.id.contents : className.contents);
     }
 
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -13,7 +12,7 @@ import minijavac.utils.TraversalState;
  */
 public class ContinueStmt extends Statement {
 
-    public ContinueStmt(Position pos) {
+    public ContinueStmt(long pos) {
         super(pos);
     }
 
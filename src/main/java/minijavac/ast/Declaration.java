@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 
 /**
  * Abstract base class for all declarations, containing the {@link Identifier}, {@link Type}, and modification status.
@@ -19,7 +18,7 @@ public abstract class Declaration extends AST {
 	public Type type;
 	public boolean isFinal;
 	
-	public Declaration(Identifier id, Type type, boolean isFinal, Position pos) {
+	public Declaration(Identifier id, Type type, boolean isFinal, long pos) {
 		super(pos);
 		this.id = id;
 		this.type = type;
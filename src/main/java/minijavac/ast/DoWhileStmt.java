@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -21,7 +20,7 @@ public class DoWhileStmt extends Statement {
     public Expression cond;
     public Statement body;
 
-    public DoWhileStmt(Expression cond, Statement body, Position pos) {
+    public DoWhileStmt(Expression cond, Statement body, long pos) {
         super(pos);
         this.cond = cond;
         this.body = body;
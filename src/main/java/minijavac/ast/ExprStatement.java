@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -16,7 +15,7 @@ public class ExprStatement extends Statement {
 
     public Expression expr;
 
-    public ExprStatement(Expression expr, Position pos) {
+    public ExprStatement(Expression expr, long pos) {
         super(pos);
         this.expr = expr;
     }
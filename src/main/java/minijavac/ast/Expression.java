@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 
 /**
  * Abstract base class for all expressions.
@@ -18,7 +17,7 @@ import minijavac.syntax.Position;
  */
 public abstract class Expression extends AST {
 
-  public Expression(Position pos) {
+  public Expression(long pos) {
     super (pos);
   }
   
@@ -15,12 +15,12 @@ import minijavac.utils.TraversalState;
  */
 public class FieldDecl extends MemberDecl {
 	
-	public FieldDecl(Access access, boolean isStatic, boolean isFinal, Type type, Identifier id, Position pos) {
+	public FieldDecl(Access access, boolean isStatic, boolean isFinal, Type type, Identifier id, long pos) {
     	super(access, isStatic, isFinal, type, id, pos);
 	}
 
 	public static FieldDecl stdLib(boolean isStatic, boolean isFinal, Type type, Identifier id) {
-		return new FieldDecl(Access.PUBLIC, isStatic, isFinal, type, id, null);
+		return new FieldDecl(Access.PUBLIC, isStatic, isFinal, type, id, Position.NOPOS);
 	}
 
 	@Override
@@ -1,6 +1,6 @@
 package minijavac.ast;
 
-import minijavac.syntax.Token;
+import minijavac.syntax.TokenKind;
 import minijavac.utils.TraversalState;
 
 /**
@@ -14,8 +14,8 @@ import minijavac.utils.TraversalState;
  */
 public class FloatLiteral extends Terminal {
 
-    public FloatLiteral(Token token) {
-        super(token);
+    public FloatLiteral(String contents, long pos) {
+        super(TokenKind.FLOAT_NUM, contents, pos);
     }
 
     @Override
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -22,7 +21,7 @@ public class ForStmt extends Statement {
     public ExprStatement updateStmt;
     public Statement body;
 
-    public ForStmt(VarDeclStmt initStmt, Expression cond, ExprStatement updateStmt, Statement body, Position pos) {
+    public ForStmt(VarDeclStmt initStmt, Expression cond, ExprStatement updateStmt, Statement body, long pos) {
         super(pos);
         this.initStmt = initStmt;
         this.cond = cond;
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -18,7 +17,7 @@ public class IdRef extends BaseRef {
 
 	public Identifier id;
 	
-	public IdRef(Identifier id, Position pos) {
+	public IdRef(Identifier id, long pos) {
 		super(pos);
 		this.id = id;
 	}
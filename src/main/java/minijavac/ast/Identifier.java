@@ -1,5 +1,7 @@
 package minijavac.ast;
 
+import minijavac.syntax.Name;
+import minijavac.syntax.Names;
 import minijavac.syntax.Position;
 import minijavac.syntax.Token;
 import minijavac.syntax.TokenKind;
@@ -17,24 +19,36 @@ import minijavac.utils.TraversalState;
  */
 public class Identifier extends Terminal {
 
+  /**
+   * Interned spelling of the identifier - {@link #contents} always refers to the same canonical string.
+   */
+  public Name name;
+
   public Identifier (Token token) {
-    super(token);
+    this(token.name, token.pos);
+  }
+
+  public Identifier (Name name, long pos) {
+    super(TokenKind.IDENTIFIER, name.toString(), pos);
+    this.name = name;
   }
 
   /**
    * Factory method for manually creating an {@code Identifier} from a given {@link String}, used for standard library
    * classes and members.
+   * @param id    spelling
+   * @param names name table of the compilation the identifier belongs to
    */
-  public static Identifier of(String id) {
-    return new Identifier(new Token(TokenKind.IDENTIFIER, id, null));
+  public static Identifier of(String id, Names names) {
+    return new Identifier(names.fromString(id), Position.NOPOS);
   }
 
   /**
    * Factory method for creating an identical {@code Identifier} at a different position.
    * @param pos new position
    */
-  public Identifier atPos(Position pos) {
-    return new Identifier(new Token(kind, contents, pos));
+  public Identifier atPos(long pos) {
+    return new Identifier(name, pos);
   }
 
   @Override
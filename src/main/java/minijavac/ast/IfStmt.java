@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -37,14 +36,14 @@ public class IfStmt extends Statement {
     public Statement thenStmt;
     public Statement elseStmt;
 
-    public IfStmt(Expression cond, Statement thenStmt, Statement elseStmt, Position pos) {
+    public IfStmt(Expression cond, Statement thenStmt, Statement elseStmt, long pos) {
         super(pos);
         this.cond = cond;
         this.thenStmt = thenStmt;
         this.elseStmt = elseStmt;
     }
     
-    public IfStmt(Expression cond, Statement thenStmt, Position pos) {
+    public IfStmt(Expression cond, Statement thenStmt, long pos) {
         super(pos);
         this.cond = cond;
         this.thenStmt = thenStmt;
@@ -1,6 +1,6 @@
 package minijavac.ast;
 
-import minijavac.syntax.Token;
+import minijavac.syntax.TokenKind;
 import minijavac.utils.TraversalState;
 
 /**
@@ -14,8 +14,8 @@ import minijavac.utils.TraversalState;
  */
 public class IntLiteral extends Terminal {
 
-  public IntLiteral(Token token) {
-    super(token);
+  public IntLiteral(String contents, long pos) {
+    super(TokenKind.NUM, contents, pos);
   }
 
   @Override
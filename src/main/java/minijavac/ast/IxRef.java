@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 import java.util.List;
@@ -24,7 +23,7 @@ public class IxRef extends Reference {
     public Reference ref;
     public List<Expression> ixExprList;
 
-    public IxRef(Reference ref, List<Expression> ixExprList, Position pos) {
+    public IxRef(Reference ref, List<Expression> ixExprList, long pos) {
         super(pos);
         this.ref = ref;
         this.ixExprList = ixExprList;
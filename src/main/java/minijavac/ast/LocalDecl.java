@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 
 /**
  * AST node representing a declaration local to a method invocation.
@@ -13,7 +12,7 @@ public abstract class LocalDecl extends Declaration {
 	// Used in code generation to determine the declaration's index within the method.
 	private int localVarIndex;
 	
-	public LocalDecl(Identifier id, Type type, boolean isFinal, Position pos) {
+	public LocalDecl(Identifier id, Type type, boolean isFinal, long pos) {
 		super(id, type, isFinal, pos);
 	}
 
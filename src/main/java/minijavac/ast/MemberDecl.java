@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 
 /**
  * AST node representing a declaration at the class level.
@@ -15,13 +14,13 @@ abstract public class MemberDecl extends Declaration {
 
     public ClassDecl classDecl;
 
-    public MemberDecl(Access access, boolean isStatic, boolean isFinal, Type type, Identifier id, Position pos) {
+    public MemberDecl(Access access, boolean isStatic, boolean isFinal, Type type, Identifier id, long pos) {
         super(id, type, isFinal, pos);
         this.access = access;
         this.isStatic = isStatic;
     }
     
-    public MemberDecl(MemberDecl memberDecl, Position pos) {
+    public MemberDecl(MemberDecl memberDecl, long pos) {
     	super(memberDecl.id, memberDecl.type, memberDecl.isFinal, pos);
     	this.access = memberDecl.access;
     	this.isStatic = memberDecl.isStatic;
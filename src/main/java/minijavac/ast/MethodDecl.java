@@ -1,5 +1,6 @@
 package minijavac.ast;
 
+import minijavac.syntax.Name;
 import minijavac.syntax.Position;
 import minijavac.syntax.Token;
 import minijavac.syntax.TokenKind;
@@ -28,9 +29,14 @@ public class MethodDecl extends MemberDecl {
      * Includes name and parameter types.
      */
     public String signature;
+
+    /*
+    * Descriptor, once cached by {@link #cacheDescriptor()}.
+    * */
+    private String descriptor;
 	
 	public MethodDecl(MemberDecl memberDecl, ParameterDeclList parameterDeclList, List<Statement> statementList,
-                      boolean isConstructor, Position pos) {
+                      boolean isConstructor, long pos) {
         super(memberDecl, pos);
         this.parameterDeclList = parameterDeclList;
         this.statementList = statementList;
@@ -39,23 +45,23 @@ public class MethodDecl extends MemberDecl {
 	}
 
     private MethodDecl(Identifier id) {
-        this(new FieldDecl(Access.PACKAGE_PRIVATE, false, false, new BaseType(TypeKind.VOID, null), id, null),
-                new ParameterDeclList(), new ArrayList<>(), true, null);
+        this(new FieldDecl(Access.PACKAGE_PRIVATE, false, false, new BaseType(TypeKind.VOID, Position.NOPOS), id, Position.NOPOS),
+                new ParameterDeclList(), new ArrayList<>(), true, Position.NOPOS);
         classDecl = new ClassDecl(id);
     }
 
     /**
      * Factory method for default constructor.
      */
-    public static MethodDecl defaultConstructor(String className) {
-        return new MethodDecl(new Identifier(new Token(TokenKind.IDENTIFIER, className, null)));
+    public static MethodDecl defaultConstructor(Name className) {
+        return new MethodDecl(new Identifier(new Token(TokenKind.IDENTIFIER, className, Position.NOPOS)));
     }
 
     /**
      * Factory method used for a standard library method.
      */
     public static MethodDecl stdLib(MemberDecl memberDecl, ParameterDeclList parameterDeclList) {
-        return new MethodDecl(memberDecl, parameterDeclList, new ArrayList<>(), false, null);
+        return new MethodDecl(memberDecl, parameterDeclList, new ArrayList<>(), false, Position.NOPOS);
     }
 
     public boolean isConstructor() {
@@ -66,9 +72,19 @@ public class MethodDecl extends MemberDecl {
      * @return String representation of method used for code generation - includes parameter and return types
      */
     public String descriptor() {
+        if (descriptor != null) return descriptor;
         return String.format("(%s)%s", parameterDeclList.descriptor(), type.descriptor());
     }
 
+    /**
+     * Computes the method's descriptor once, to be returned by every later {@link #descriptor()} call - only to be
+     * called once the return and parameter types will no longer change.
+     */
+    public void cacheDescriptor() {
+        descriptor = null;
+        descriptor = descriptor();
+    }
+
     @Override
     public <S extends TraversalState, A, R> R visit(Visitor<S, A, R> v, S s, A a) {
         return v.visitMethodDecl(this, s, a);
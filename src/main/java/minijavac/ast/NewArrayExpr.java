@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 import java.util.List;
@@ -20,7 +19,7 @@ public class NewArrayExpr extends Expression {
     public ArrayType arrayType;
     public List<Expression> sizeExprList;
 
-    public NewArrayExpr(Type elementType, List<Expression> sizeExprList, Position pos) {
+    public NewArrayExpr(Type elementType, List<Expression> sizeExprList, long pos) {
         super(pos);
         this.elementType = elementType;
         this.sizeExprList = sizeExprList;
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -19,7 +18,7 @@ public class NewArrayInitExpr extends Expression {
     public ArrayType arrayType;
     public ArrayInitExpr initExpr;
 
-    public NewArrayInitExpr(Type elementType, int dims, ArrayInitExpr initExpr, Position pos) {
+    public NewArrayInitExpr(Type elementType, int dims, ArrayInitExpr initExpr, long pos) {
         super(pos);
         this.elementType = elementType;
         this.dims = dims;
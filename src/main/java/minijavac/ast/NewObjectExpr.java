@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 import java.util.List;
@@ -20,7 +19,7 @@ public class NewObjectExpr extends Expression {
     public List<Expression> argList;
     public MethodDecl decl;
 
-    public NewObjectExpr(ClassType classType, List<Expression> argList, Position pos) {
+    public NewObjectExpr(ClassType classType, List<Expression> argList, long pos) {
         super(pos);
         this.classType = classType;
         this.argList = argList;
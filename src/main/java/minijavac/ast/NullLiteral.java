@@ -1,6 +1,6 @@
 package minijavac.ast;
 
-import minijavac.syntax.Token;
+import minijavac.syntax.TokenKind;
 import minijavac.utils.TraversalState;
 
 /**
@@ -13,8 +13,8 @@ import minijavac.utils.TraversalState;
  */
 public class NullLiteral extends Terminal {
 
-    public NullLiteral(Token token) {
-        super(token);
+    public NullLiteral(long pos) {
+        super(TokenKind.NULL, TokenKind.NULL.getSpelling(), pos);
     }
 
     @Override
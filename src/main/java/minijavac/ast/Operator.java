@@ -1,6 +1,6 @@
 package minijavac.ast;
 
-import minijavac.syntax.Token;
+import minijavac.syntax.TokenKind;
 import minijavac.utils.TraversalState;
 
 /**
@@ -16,9 +16,9 @@ import minijavac.utils.TraversalState;
  */
 public class Operator extends Terminal {
 
-    public Operator (Token token) {
-    super (token);
-  }
+    public Operator (TokenKind kind, long pos) {
+        super(kind, kind.getSpelling(), pos);
+    }
 
     @Override
     public <S extends TraversalState, A, R> R visit(Visitor<S, A, R> v, S s, A a) {
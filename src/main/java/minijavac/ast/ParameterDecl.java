@@ -14,7 +14,7 @@ import minijavac.utils.TraversalState;
  */
 public class ParameterDecl extends LocalDecl {
 	
-	public ParameterDecl(Type type, Identifier id, boolean isFinal, Position pos) {
+	public ParameterDecl(Type type, Identifier id, boolean isFinal, long pos) {
 		super(id, type, isFinal, pos);
 	}
 
@@ -22,7 +22,7 @@ public class ParameterDecl extends LocalDecl {
 	 * Factory method for parameters in standard library methods.
 	 */
 	public static ParameterDecl stdLib(Type type) {
-		return new ParameterDecl(type, null, false, null);
+		return new ParameterDecl(type, null, false, Position.NOPOS);
 	}
 
 	@Override
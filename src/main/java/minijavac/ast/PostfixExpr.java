@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -17,7 +16,7 @@ public class PostfixExpr extends Expression {
     public Operator operator;
     public Expression expr;
 
-    public PostfixExpr(Operator operator, Expression expr, Position pos) {
+    public PostfixExpr(Operator operator, Expression expr, long pos) {
         super(pos);
         this.operator = operator;
         this.expr = expr;
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -21,7 +20,7 @@ public class QualRef extends BaseRef {
     public Reference ref;
     public Identifier id;
 
-    public QualRef(Reference ref, Identifier id, Position pos) {
+    public QualRef(Reference ref, Identifier id, long pos) {
         super(pos);
         this.ref = ref;
         this.id  = id;
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -16,7 +15,7 @@ public class RefExpr extends Expression {
 
     public Reference ref;
 
-    public RefExpr(Reference ref, Position pos) {
+    public RefExpr(Reference ref, long pos) {
         super(pos);
         this.ref = ref;
     }
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 
 /**
  * Abstract base class for all references.
@@ -12,7 +11,7 @@ import minijavac.syntax.Position;
  */
 public abstract class Reference extends AST {
 
-	public Reference(Position pos) {
+	public Reference(long pos) {
 		super(pos);
 	}
 
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -17,7 +16,7 @@ public class ReturnStmt extends Statement {
 
 	public Expression expr;
 
-	public ReturnStmt(Expression expr, Position pos) {
+	public ReturnStmt(Expression expr, long pos) {
 		super(pos);
 		this.expr = expr;
 	}
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 
 /**
  * Abstract base class for all statements.
@@ -20,7 +19,7 @@ import minijavac.syntax.Position;
  */
 public abstract class Statement extends AST {
 
-    public Statement(Position pos) {
+    public Statement(long pos) {
         super(pos);
     }
 }
@@ -19,8 +19,12 @@ abstract public class Terminal extends AST {
     public String contents;
 
     public Terminal (Token token) {
-	  super(token.pos);
-      contents = token.contents;
-      kind = token.kind;
+	  this(token.kind, token.contents, token.pos);
+    }
+
+    public Terminal (TokenKind kind, String contents, long pos) {
+      super(pos);
+      this.kind = kind;
+      this.contents = contents;
     }
 }
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -18,7 +17,7 @@ public class TernaryExpr extends Expression {
     public Expression expr1;
     public Expression expr2;
 
-    public TernaryExpr(Expression cond, Expression expr1, Expression expr2, Position pos) {
+    public TernaryExpr(Expression cond, Expression expr1, Expression expr2, long pos) {
         super(pos);
         this.cond = cond;
         this.expr1 = expr1;
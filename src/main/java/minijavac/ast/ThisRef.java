@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -15,7 +14,7 @@ import minijavac.utils.TraversalState;
  */
 public class ThisRef extends BaseRef {
 	
-	public ThisRef(Position pos) {
+	public ThisRef(long pos) {
 		super(pos);
 	}
 
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 
 /**
  * Abstract base class for all types, containing just the {@link TypeKind}.
@@ -13,18 +12,32 @@ abstract public class Type extends AST {
 
     public TypeKind kind;
 
-    public Type(TypeKind kind, Position pos){
+    /*
+    * Set on the canonical instances interned by {@link TypeFactory}, along with their descriptor.
+    * */
+    boolean canonical;
+    String descriptor;
+
+    public Type(TypeKind kind, long pos){
         super(pos);
         this.kind = kind;
     }
 
+    /**
+     * @return whether this is the canonical instance of its type, interned by {@link TypeFactory}
+     */
+    public boolean isCanonical() {
+        return canonical;
+    }
+
     /**
      * Generates a {@link String} representation of the {@link Type}, suitable for printing errors.
      */
     abstract public String print();
 
     /**
-     * Generates a {@link String} representation of the {@link Type}, suitable for code generation.
+     * Generates a {@link String} representation of the {@link Type}, suitable for code generation - computed only once
+     * for canonical instances.
      */
     abstract public String descriptor();
 }
@@ -0,0 +1,125 @@
+package minijavac.ast;
+
+import minijavac.syntax.Name;
+import minijavac.syntax.Names;
+import minijavac.syntax.Position;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * <pre>
+ * Interns canonical {@link Type} instances - one {@link BaseType} per kind, one {@link ClassType} per class, and one
+ * {@link ArrayType} per element type and number of dimensions - so that canonical types are equal only if they're the
+ * same instance.
+ *
+ * Canonical types are never modified once created, so each computes its descriptor exactly once, up front. They carry
+ * no position, and a class type is only made canonical once the class it refers to has been resolved - so they're only
+ * ever substituted for types whose positions are no longer needed for reporting errors.
+ *
+ * Base types are shared by every compilation, while class and array types are interned per factory (and so per
+ * {@link minijavac.context.SymbolTable}), as they point at the declarations of a single compilation. Types can be
+ * interned from any number of threads at once.
+ * </pre>
+ */
+public class TypeFactory {
+
+    private static final Map<TypeKind, BaseType> BASE_TYPES = new EnumMap<>(TypeKind.class);
+
+    static {
+        for (TypeKind kind : TypeKind.values()) {
+            if (kind == TypeKind.CLASS || kind == TypeKind.ARRAY) continue;
+            BaseType type = new BaseType(kind, Position.NOPOS);
+            type.canonical = true;
+            if (kind != TypeKind.ERROR && kind != TypeKind.NULL) type.descriptor = BaseType.descriptor(kind);
+            BASE_TYPES.put(kind, type);
+        }
+    }
+
+    private record ArrayKey(Type elementType, int dims) {}
+
+    private final Map<Name, ClassType> classTypes = new ConcurrentHashMap<>();
+    private final Map<ArrayKey, ArrayType> arrayTypes = new ConcurrentHashMap<>();
+
+    /*
+    * Name table of the compilation, for the identifiers of canonical class types.
+    * */
+    private final Names names;
+
+    public TypeFactory(Names names) {
+        this.names = names;
+    }
+
+    /**
+     * @param kind primitive type kind, {@code void}, {@code null}, or error
+     * @return canonical base type of the given kind
+     */
+    public static BaseType base(TypeKind kind) {
+        BaseType type = BASE_TYPES.get(kind);
+        if (type == null) throw new IllegalArgumentException("Unexpected type kind: " + kind);
+        return type;
+    }
+
+    /**
+     * @param decl class declaration
+     * @return canonical type of the given class, printed with the name it's referenced by in source
+     */
+    public ClassType classType(ClassDecl decl) {
+        return classTypes.computeIfAbsent(decl.id.name, n -> {
+            String name = decl.shortName != null ? decl.shortName : decl.id.contents;
+            ClassType type = new ClassType(Identifier.of(name, names), Position.NOPOS);
+            type.decl = decl;
+            type.canonical = true;
+            type.descriptor = String.format("L%s;", decl.id.contents);
+            return type;
+        });
+    }
+
+    /**
+     * @param elementType element type, made canonical if possible
+     * @param dims        number of dimensions
+     * @return canonical array type, or a new non-canonical one if the element type can't be made canonical
+     */
+    public ArrayType arrayType(Type elementType, int dims) {
+        Type element = canonical(elementType);
+        if (!element.canonical) return new ArrayType(elementType, elementType.pos, dims);
+
+        return arrayTypes.computeIfAbsent(new ArrayKey(element, dims), k -> {
+            ArrayType type = new ArrayType(element, Position.NOPOS, dims);
+            type.canonical = true;
+            type.descriptor = "[".repeat(dims) + element.descriptor;
+            return type;
+        });
+    }
+
+    /**
+     * @param type type, whose class (if any) has already been resolved
+     * @return canonical equivalent of the given type, or the type itself if its class hasn't been resolved
+     */
+    public Type canonical(Type type) {
+        return canonical(type, name -> null);
+    }
+
+    /**
+     * @param type     type
+     * @param resolver looks up the declaration of a class that hasn't been resolved on the type yet, or returns null
+     * @return canonical equivalent of the given type, or the type itself if its class can't be resolved
+     */
+    public Type canonical(Type type, Function<Name, ClassDecl> resolver) {
+        if (type.canonical) return type;
+
+        if (type instanceof BaseType) return base(type.kind);
+
+        if (type instanceof ClassType classType) {
+            ClassDecl decl = classType.decl instanceof ClassDecl resolved
+                    ? resolved : resolver.apply(classType.className.name);
+            return decl != null ? classType(decl) : type;
+        }
+
+        ArrayType arrayType = (ArrayType) type;
+        Type element = canonical(arrayType.elementType, resolver);
+        return element.canonical ? arrayType(element, arrayType.dims) : type;
+    }
+}
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -19,7 +18,7 @@ public class UnaryExpr extends Expression {
     public Expression expr;
     public Type type;
 
-    public UnaryExpr(Operator operator, Expression expr, Position pos) {
+    public UnaryExpr(Operator operator, Expression expr, long pos) {
         super(pos);
         this.operator = operator;
         this.expr = expr;
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -14,7 +13,7 @@ import minijavac.utils.TraversalState;
  */
 public class VarDecl extends LocalDecl {
 	
-	public VarDecl(Identifier id, Type type, boolean isFinal, Position pos) {
+	public VarDecl(Identifier id, Type type, boolean isFinal, long pos) {
 		super(id, type, isFinal, pos);
 	}
 
@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -17,7 +16,7 @@ public class VarDeclStmt extends Statement {
     public VarDecl decl;
     public Expression expr;
 
-    public VarDeclStmt(VarDecl decl, Expression expr, Position pos) {
+    public VarDeclStmt(VarDecl decl, Expression expr, long pos) {
         super(pos);
         this.decl = decl;
         this.expr = expr;
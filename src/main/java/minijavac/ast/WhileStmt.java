@@ -1,6 +1,5 @@
 package minijavac.ast;
 
-import minijavac.syntax.Position;
 import minijavac.utils.TraversalState;
 
 /**
@@ -16,7 +15,7 @@ public class WhileStmt extends Statement {
     public Expression cond;
     public Statement body;
 
-    public WhileStmt(Expression cond, Statement body, Position pos) {
+    public WhileStmt(Expression cond, Statement body, long pos) {
         super(pos);
         this.cond = cond;
         this.body = body;
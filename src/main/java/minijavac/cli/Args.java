@@ -1,5 +1,7 @@
 package minijavac.cli;
 
+import minijavac.gen.file.JarWriter;
+import minijavac.syntax.Prefetcher;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 import picocli.CommandLine.ParameterException;
@@ -40,9 +42,74 @@ public class Args {
             description = "Specify where to find input source files")
     public Path sourcePath;
 
-    @Option(names = "-d", converter = PathConverter.class, description = "Specify where to place generated class files")
+    @Option(names = "--source-path-cache", converter = PathConverter.class,
+            description = "Specify a file in which to cache the listing of the source path, reused for as long " +
+                    "as the source path is unchanged")
+    public Path sourcePathCache;
+
+    @Option(names = {"--implicit-none", "-implicit:none"},
+            description = "Only read the signatures of classes found through the source path, without checking or " +
+                    "generating them")
+    public boolean implicitNone;
+
+    @Option(names = "--threads", defaultValue = "0",
+            description = "Specify the number of threads used to compile source files (0 for one per processor)")
+    public int threads;
+
+    @Option(names = "--pipeline",
+            description = "Scan each source file on a separate thread, overlapping with parsing it. Starts one " +
+                    "scanning thread per compile thread, so only helps if there are spare processors")
+    public boolean pipeline;
+
+    public long prefetchLimit = Prefetcher.DEFAULT_LIMIT;
+
+    @Option(names = "--prefetch-limit", paramLabel = "<bytes>", defaultValue = "" + Prefetcher.DEFAULT_LIMIT,
+            description = "Specify how many bytes of source files may be read ahead of being parsed (0 to disable, " +
+                    "default: ${DEFAULT-VALUE})")
+    public void setPrefetchLimit(long limit) {
+        if (limit < 0) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    String.format("Invalid prefetch limit: %d", limit));
+        }
+        this.prefetchLimit = limit;
+    }
+
+    @Option(names = "--stats", description = "Print statistics about the compilation once it's finished")
+    public boolean stats;
+
+    @Option(names = "--jrt-stdlib",
+            description = "Resolve standard library classes from the running JDK's class files, rather than the " +
+                    "bundled subset")
+    public boolean jrtStdLib;
+
+    @Option(names = "-d", converter = PathConverter.class,
+            description = "Specify where to place generated class files (a directory, or a jar file)")
     public Path destinationDir;
 
+    public int jarCompression = JarWriter.DEFAULT_LEVEL;
+
+    @Option(names = "--jar-compression", paramLabel = "<level>", defaultValue = "" + JarWriter.DEFAULT_LEVEL,
+            description = "Specify the compression level of jar output, from 0 (stored) to 9 (default: " +
+                    "${DEFAULT-VALUE})")
+    public void setJarCompression(int level) {
+        if (level < 0 || level > 9) {
+            throw new ParameterException(commandSpec.commandLine(),
+                    String.format("Invalid compression level: %d", level));
+        }
+        this.jarCompression = level;
+    }
+
+    @Option(names = "--skip-unchanged",
+            description = "Leave class files whose contents haven't changed untouched, rather than rewriting them")
+    public boolean skipUnchanged;
+
     @Option(names = {"-h", "--help"}, usageHelp = true, description = "Display help message")
     boolean usageHelp;
+
+    /**
+     * @return whether generated class files are to be packaged into a jar, rather than written to a directory
+     */
+    public boolean isJarOutput() {
+        return destinationDir != null && destinationDir.toString().endsWith(".jar");
+    }
 }
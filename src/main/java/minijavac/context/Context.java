@@ -4,10 +4,10 @@ import minijavac.listener.Listener;
 import minijavac.ast.*;
 import minijavac.context.err.*;
 import minijavac.err.CompileError;
+import minijavac.syntax.Name;
 import minijavac.syntax.TokenKind;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static minijavac.context.Types.*;
 
@@ -18,16 +18,22 @@ import static minijavac.context.Types.*;
  *
  * Uses a {@link ContextTraversalState} instance to maintain state about the current traversal, and {@link ConArg} to
  * pass down contextual information to child nodes.
+ *
+ * Symbols are resolved through the instance's own {@link Scope}, over a shared {@link SymbolTable} - so an instance can
+ * only resolve one class at a time, but separate instances can resolve classes in parallel, each logging to its own
+ * {@link Listener}.
  * </pre>
  */
 public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
 
-    private final SymbolTable symbolTable;
+    private final Scope scope;
     private final Listener listener;
+    private final TypeFactory types;
 
     public Context(SymbolTable symbolTable, Listener listener) {
-        this.symbolTable = symbolTable;
+        this.scope = new Scope(symbolTable, listener);
         this.listener = listener;
+        this.types = symbolTable.types();
     }
 
     public void resolve(ClassDecl classDecl) {
@@ -37,7 +43,7 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
     @Override
     public Type visitClassDecl(ClassDecl classDecl, ContextTraversalState state, ConArg arg) {
         state.setCurrClass(classDecl);
-        symbolTable.enterClass(classDecl, new TraversalStateViewer(state));
+        scope.enterClass(classDecl, new TraversalStateViewer(state));
 
         for (FieldDecl fieldDecl : classDecl.fieldDecls) {
             fieldDecl.visit(this, state, ConArg.NONE);
@@ -47,7 +53,7 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
             methodDecl.visit(this, state, ConArg.NONE);
         }
 
-        symbolTable.exitClass();
+        scope.exitClass();
         return null;
     }
 
@@ -62,33 +68,34 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
         state.setCurrMethod(methodDecl);
         state.setStatementCnt(0);
 
-        symbolTable.pushScope();
+        scope.pushScope();
         for (ParameterDecl parameterDecl : methodDecl.parameterDeclList) {
             parameterDecl.visit(this, state, ConArg.NONE);
         }
 
-        symbolTable.pushScope();
+        scope.pushScope();
         for (Statement statement : methodDecl.statementList) {
             statement.visit(this, state, ConArg.NONE);
             state.addStatement();
         }
-        symbolTable.popScope();
+        scope.popScope();
 
-        symbolTable.popScope();
+        scope.popScope();
         return null;
     }
 
     @Override
     public Type visitParameterDecl(ParameterDecl parameterDecl, ContextTraversalState state, ConArg arg) {
         parameterDecl.type.visit(this, state, ConArg.NONE);
-        symbolTable.addLocalDecl(parameterDecl);
+        scope.addLocalDecl(parameterDecl);
         return null;
     }
 
     @Override
     public Type visitVarDecl(VarDecl decl, ContextTraversalState state, ConArg arg) {
         decl.type.visit(this, state, ConArg.NONE);
-        symbolTable.addLocalDecl(decl);
+        decl.type = types.canonical(decl.type);
+        scope.addLocalDecl(decl);
 
         return decl.type;
     }
@@ -100,7 +107,9 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
 
     @Override
     public Type visitClassType(ClassType type, ContextTraversalState state, ConArg arg) {
-        Declaration decl = symbolTable.getClassDecl(type.className);
+        if (type.isCanonical()) return null; // already resolved, and shared - so never modified
+
+        Declaration decl = scope.getClassDecl(type.className);
         // retrieve declaration for class name, set on type if found
         if (decl != null) {
             type.decl = decl;
@@ -237,14 +246,14 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
             listener.err(incompatibleTypes(stmt.cond.pos, condType, "boolean"));
         }
 
-        symbolTable.pushScope(); // TODO: add tests for scoping
+        scope.pushScope(); // TODO: add tests for scoping
         stmt.thenStmt.visit(this, state, ConArg.COND_STMT);
-        symbolTable.popScope();
+        scope.popScope();
 
         if (stmt.elseStmt != null) {
-            symbolTable.pushScope();
+            scope.pushScope();
             stmt.elseStmt.visit(this, state, ConArg.COND_STMT);
-            symbolTable.popScope();
+            scope.popScope();
         }
 
         return null;
@@ -258,22 +267,22 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
             listener.err(incompatibleTypes(stmt.cond.pos, condType, "boolean"));
         }
 
-        symbolTable.pushScope(); // TODO: add tests for scoping
+        scope.pushScope(); // TODO: add tests for scoping
         state.enterLoop();
         stmt.body.visit(this, state, ConArg.COND_STMT);
         state.enterLoop();
-        symbolTable.popScope();
+        scope.popScope();
 
         return null;
     }
 
     @Override
     public Type visitDoWhileStmt(DoWhileStmt stmt, ContextTraversalState state, ConArg arg) {
-        symbolTable.pushScope(); // TODO: add tests for scoping
+        scope.pushScope(); // TODO: add tests for scoping
         state.enterLoop();
         stmt.body.visit(this, state, ConArg.COND_STMT);
         state.exitLoop();
-        symbolTable.popScope();
+        scope.popScope();
 
         Type condType = stmt.cond.visit(this, state, ConArg.NONE);
         // conditional expression must evaluate to a boolean
@@ -308,7 +317,7 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
 
     @Override
     public Type visitForStmt(ForStmt stmt, ContextTraversalState state, ConArg arg) {
-        symbolTable.pushScope();
+        scope.pushScope();
         // initialization statement scoped to inside the for loop
         stmt.initStmt.visit(this, state, ConArg.NONE);
 
@@ -323,7 +332,7 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
         state.enterLoop();
         stmt.body.visit(this, state, ConArg.COND_STMT);
         state.exitLoop();
-        symbolTable.popScope();
+        scope.popScope();
 
         return null;
     }
@@ -390,7 +399,7 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
         if (op == TokenKind.LT || op == TokenKind.GT ||
                 op == TokenKind.LTE || op == TokenKind.GTE) {
             if (isNumeric(leftType) && isNumeric(rightType)) {
-                return new BaseType(TypeKind.BOOLEAN, leftType.pos); // results in boolean type
+                return TypeFactory.base(TypeKind.BOOLEAN); // results in boolean type
             }
         }
 
@@ -398,7 +407,7 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
         if (op == TokenKind.EQ || op == TokenKind.NOT_EQ) {
             if (match(leftType, rightType) ||
                     (isNumeric(leftType) && isNumeric(rightType))) {
-                return new BaseType(TypeKind.BOOLEAN, leftType.pos); // results in boolean type
+                return TypeFactory.base(TypeKind.BOOLEAN); // results in boolean type
             }
         }
 
@@ -434,11 +443,11 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
         visitCallArgs(expr.argList, state);
 
         // retrieve constructor decl for given class name and pushed argument types
-        MethodDecl decl = symbolTable.getConstructorDecl(expr.classType.className);
+        MethodDecl decl = scope.getConstructorDecl(expr.classType.className);
         if (decl == null) return ERR; // if no decl found, return error type
 
         // cannot use private constructor from a different class
-        if (!state.getCurrClass().id.contents.equals(decl.classDecl.id.contents) && decl.access == Access.PRIVATE) {
+        if (state.getCurrClass().id.name != decl.classDecl.id.name && decl.access == Access.PRIVATE) {
             listener.err(new CompileError(expr.pos,
                     String.format("%s has private access in %s",
                             decl.signature, decl.classDecl.id.contents)
@@ -462,7 +471,7 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
             }
         }
         // create array type, attach to expression
-        expr.arrayType = new ArrayType(expr.elementType, expr.elementType.pos, expr.sizeExprList.size());
+        expr.arrayType = types.arrayType(expr.elementType, expr.sizeExprList.size());
         return expr.arrayType;
     }
 
@@ -513,7 +522,7 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
 
         if (listener.getErrCnt() != errCnt) return ERR;
         // create array type, attach to expression
-        expr.arrayType = new ArrayType(expr.elementType, expr.elementType.pos, expr.dims);
+        expr.arrayType = types.arrayType(expr.elementType, expr.dims);
         return expr.arrayType;
     }
 
@@ -575,7 +584,7 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
             * Have to pass in new identifier containing class name at the current node's position, to ensure proper
             * caret placement when printing error.
             * */
-            ref.decl = symbolTable.getConstructorDecl(currClass.id.atPos(ref.pos));
+            ref.decl = scope.getConstructorDecl(currClass.id.atPos(ref.pos));
             if (ref.decl == null) return ERR; // return error if no declaration found
             currMethod.methodType = MethodType.CHAINING_CONSTRUCTOR;
         } else {
@@ -589,13 +598,13 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
     public Type visitIdRef(IdRef ref, ContextTraversalState state, ConArg arg) {
         // cannot reference a variable that's being declared in the same statement
         VarDecl currVarDecl = state.getCurrVarDecl();
-        if (currVarDecl != null && currVarDecl.id.contents.equals(ref.id.contents)) {
+        if (currVarDecl != null && currVarDecl.id.name == ref.id.name) {
             listener.err(new CompileError(ref.id.pos,
                     String.format("variable %s might not have been initialized", ref.id.contents)));
         }
 
         // retrieve declaration from id table
-        ref.decl = symbolTable.getDecl(ref.id, arg == ConArg.METHOD);
+        ref.decl = scope.getDecl(ref.id, arg == ConArg.METHOD);
 
         if (ref.decl == null) return ERR; // return error if no declaration found
 
@@ -644,7 +653,7 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
         } else if (dimsDiff == 0) {
             return arrayType.elementType;
         }
-        return new ArrayType(arrayType.elementType, arrayType.pos, dimsDiff);
+        return types.arrayType(arrayType.elementType, dimsDiff);
     }
 
     @Override
@@ -660,7 +669,7 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
     }
 
     /**
-     * Helper method that traverses an argument list and pushes its types onto the {@link SymbolTable}, to be used
+     * Helper method that traverses an argument list and pushes its types onto the {@link Scope}, to be used
      * later for method resolution.
      * <br><br>
      * Stack is needed because a call's arguments can themselves contain further calls with arguments, which then can
@@ -673,13 +682,7 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
         for (Expression argExpr : argList) {
             argTypesList.add(new SymbolTable.ArgType(argExpr.pos, argExpr.visit(this, state, ConArg.NONE)));
         }
-        SymbolTable.ArgTypes argTypes = new SymbolTable.ArgTypes(argTypesList,
-                argTypesList.stream()
-                        .map(SymbolTable.ArgType::type)
-                        .map(Type::print)
-                        .collect(Collectors.joining(",")));
-
-        symbolTable.pushArgTypes(argTypes);
+        scope.pushArgTypes(new SymbolTable.ArgTypes(argTypesList));
     }
 
     /**
@@ -741,21 +744,21 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
             return ERR;
         }
 
-        String className = null; // class name for member resolution
+        Name className = null; // class name for member resolution
         Identifier prevId = null; // identifier of previous reference in chain, used when printing SymbolError
 
         if (qRef.ref.isStatic) {
             // if ref started a static context (i.e. Test.<>), class name is just the ref decl's identifier
-            className = refDecl.id.contents;
+            className = refDecl.id.name;
         } else if (refDecl.type instanceof ClassType classType) {
             // if ref decl is a class type, ref is an object, class name is found on its type
-            className = classType.className.contents;
+            className = classType.className.name;
             if (!(refDecl instanceof MethodDecl)) {
                 prevId = qRef.ref.getId();
             }
         } else if (refDecl.type instanceof ArrayType arrayType) {
             // handle <array>.length, not an actual qualified reference
-            if (qRef.id.contents.equals("length")) return new BaseType(TypeKind.INT, qRef.id.pos);
+            if (qRef.id.contents.equals("length")) return TypeFactory.base(TypeKind.INT);
 
             // if ref is an array type, must have been indexed into in order to dereference
             if (!(qRef.ref instanceof IxRef)) {
@@ -786,16 +789,16 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
                 );
                 return ERR;
             }
-            className = ((ClassType) arrayType.elementType).className.contents; // valid array ref, get class from type
+            className = ((ClassType) arrayType.elementType).className.name; // valid array ref, get class from type
         }
 
         // search for member declaration corresponding to class name + id combination
-        MemberDecl idDecl = symbolTable.getMemberDecl(className, qRef.id, isCall, prevId);
+        MemberDecl idDecl = scope.getMemberDecl(className, qRef.id, isCall, prevId);
 
         if (idDecl == null) return ERR; // if no declaration found, return error
 
         // if declaration is private, not allowed to access from different class
-        if (idDecl.access == Access.PRIVATE && !Objects.equals(className, state.getCurrClass().id.contents)) {
+        if (idDecl.access == Access.PRIVATE && className != state.getCurrClass().id.name) {
             listener.err(new CompileError(qRef.id.pos,
                     String.format("%s has private access in %s",
                             isCall ? ((MethodDecl) idDecl).signature : idDecl.id.contents,
@@ -829,21 +832,21 @@ public class Context implements Visitor<ContextTraversalState, ConArg, Type> {
 
     @Override
     public Type visitIntLiteral(IntLiteral num, ContextTraversalState state, ConArg arg) {
-        return new BaseType(TypeKind.INT, num.pos);
+        return TypeFactory.base(TypeKind.INT);
     }
 
     @Override
     public Type visitBooleanLiteral(BooleanLiteral bool, ContextTraversalState state, ConArg arg) {
-        return new BaseType(TypeKind.BOOLEAN, bool.pos);
+        return TypeFactory.base(TypeKind.BOOLEAN);
     }
 
     @Override
     public Type visitNullLiteral(NullLiteral nul, ContextTraversalState state, ConArg arg) {
-        return new BaseType(TypeKind.NULL, nul.pos);
+        return TypeFactory.base(TypeKind.NULL);
     }
 
     @Override
     public Type visitFloatLiteral(FloatLiteral num, ContextTraversalState state, ConArg arg) {
-        return new BaseType(TypeKind.FLOAT, num.pos);
+        return TypeFactory.base(TypeKind.FLOAT);
     }
 }
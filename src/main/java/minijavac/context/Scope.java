@@ -0,0 +1,510 @@
+package minijavac.context;
+
+import minijavac.ast.*;
+import minijavac.context.SymbolTable.ArgType;
+import minijavac.context.SymbolTable.ArgTypes;
+import minijavac.context.SymbolTable.Members;
+import minijavac.context.SymbolTable.Methods;
+import minijavac.context.SymbolTable.Resolution;
+import minijavac.context.enter.Enter;
+import minijavac.context.err.ArgTypeError;
+import minijavac.context.err.NoSuitableMethodError;
+import minijavac.context.err.SymbolError;
+import minijavac.err.CompileError;
+import minijavac.listener.Listener;
+import minijavac.syntax.Name;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+import static minijavac.context.Types.incompatibleTypes;
+import static minijavac.context.Types.match;
+
+/**
+ * <pre>
+ * Per-traversal view of a {@link SymbolTable}, used by {@link Enter} and {@link Context} to add and resolve symbols
+ * while traversing a class.
+ *
+ * Holds everything that changes over the course of a traversal - the scoped table of local declarations, the stack of
+ * argument types for method invocations, and the members of the class currently being traversed - while the class
+ * and member information itself is looked up in the shared {@link SymbolTable}.
+ *
+ * A scope is only ever used by one traversal at a time, so any number of them can resolve classes in parallel over
+ * the same {@link SymbolTable}, once every class has been entered. Errors are logged to the scope's own
+ * {@link Listener}, rather than the symbol table's.
+ *
+ * Relies on the given {@link TraversalStateViewer} to access traversal data needed to construct errors.
+ * </pre>
+ */
+public class Scope {
+
+    private final SymbolTable symbolTable;
+    private final Listener listener;
+    private TraversalStateViewer traversalState;
+
+    /*
+    * Whether lookups may fault in standard library classes - see {@link SymbolTable}.
+    * */
+    private final boolean stdLib;
+
+    /*
+    * Maintain stack of argument types for method invocations, to be used to resolve their corresponding method
+    * declarations.
+    * */
+    private final Deque<ArgTypes> argTypesStack = new ArrayDeque<>();
+
+    /**
+     * Scoped symbol table mapping names to local variable declarations.
+     */
+    private final ScopeStack table = new ScopeStack();
+
+    /**
+     * {@link SymbolTable.Members} instance corresponding to the class currently being traversed.
+     */
+    private Members currMembers;
+
+    public Scope(SymbolTable symbolTable, Listener listener) {
+        this(symbolTable, listener, true);
+    }
+
+    /**
+     * @param symbolTable symbol table
+     * @param listener    error listener
+     * @param stdLib      whether lookups may fault in standard library classes - false while entering, so that classes
+     *                    found through the source path take precedence
+     */
+    public Scope(SymbolTable symbolTable, Listener listener, boolean stdLib) {
+        this.symbolTable = symbolTable;
+        this.listener = listener;
+        this.stdLib = stdLib;
+    }
+
+    /**
+     * Readies the {@link Scope} for the traversal of the given class.
+     * @param classDecl class to be traversed
+     * @param state     traversal state viewer
+     */
+    public void enterClass(ClassDecl classDecl, TraversalStateViewer state) {
+        this.traversalState = state;
+        this.currMembers = symbolTable.members(classDecl.id.name, false);
+    }
+
+    /**
+     * Removes all state related to a class's traversal.
+     */
+    public void exitClass() {
+        this.traversalState = null;
+        this.currMembers = null;
+        this.argTypesStack.clear();
+    }
+
+    /**
+     * Adds given {@link FieldDecl} to current class's {@link SymbolTable.Members}.
+     * <br><br>
+     * Logs error if field name is a duplicate.
+     * @param decl field decl
+     */
+    public void addFieldDecl(FieldDecl decl) {
+        if (currMembers.fields().containsKey(decl.id.name)) {
+            listener.err(new CompileError(decl.id.pos,
+                    String.format("variable %s is already defined in class %s", decl.id.contents, traversalState.getCurrClass().id.contents)));
+            return;
+        }
+        currMembers.fields().put(decl.id.name, decl);
+    }
+
+    /**
+     * Adds given {@link MethodDecl} to current class's {@link SymbolTable.Members}.
+     * <br><br>
+     * Logs error if method signature is a duplicate.
+     * @param decl method decl
+     */
+    public void addMethodOrConstructorDecl(MethodDecl decl) {
+        if (decl.isConstructor()) addConstructorDecl(decl);
+        else addMethodDecl(decl);
+    }
+
+    /**
+     * Adds given {@link MethodDecl} to current class's {@link SymbolTable.Members}.
+     * <br><br>
+     * Logs error if method signature is a duplicate.
+     * @param decl method decl
+     */
+    public void addMethodDecl(MethodDecl decl) {
+        Methods methods = currMembers.methods();
+        if (methods.signatures().contains(decl.signature)) {
+            listener.err(new CompileError(decl.id.pos,
+                    String.format("method %s is already defined in class %s", decl.signature, traversalState.getCurrClass().id.contents)));
+            return;
+        }
+
+        methods.signatures().add(decl.signature);
+
+        List<MethodDecl> methodsByName = methods.idMap().get(decl.id.name);
+        if (methodsByName != null) {
+            methodsByName.add(decl);
+        } else {
+            List<MethodDecl> methodList = new ArrayList<>();
+            methodList.add(decl);
+            methods.idMap().put(decl.id.name, methodList);
+        }
+    }
+
+    /**
+     * Adds given constructor {@link MethodDecl} to current class's {@link SymbolTable.Members}.
+     * <br><br>
+     * Logs error if constructor signature is a duplicate.
+     * @param decl constructor decl
+     */
+    public void addConstructorDecl(MethodDecl decl) {
+        if (currMembers.constructors().signatures().contains(decl.signature)) {
+            listener.err(new CompileError(decl.id.pos,
+                    String.format("constructor %s is already defined in class %s", decl.signature, traversalState.getCurrClass().id.contents)));
+            return;
+        }
+
+        currMembers.constructors().signatures().add(decl.signature);
+        currMembers.constructors().decls().add(decl);
+    }
+
+    /**
+     * If the current class has no constructors defined, creates a {@link MethodDecl} node for a default constructor and
+     * adds it to the {@link SymbolTable}.
+     * @return default constructor, if created
+     */
+    public MethodDecl addDefaultConstructorIfNecessary() {
+        if (currMembers.constructors().signatures().isEmpty()) {
+            MethodDecl defaultConstructor = MethodDecl.defaultConstructor(traversalState.getCurrClass().id.name);
+            addConstructorDecl(defaultConstructor);
+            return defaultConstructor;
+        }
+        return null;
+    }
+
+    /**
+     * Opens a new scope in the table, to contain the local variables declared within it.
+     * <br><br>
+     * Called when entering into a method, conditional statement, or loop.
+     */
+    public void pushScope() {
+        table.push();
+    }
+
+    /**
+     * Closes the current scope, removing the local variables declared within it from the table.
+     * <br><br>
+     * Called when exiting out of a method, conditional statement, or loop.
+     */
+    public void popScope() {
+        table.pop();
+    }
+
+    /**
+     * Pushes the argument types for a method invocation onto the stack.
+     * @param argTypes argument types
+     */
+    public void pushArgTypes(ArgTypes argTypes) {
+        argTypesStack.push(argTypes);
+    }
+
+    /**
+     * Adds a local variable declaration ({@link ParameterDecl} or {@link VarDecl}) to the table in the current
+     * scope - if variable is not already declared in the current scope or any of its enclosing scopes.
+     * <br><br>
+     * Logs error if variable is a duplicate.
+     * @param decl Local variable declaration
+     */
+    public void addLocalDecl(LocalDecl decl) {
+        if (table.get(decl.id.name) != null) {
+            String err = String.format("variable %s is already defined in method %s", decl.id.contents,
+                    decl instanceof ParameterDecl ? traversalState.getCurrMethod().id.contents : traversalState.getCurrMethod().signature);
+            listener.err(new CompileError(decl.id.pos, err));
+            return;
+        }
+        table.add(decl);
+    }
+
+    /**
+     * <pre>
+     * Retrieves the {@link Declaration} corresponding to an {@link Identifier}.
+     *
+     * Steps:
+     *   1) If looking for a method, retrieve method candidates for the given identifier. If none exist, log error
+     *      and return. Otherwise, return result from
+     *      {@link #getMethodDecl(Members, List, Identifier, boolean) getMethodDecl} call with those candidates.
+     *   2) Otherwise, return the local variable declaration for the given identifier in the current scope or any of
+     *      its enclosing scopes, if there is one.
+     *   3) If no match found, then see if it matches a field declaration in the current class, and return if found.
+     *   4) If no match found, then see if it matches any class declaration, and return if found.
+     *   5) If still no match found, then log {@link SymbolError}.
+     * </pre>
+     * @param id       identifier
+     * @param isMethod whether identifier is part of a call reference
+     * @return declaration
+     */
+    public Declaration getDecl(Identifier id, boolean isMethod) {
+        if (isMethod) {
+            List<MethodDecl> methodCandidates = currMembers.methods().idMap().get(id.name);
+            if (methodCandidates == null) {
+                SymbolError err = SymbolError.builder()
+                        .position(id.pos)
+                        .methodSymbol(id.contents, argTypesStack.pop().signature())
+                        .classLocation(traversalState.getCurrClass().id.contents)
+                        .build();
+                listener.err(err);
+                return null;
+            }
+            return getMethodDecl(currMembers, methodCandidates, id, false);
+        }
+
+        LocalDecl localDecl = table.get(id.name);
+        if (localDecl != null) {
+            return localDecl;
+        }
+
+        FieldDecl fieldDecl = currMembers.fields().get(id.name);
+        if (fieldDecl != null) {
+            return fieldDecl;
+        }
+
+        ClassDecl classDecl = symbolTable.classDecl(id.name, stdLib);
+        if (classDecl != null) {
+            return classDecl;
+        }
+
+        SymbolError err = SymbolError.builder()
+                .position(id.pos)
+                .variableSymbol(id.contents)
+                .classLocation(traversalState.getCurrClass().id.contents)
+                .build();
+
+        listener.err(err);
+        return null;
+    }
+
+    /**
+     * Retrieves constructor {@link MethodDecl} for a given class name.
+     * @param id class name
+     * @return method declaration
+     */
+    public MethodDecl getConstructorDecl(Identifier id) {
+        Members members = symbolTable.members(id.name, stdLib);
+        return getMethodDecl(members, members.constructors().decls(), id, true);
+    }
+
+    /**
+     * <pre>
+     * Receives a list of method declaration candidates for a given call reference, and using the {@link ArgTypes}
+     * list at the top of the {@link #argTypesStack}, searches within those candidates for a method whose signature
+     * matches those argument types exactly.
+     *
+     * Successful resolutions are cached in the class's {@link Members}, keyed by the method name and the interned
+     * {@link SymbolTable.ArgTuple} of the argument types, so that every later invocation of the same overload with the
+     * same argument types is a single lookup. Failed resolutions aren't cached, as their errors are specific to each
+     * call site - they're resolved (and reported) again every time.
+     * </pre>
+     * @param members          members of the class the candidates belong to
+     * @param methodCandidates method declaration candidates selected by the caller
+     * @param id               method name
+     * @param isConstructor    {@code true} if candidates are constructors
+     * @return method declaration
+     */
+    private MethodDecl getMethodDecl(Members members, List<MethodDecl> methodCandidates, Identifier id,
+                                     boolean isConstructor) {
+        // pop argument types from most recently visited call
+        ArgTypes argTypes = argTypesStack.pop();
+
+        Resolution key = new Resolution(isConstructor ? null : id.name, symbolTable.argTuple(argTypes.list()));
+        MethodDecl cached = members.resolved().get(key);
+        symbolTable.countResolution(cached != null);
+        if (cached != null) return cached;
+
+        MethodDecl decl = resolveMethodDecl(methodCandidates, argTypes, id, isConstructor);
+        if (decl != null) members.resolved().putIfAbsent(key, decl);
+        return decl;
+    }
+
+    /**
+     * Searches within the given candidates for a method whose signature matches the given argument types exactly,
+     * logging errors if there is none.
+     * @param methodCandidates method declaration candidates
+     * @param argTypes         argument types
+     * @param id               method name
+     * @param isConstructor    {@code true} if candidates are constructors
+     * @return method declaration
+     */
+    private MethodDecl resolveMethodDecl(List<MethodDecl> methodCandidates, ArgTypes argTypes, Identifier id,
+                                         boolean isConstructor) {
+
+        /*
+         * If only one candidate:
+         *   - Log arg type error if arguments are the wrong size, otherwise:
+         *   - Attempt type matching between arguments and parameters:
+         *     - If errors occur -> log them and return null
+         *     - If no errors -> return candidate
+         * */
+        if (methodCandidates.size() == 1) {
+            MethodDecl decl = methodCandidates.get(0);
+            if (argTypes.list().size() != decl.parameterDeclList.size()) {
+                listener.err(new ArgTypeError(id.pos, decl, argTypes.signature()));
+                return null;
+            }
+
+            if (argTypesMatch(argTypes.list(), decl, publishMismatchConsumer())) return decl;
+            return null;
+        }
+
+        // filter candidates down to only those with parameter lists the same size as the argument list
+        List<MethodDecl> sameSizeMethodCandidates = methodCandidates.stream()
+                .filter(md -> md.parameterDeclList.size() == argTypes.list().size())
+                .toList();
+
+        // if no candidates remain after filtering, log generic no suitable method found error
+        if (sameSizeMethodCandidates.isEmpty()) {
+            listener.err(new NoSuitableMethodError(id, argTypes.signature(), methodCandidates, isConstructor));
+            return null;
+        }
+
+        /*
+         * If only one candidate remains after filtering, attempt type matching between arguments and parameters:
+         *   - If errors occur -> log them and return null
+         *   - If no errors -> return candidate
+         * */
+        if (sameSizeMethodCandidates.size() == 1) {
+            MethodDecl decl = sameSizeMethodCandidates.get(0);
+            if (argTypesMatch(argTypes.list(), decl, publishMismatchConsumer())) return decl;
+            return null;
+        }
+
+        /*
+         * If multiple candidates remain after filtering, iteratively attempt type matching between arguments and
+         * each candidate's parameters:
+         *   - If a candidate matches, exit loop by returning it
+         *   - If a candidate doesn't match, append mismatch details to list
+         * If no candidates end up matching, then a no suitable method error is logged, with each candidate's
+         * mismatch details passed in for printing purposes.
+         * */
+        List<String> mismatches = new ArrayList<>();
+        for (MethodDecl decl : sameSizeMethodCandidates) {
+            if (argTypesMatch(argTypes.list(), decl, storeMismatchConsumer(mismatches))) return decl;
+        }
+
+        listener.err(new NoSuitableMethodError(id, argTypes.signature(), sameSizeMethodCandidates, isConstructor,
+                mismatches));
+        return null;
+    }
+
+    /**
+     * @return {@link BiConsumer} that consumes mismatched types and logs the resulting errors.
+     */
+    private BiConsumer<ArgType, Type> publishMismatchConsumer() {
+        return (ArgType argType, Type paramType) ->
+                listener.err(incompatibleTypes(argType.pos(), argType.type(), paramType));
+    }
+
+    /**
+     * @param mismatches running list of mismatches
+     * @return {@link BiConsumer} that consumes mismatched types and appends them to given list
+     */
+    private BiConsumer<ArgType, Type> storeMismatchConsumer(List<String> mismatches) {
+        return (ArgType argType, Type paramType) ->
+                mismatches.add(String.format("%s cannot be converted to %s", argType.type().print(), paramType.print()));
+    }
+
+    /**
+     * Evaluates whether the given argument types are valid for the given method.
+     * <br><br>
+     * If valid, return {@code true}.
+     * If invalid, pass mismatched types to given consumer, and return {@code false}.
+     * @param argTypes         list of argument types
+     * @param decl             target method declaration
+     * @param mismatchConsumer consumes mismatched types
+     * @return argument validity
+     */
+    private boolean argTypesMatch(List<ArgType> argTypes, MethodDecl decl, BiConsumer<ArgType, Type> mismatchConsumer) {
+        for (int i=0; i<argTypes.size(); i++) {
+            ArgType argType = argTypes.get(i);
+            Type paramType = decl.parameterDeclList.get(i).type;
+            if (!match(argType.type(), paramType)) {
+                mismatchConsumer.accept(argType, paramType);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@link ClassDecl} for given class name.
+     * <br><br>
+     * Logs error if no entry for given class name is found.
+     * @param id class name
+     * @return class declaration
+     */
+    public Declaration getClassDecl(Identifier id) {
+        Declaration decl = symbolTable.classDecl(id.name, stdLib);
+        if (decl == null) {
+            SymbolError err = SymbolError.builder()
+                    .position(id.pos)
+                    .classSymbol(id.contents)
+                    .classLocation(traversalState.getCurrClass().id.contents)
+                    .build();
+            listener.err(err);
+        }
+        return decl;
+    }
+
+    /**
+     * Retrieves declaration for a member on a specific class.
+     * @param className class name
+     * @param id        member identifier
+     * @param isMethod  if member should be a method
+     * @param prevId    previous non-method identifier in reference chain, if applicable (used for error printing)
+     * @return member declaration
+     */
+    public MemberDecl getMemberDecl(String className, Identifier id, boolean isMethod, Identifier prevId) {
+        return getMemberDecl(symbolTable.names().fromString(className), id, isMethod, prevId);
+    }
+
+    /**
+     * Retrieves declaration for a member on a specific class.
+     * @param className class name
+     * @param id        member identifier
+     * @param isMethod  if member should be a method
+     * @param prevId    previous non-method identifier in reference chain, if applicable (used for error printing)
+     * @return member declaration
+     */
+    public MemberDecl getMemberDecl(Name className, Identifier id, boolean isMethod, Identifier prevId) {
+        // retrieve members for relevant class
+        Members members = symbolTable.members(className, stdLib);
+        // short circuit if invalid class or no members
+        if (members == null) return null;
+
+        // find method candidates - if none found, log error, otherwise search for target
+        if (isMethod) {
+            List<MethodDecl> methodDecls = members.methods().idMap().get(id.name);
+            if (methodDecls == null) {
+                listener.err(SymbolError.builder()
+                        .position(id.pos)
+                        .methodSymbol(id.contents, argTypesStack.pop().signature())
+                        .location(className.toString(), prevId)
+                        .build());
+                return null;
+            }
+            // not a constructor, inside qualified ref
+            return getMethodDecl(members, methodDecls, id, false);
+        }
+
+        // if not a method, must be a field
+        FieldDecl fieldDecl = members.fields().get(id.name);
+        if (fieldDecl == null) {
+            listener.err(SymbolError.builder()
+                    .position(id.pos)
+                    .variableSymbol(id.contents)
+                    .location(className.toString(), prevId)
+                    .build());
+            return null;
+        }
+        return fieldDecl;
+    }
+
+}
@@ -0,0 +1,124 @@
+package minijavac.context;
+
+import minijavac.ast.LocalDecl;
+import minijavac.syntax.Name;
+
+import java.util.Arrays;
+
+/**
+ * <pre>
+ * Scoped table of local variable declarations, held in a single flat stack of (name, declaration) entries - modelled
+ * on javac's {@code Scope}.
+ *
+ * Entries are appended in declaration order, and each scope is just a mark of how many entries existed when it was
+ * pushed, so pushing a scope is O(1) and popping one only truncates the entries it added - neither allocates once the
+ * arrays have grown to fit the deepest method.
+ *
+ * Lookups go through a hash index of buckets keyed by {@link Name#id}, each holding the most recent entry in that
+ * bucket, with every entry linking to the one it displaced (its shadow chain). A lookup is therefore a single probe
+ * plus a walk over any colliding names, rather than a walk over every enclosing scope - and popping an entry restores
+ * its bucket to the entry it displaced.
+ * </pre>
+ */
+public class ScopeStack {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /*
+    * Entries, in declaration order - the first {@link #size} are live.
+    * */
+    private Name[] names = new Name[INITIAL_CAPACITY];
+    private LocalDecl[] decls = new LocalDecl[INITIAL_CAPACITY];
+
+    /*
+    * For each entry, 1 + index of the entry it displaced from its bucket (0 if the bucket was empty).
+    * */
+    private int[] shadowed = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /*
+    * Hash index, holding 1 + index of the most recent entry in each bucket (0 if empty).
+    * */
+    private int[] buckets = new int[INITIAL_CAPACITY];
+
+    /*
+    * Number of entries when each scope was pushed - the last belongs to the current scope.
+    * */
+    private int[] marks = new int[INITIAL_CAPACITY];
+    private int depth;
+
+    /**
+     * Opens a new scope.
+     */
+    public void push() {
+        if (depth == marks.length) marks = Arrays.copyOf(marks, depth * 2);
+        marks[depth++] = size;
+    }
+
+    /**
+     * Closes the current scope, discarding every declaration added within it.
+     */
+    public void pop() {
+        int mark = marks[--depth];
+        while (size > mark) {
+            size--;
+            buckets[bucket(names[size])] = shadowed[size];
+            names[size] = null;
+            decls[size] = null;
+        }
+    }
+
+    /**
+     * Adds a declaration to the current scope.
+     * @param decl local variable declaration
+     */
+    public void add(LocalDecl decl) {
+        if (depth == 0) throw new IllegalStateException("no open scope");
+        if (size == names.length) grow();
+
+        int bucket = bucket(decl.id.name);
+        names[size] = decl.id.name;
+        decls[size] = decl;
+        shadowed[size] = buckets[bucket];
+        buckets[bucket] = ++size;
+    }
+
+    /**
+     * @param name local variable name
+     * @return most recent declaration of the name in the current scope or any enclosing scope, or null if none
+     */
+    public LocalDecl get(Name name) {
+        for (int e = buckets[bucket(name)]; e != 0; e = shadowed[e - 1]) {
+            if (names[e - 1] == name) return decls[e - 1];
+        }
+        return null;
+    }
+
+    /**
+     * @return number of open scopes
+     */
+    public int depth() {
+        return depth;
+    }
+
+    private int bucket(Name name) {
+        return name.id & (buckets.length - 1);
+    }
+
+    /**
+     * Doubles the capacity of the entries and the index, rebuilding the index's chains in declaration order.
+     */
+    private void grow() {
+        int capacity = names.length * 2;
+        names = Arrays.copyOf(names, capacity);
+        decls = Arrays.copyOf(decls, capacity);
+        shadowed = Arrays.copyOf(shadowed, capacity);
+
+        buckets = new int[capacity];
+        for (int i = 0; i < size; i++) {
+            int bucket = bucket(names[i]);
+            shadowed[i] = buckets[bucket];
+            buckets[bucket] = i + 1;
+        }
+    }
+}
@@ -2,43 +2,104 @@ package minijavac.context;
 
 import minijavac.ast.*;
 import minijavac.context.enter.Enter;
-import minijavac.context.err.ArgTypeError;
-import minijavac.context.err.NoSuitableMethodError;
-import minijavac.context.err.SymbolError;
 import minijavac.err.CompileError;
 import minijavac.listener.Listener;
-import minijavac.syntax.Position;
+import minijavac.syntax.Name;
+import minijavac.syntax.Names;
 
-import java.util.*;
-import java.util.function.BiConsumer;
+import minijavac.utils.StandardLibrary;
+import minijavac.utils.StdLibProvider;
+import minijavac.utils.Stats;
 
-import static minijavac.context.Types.incompatibleTypes;
-import static minijavac.context.Types.match;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 /**
  * <pre>
- * Used by {@link Enter} and {@link Context} to record symbols and their corresponding declarations.
+ * Used by {@link Enter} and {@link Context} to record classes and their members.
+ *
+ * Contains the data structures for class, method, and field lookup, shared between all {@link Enter} and
+ * {@link Context} invocations. Everything that changes over the course of a single traversal - the scoped table of
+ * local declarations, the argument types of pending method invocations, and the class being traversed - is instead
+ * held by a {@link Scope}, created per traversal.
  *
- * Contains a scoped symbol table as well as data structures for class, method, and field lookup.
+ * Classes and their members are only added while entering, which happens on a single thread. Once every class has been
+ * entered, the symbol table is read-only, and so can be shared by scopes resolving classes in parallel.
  *
- * Note: the same instance of this class is shared between all {@link Enter} and {@link Context} invocations - the class
- * and member information remains the same, but the scoped symbol table will change over the course of the traversals.
+ * The one exception is standard library classes, which aren't entered up front - instead, each is faulted in from the
+ * {@link StdLibProvider} the first time a lookup for it misses, which can happen while resolving in parallel. Faulting
+ * is serialized, and a class's members are fully built before the class is published, so lookups that hit never need
+ * to lock. Names that the provider doesn't know are remembered, so they're only ever looked up once.
  *
- * Relies on the given {@link TraversalStateViewer} to access traversal data needed to construct errors.
+ * Lookups made while entering don't fault classes in, so that a referenced class found through the source path
+ * takes precedence over a standard library class of the same name, as it does in javac.
  * </pre>
  */
 public class SymbolTable {
 
-    Listener listener;
-    TraversalStateViewer traversalState;
+    private final Listener listener;
 
     /*
-    * Maintain stack of argument types for method invocations, to be used to resolve their corresponding method
-    * declarations.
+    * Name table of the compilation, shared with its scanners and class files.
     * */
-    public record ArgType(Position pos, Type type) {}
-    public record ArgTypes(List<ArgType> list, String signature) {}
-    private final Deque<ArgTypes> argTypesStack = new ArrayDeque<>();
+    private final Names names;
+
+    /*
+    * Argument types for a method invocation, pushed onto a {@link Scope} to resolve its method declaration.
+    * */
+    public record ArgType(long pos, Type type) {}
+    public record ArgTypes(List<ArgType> list) {
+
+        /**
+         * @return argument types as printed in errors, i.e. {@code int,String} - only built when an error is logged
+         */
+        public String signature() {
+            StringJoiner signature = new StringJoiner(",");
+            for (ArgType argType : list) {
+                signature.add(argType.type().print());
+            }
+            return signature.toString();
+        }
+    }
+
+    /**
+     * <pre>
+     * Interned tuple of argument types, made up of exactly what {@link Types#match} looks at for each type - its kind,
+     * and for class and array types, the class it refers to and the number of dimensions.
+     *
+     * Argument lists that method resolution can't tell apart share a single instance, so tuples are compared and hashed
+     * by reference.
+     * </pre>
+     */
+    public static final class ArgTuple {
+
+        private ArgTuple() {}
+    }
+
+    /*
+    * What {@link Types#match} looks at for a single type, used to intern {@link ArgTuple} instances.
+    * */
+    private record TypeKey(TypeKind kind, TypeKind elementKind, Name className, int dims) {
+
+        static TypeKey of(Type type) {
+            if (type instanceof ClassType classType) {
+                return new TypeKey(type.kind, null, Types.className(classType), 0);
+            }
+            if (type instanceof ArrayType arrayType) {
+                Name className = arrayType.elementType instanceof ClassType classType
+                        ? Types.className(classType) : null;
+                return new TypeKey(type.kind, arrayType.elementType.kind, className, arrayType.dims);
+            }
+            return new TypeKey(type.kind, null, null, 0);
+        }
+    }
+
+    /**
+     * Key of a resolved method invocation - the method name (null for a constructor) and the argument types.
+     */
+    record Resolution(Name name, ArgTuple args) {}
 
     /**
      * <pre>
@@ -48,7 +109,7 @@ public class SymbolTable {
      *     - Note that a method name can map to multiple declarations, as method overloading is supported.
      * </pre>
      */
-    record Methods(Set<String> signatures, Map<String, List<MethodDecl>> idMap){}
+    record Methods(Set<String> signatures, Map<Name, List<MethodDecl>> idMap){}
 
     /**
      * <pre>
@@ -63,457 +124,253 @@ public class SymbolTable {
      * Contains all relevant member data for a class. Includes a mapping of field
      * names to field declarations, plus method and constructor signatures and mappings.
      */
-    record Members(Map<String, FieldDecl> fields, Methods methods, Constructors constructors){}
+    record Members(Map<Name, FieldDecl> fields, Methods methods, Constructors constructors,
+                   Map<Resolution, MethodDecl> resolved){
+
+        /**
+         * @return empty members - {@link #resolved} caches the method or constructor each distinct invocation resolved
+         * to, which is only ever filled once every class has been entered, and so may be filled in parallel
+         */
+        static Members empty() {
+            return new Members(new HashMap<>(), new Methods(new HashSet<>(), new HashMap<>()),
+                    new Constructors(new HashSet<>(), new ArrayList<>()), new ConcurrentHashMap<>());
+        }
+    }
 
     /**
      * Maps class names to their corresponding {@link ClassDecl} instance.
      */
-    private final Map<String, ClassDecl> classMap = new HashMap<>();
+    private final Map<Name, ClassDecl> classMap = new ConcurrentHashMap<>();
 
     /**
      * Maps class names to their corresponding {@link SymbolTable.Members} instance.
      */
-    private final Map<String, Members> membersByClass = new HashMap<>();
-
-    /**
-     * Scoped symbol table mapping names to declarations.
-     * <br><br>
-     * Last map in list belongs to the current scope.
-     */
-    private final List<Map<String, Declaration>> table = new ArrayList<>();
+    private final Map<Name, Members> membersByClass = new ConcurrentHashMap<>();
 
     /**
-     * {@link SymbolTable.Members} instance corresponding to the class currently being traversed.
+     * Names that the {@link #stdLib} provider has no class for.
      */
-    private Members currMembers;
-
-    public SymbolTable(Listener listener) {
-        this.listener = listener;
-    }
+    private final Set<Name> missingStdLib = ConcurrentHashMap.newKeySet();
 
-    /**
-     * Attempts to add the given class decl and, if successful, readies the {@link SymbolTable} for the traversal of
-     * that class.
-     * @param classDecl class to be traversed
-     * @param state     traversal state viewer
-     * @return whether class could be added
-     */
-    public boolean addAndEnterClass(ClassDecl classDecl, TraversalStateViewer state) {
-        boolean added = addClassDecl(classDecl);
-        if (added) enterClass(classDecl, state);
-        return added;
-    }
+    private volatile StdLibProvider stdLib;
 
     /**
-     * Readies the {@link SymbolTable} for the traversal of that class.
-     * @param classDecl class to be traversed
-     * @param state     traversal state viewer
+     * Classes entered from source, in the order they were entered.
      */
-    public void enterClass(ClassDecl classDecl, TraversalStateViewer state) {
-        this.traversalState = state;
-        this.currMembers = membersByClass.get(classDecl.id.contents);
-    }
+    private final List<ClassDecl> entered = new ArrayList<>();
 
-    /**
-     * Removes all state related to a class's traversal.
-     */
-    public void exitClass() {
-        this.traversalState = null;
-        this.currMembers = null;
-        this.argTypesStack.clear();
-    }
+    private final TypeFactory types;
 
     /**
-     * Attempts to add entries for the given {@link ClassDecl} to the {@link #classMap} and {@link #membersByClass}
-     * maps.
-     * <br><br>
-     * Logs error if class is a duplicate.
-     * @param decl class declaration
+     * Interned {@link ArgTuple} instances.
      */
-    public boolean addClassDecl(ClassDecl decl) {
-        if (classMap.containsKey(decl.id.contents)) {
-            listener.err(new CompileError(decl.pos, String.format("duplicate class: %s", decl.id.contents)));
-            return false;
-        }
-        classMap.put(decl.id.contents, decl);
+    private final Map<List<TypeKey>, ArgTuple> argTuples = new ConcurrentHashMap<>();
+    private static final ArgTuple NO_ARGS = new ArgTuple();
 
-        Members members = new Members(new HashMap<>(), new Methods(new HashSet<>(), new HashMap<>()),
-                new Constructors(new HashSet<>(), new ArrayList<>()));
-        membersByClass.put(decl.id.contents, members);
+    private volatile LongAdder resolutionHits = new LongAdder();
+    private volatile LongAdder resolutionMisses = new LongAdder();
 
-        if (decl.shortName != null) {
-            classMap.put(decl.shortName, decl);
-            membersByClass.put(decl.shortName, members);
-        }
-
-        return true;
+    public SymbolTable(Listener listener, Names names) {
+        this(listener, names, StandardLibrary.snapshot());
     }
 
     /**
-     * Adds given {@link FieldDecl} to current {@link SymbolTable.Members} instance.
-     * <br><br>
-     * Logs error if field name is a duplicate.
-     * @param decl field decl
+     * @param listener error listener
+     * @param names    name table of the compilation
+     * @param stdLib   provider of standard library classes, or null for none
      */
-    public void addFieldDecl(FieldDecl decl) {
-        if (currMembers.fields().containsKey(decl.id.contents)) {
-            listener.err(new CompileError(decl.id.pos,
-                    String.format("variable %s is already defined in class %s", decl.id.contents, traversalState.getCurrClass().id.contents)));
-            return;
-        }
-        currMembers.fields().put(decl.id.contents, decl);
+    public SymbolTable(Listener listener, Names names, StdLibProvider stdLib) {
+        this.listener = listener;
+        this.names = names;
+        this.types = new TypeFactory(names);
+        this.stdLib = stdLib;
     }
 
     /**
-     * Adds given {@link MethodDecl} to current {@link SymbolTable.Members} instance.
-     * <br><br>
-     * Logs error if method signature is a duplicate.
-     * @param decl method decl
+     * Replaces the provider that standard library classes are faulted in from - must be called before any lookups.
+     * @param stdLib provider of standard library classes, or null for none
      */
-    public void addMethodOrConstructorDecl(MethodDecl decl) {
-        if (decl.isConstructor()) addConstructorDecl(decl);
-        else addMethodDecl(decl);
+    public void setStdLib(StdLibProvider stdLib) {
+        this.stdLib = stdLib;
     }
 
     /**
-     * Adds given {@link MethodDecl} to current {@link SymbolTable.Members} instance.
-     * <br><br>
-     * Logs error if method signature is a duplicate.
-     * @param decl method decl
+     * @return name table of the compilation, which every {@link Name} looked up in this symbol table must come from
      */
-    public void addMethodDecl(MethodDecl decl) {
-        Methods methods = currMembers.methods();
-        if (methods.signatures().contains(decl.signature)) {
-            listener.err(new CompileError(decl.id.pos,
-                    String.format("method %s is already defined in class %s", decl.signature, traversalState.getCurrClass().id.contents)));
-            return;
-        }
-
-        methods.signatures().add(decl.signature);
-
-        List<MethodDecl> methodsByName = methods.idMap().get(decl.id.contents);
-        if (methodsByName != null) {
-            methodsByName.add(decl);
-        } else {
-            List<MethodDecl> methodList = new ArrayList<>();
-            methodList.add(decl);
-            methods.idMap().put(decl.id.contents, methodList);
-        }
+    public Names names() {
+        return names;
     }
 
     /**
-     * Adds given constructor {@link MethodDecl} to current {@link SymbolTable.Members} instance.
-     * <br><br>
-     * Logs error if constructor signature is a duplicate.
-     * @param decl constructor decl
+     * @return factory of the canonical types of this symbol table's classes
      */
-    public void addConstructorDecl(MethodDecl decl) {
-        if (currMembers.constructors().signatures().contains(decl.signature)) {
-            listener.err(new CompileError(decl.id.pos,
-                    String.format("constructor %s is already defined in class %s", decl.signature, traversalState.getCurrClass().id.contents)));
-            return;
-        }
-
-        currMembers.constructors().signatures().add(decl.signature);
-        currMembers.constructors().decls().add(decl);
+    public TypeFactory types() {
+        return types;
     }
 
     /**
-     * If the current class has no constructors defined, creates a {@link MethodDecl} node for a default constructor and
-     * adds it to the {@link SymbolTable}.
-     * @return default constructor, if created
+     * <pre>
+     * Replaces every field type, return type and parameter type declared by an entered class with its canonical
+     * {@link TypeFactory} instance, resolving the classes they refer to (faulting in standard library classes as
+     * needed), and caches each method's descriptor.
+     *
+     * Must be called once every class has been entered, and before classes are resolved in parallel - so that every
+     * member signature a class can see is already resolved, no matter which class happens to be resolved first.
+     *
+     * Types referring to classes that don't exist are left as they are, to be reported where they're declared.
+     * </pre>
      */
-    public MethodDecl addDefaultConstructorIfNecessary() {
-        if (currMembers.constructors().signatures().isEmpty()) {
-            MethodDecl defaultConstructor = MethodDecl.defaultConstructor(traversalState.getCurrClass().id.contents);
-            addConstructorDecl(defaultConstructor);
-            return defaultConstructor;
+    public void resolveSignatures() {
+        Function<Name, ClassDecl> resolver = name -> classDecl(name, true);
+        for (ClassDecl classDecl : entered) {
+            for (FieldDecl fieldDecl : classDecl.fieldDecls) {
+                fieldDecl.type = types.canonical(fieldDecl.type, resolver);
+            }
+            for (MethodDecl methodDecl : classDecl.methodDecls) {
+                methodDecl.type = types.canonical(methodDecl.type, resolver);
+                for (ParameterDecl parameterDecl : methodDecl.parameterDeclList) {
+                    parameterDecl.type = types.canonical(parameterDecl.type, resolver);
+                }
+                methodDecl.cacheDescriptor();
+            }
         }
-        return null;
-    }
-
-    /**
-     * Adds a new level to the table, to contain the identifier-to-declaration mappings for a new scope.
-     * <br><br>
-     * Called when entering into a method, conditional statement, or loop.
-     */
-    public void pushScope() {
-        table.add(new HashMap<>());
     }
 
     /**
-     * Removes the most recently added level from the table.
-     * <br><br>
-     * Called when exiting out of a method, conditional statement, or loop.
+     * Reports the method resolution cache's hits and misses to the given statistics - must be called before any
+     * lookups.
+     * @param stats statistics
      */
-    public void popScope() {
-        table.remove(table.size() - 1);
+    public void setStats(Stats stats) {
+        this.resolutionHits = stats.counter("overload.hits");
+        this.resolutionMisses = stats.counter("overload.misses");
+        stats.rate("overload.hitRate", resolutionHits, resolutionMisses);
     }
 
     /**
-     * Pushes the argument types for a method invocation onto the stack.
      * @param argTypes argument types
+     * @return interned tuple of the given argument types
      */
-    public void pushArgTypes(ArgTypes argTypes) {
-        argTypesStack.push(argTypes);
+    ArgTuple argTuple(List<ArgType> argTypes) {
+        if (argTypes.isEmpty()) return NO_ARGS;
+        List<TypeKey> keys = new ArrayList<>(argTypes.size());
+        for (ArgType argType : argTypes) {
+            keys.add(TypeKey.of(argType.type()));
+        }
+        return argTuples.computeIfAbsent(keys, k -> new ArgTuple());
     }
 
     /**
-     * Adds a local variable declaration ({@link ParameterDecl} or {@link VarDecl}) to the table in the current
-     * scope - if variable is not already declared in the current scope or any of its enclosing scopes.
-     * <br><br>
-     * Logs error if variable is a duplicate.
-     * @param decl Local variable declaration
+     * @param hit whether a method invocation was resolved from a class's cache
      */
-    public void addLocalDecl(LocalDecl decl) {
-        for (int i = table.size()-1; i >= 0; i--) {
-            if (table.get(i).containsKey(decl.id.contents)) {
-                String err = String.format("variable %s is already defined in method %s", decl.id.contents,
-                        decl instanceof ParameterDecl ? traversalState.getCurrMethod().id.contents : traversalState.getCurrMethod().signature);
-                listener.err(new CompileError(decl.id.pos, err));
-                return;
-            }
-        }
-        table.get(table.size()-1).put(decl.id.contents, decl);
+    void countResolution(boolean hit) {
+        (hit ? resolutionHits : resolutionMisses).increment();
     }
 
     /**
-     * <pre>
-     * Retrieves the {@link Declaration} corresponding to an {@link Identifier}.
-     *
-     * Steps:
-     *   1) If looking for a method, retrieve method candidates for the given identifier. If none exist, log error
-     *      and return. Otherwise, return result from {@link #getMethodDecl(List, Identifier, boolean) getMethodDecl}
-     *      call with those candidates.
-     *   2) Otherwise, iterate upwards through the table starting from the current scope and return if there's a
-     *      match for the given identifier.
-     *   3) If no match found, then see if it matches a field declaration in the current class, and return if found.
-     *   4) If no match found, then see if it matches any class declaration, and return if found.
-     *   5) If still no match found, then log {@link SymbolError}.
-     * </pre>
-     * @param id       identifier
-     * @param isMethod whether identifier is part of a call reference
-     * @return declaration
+     * Attempts to add entries for the given {@link ClassDecl} to the {@link #classMap} and {@link #membersByClass}
+     * maps.
+     * <br><br>
+     * Logs error if class is a duplicate.
+     * @param decl class declaration
      */
-    public Declaration getDecl(Identifier id, boolean isMethod) {
-        if (isMethod) {
-            List<MethodDecl> methodCandidates = currMembers.methods().idMap().get(id.contents);
-            if (methodCandidates == null) {
-                SymbolError err = SymbolError.builder()
-                        .position(id.pos)
-                        .methodSymbol(id.contents, argTypesStack.pop().signature())
-                        .classLocation(traversalState.getCurrClass().id.contents)
-                        .build();
-                listener.err(err);
-                return null;
-            }
-            return getMethodDecl(methodCandidates, id, false);
-        }
-
-        for (int i = table.size()-1; i >= 0; i--) {
-            if (table.get(i).containsKey(id.contents)) {
-                return table.get(i).get(id.contents);
-            }
+    public boolean addClassDecl(ClassDecl decl) {
+        if (classMap.containsKey(decl.id.name)) {
+            listener.err(new CompileError(decl.pos, String.format("duplicate class: %s", decl.id.contents)));
+            return false;
         }
+        classMap.put(decl.id.name, decl);
+        entered.add(decl);
 
-        if (currMembers.fields().containsKey(id.contents)) {
-            return currMembers.fields().get(id.contents);
-        }
+        Members members = Members.empty();
+        membersByClass.put(decl.id.name, members);
 
-        if (classMap.containsKey(id.contents)) {
-            return classMap.get(id.contents);
+        if (decl.shortName != null) {
+            Name shortName = names.fromString(decl.shortName);
+            classMap.put(shortName, decl);
+            membersByClass.put(shortName, members);
         }
 
-        SymbolError err = SymbolError.builder()
-                .position(id.pos)
-                .variableSymbol(id.contents)
-                .classLocation(traversalState.getCurrClass().id.contents)
-                .build();
-
-        listener.err(err);
-        return null;
+        return true;
     }
 
     /**
-     * Retrieves constructor {@link MethodDecl} for a given class name.
-     * @param id class name
-     * @return method declaration
+     * @param name   class name
+     * @param stdLib whether to fault in a standard library class, if no class with the given name has been entered
+     * @return declaration of the class with the given name, or null if there is none
      */
-    public MethodDecl getConstructorDecl(Identifier id) {
-        List<MethodDecl> candidates = membersByClass.get(id.contents).constructors().decls();
-        return getMethodDecl(candidates, id, true);
+    ClassDecl classDecl(Name name, boolean stdLib) {
+        ClassDecl decl = classMap.get(name);
+        if (decl == null && stdLib && faultStdLib(name)) decl = classMap.get(name);
+        return decl;
     }
 
     /**
-     * Receives a list of method declaration candidates for a given call reference, and using the {@link ArgTypes}
-     * list at the top of the {@link #argTypesStack}, searches within those candidates for a method whose signature
-     * matches those argument types exactly.
-     * @param methodCandidates method declaration candidates selected by the caller
-     * @param id               method name
-     * @param isConstructor    {@code true} if candidates are constructors
-     * @return method declaration
+     * @param name   class name
+     * @param stdLib whether to fault in a standard library class, if no class with the given name has been entered
+     * @return members of the class with the given name, or null if there is none
      */
-    public MethodDecl getMethodDecl(List<MethodDecl> methodCandidates, Identifier id, boolean isConstructor) {
-        // pop argument types from most recently visited call
-        ArgTypes argTypes = argTypesStack.pop();
-
-        /*
-         * If only one candidate:
-         *   - Log arg type error if arguments are the wrong size, otherwise:
-         *   - Attempt type matching between arguments and parameters:
-         *     - If errors occur -> log them and return null
-         *     - If no errors -> return candidate
-         * */
-        if (methodCandidates.size() == 1) {
-            MethodDecl decl = methodCandidates.get(0);
-            if (argTypes.list().size() != decl.parameterDeclList.size()) {
-                listener.err(new ArgTypeError(id.pos, decl, argTypes.signature()));
-                return null;
-            }
-
-            if (argTypesMatch(argTypes.list(), decl, publishMismatchConsumer())) return decl;
-            return null;
-        }
-
-        // filter candidates down to only those with parameter lists the same size as the argument list
-        List<MethodDecl> sameSizeMethodCandidates = methodCandidates.stream()
-                .filter(md -> md.parameterDeclList.size() == argTypes.list().size())
-                .toList();
-
-        // if no candidates remain after filtering, log generic no suitable method found error
-        if (sameSizeMethodCandidates.isEmpty()) {
-            listener.err(new NoSuitableMethodError(id, argTypes.signature(), methodCandidates, isConstructor));
-            return null;
-        }
-
-        /*
-         * If only one candidate remains after filtering, attempt type matching between arguments and parameters:
-         *   - If errors occur -> log them and return null
-         *   - If no errors -> return candidate
-         * */
-        if (sameSizeMethodCandidates.size() == 1) {
-            MethodDecl decl = sameSizeMethodCandidates.get(0);
-            if (argTypesMatch(argTypes.list(), decl, publishMismatchConsumer())) return decl;
-            return null;
-        }
-
-        /*
-         * If multiple candidates remain after filtering, iteratively attempt type matching between arguments and
-         * each candidate's parameters:
-         *   - If a candidate matches, exit loop by returning it
-         *   - If a candidate doesn't match, append mismatch details to list
-         * If no candidates end up matching, then a no suitable method error is logged, with each candidate's
-         * mismatch details passed in for printing purposes.
-         * */
-        List<String> mismatches = new ArrayList<>();
-        for (MethodDecl decl : sameSizeMethodCandidates) {
-            if (argTypesMatch(argTypes.list(), decl, storeMismatchConsumer(mismatches))) return decl;
-        }
-
-        listener.err(new NoSuitableMethodError(id, argTypes.signature(), sameSizeMethodCandidates, isConstructor,
-                mismatches));
-        return null;
+    Members members(Name name, boolean stdLib) {
+        Members members = membersByClass.get(name);
+        if (members == null && stdLib && faultStdLib(name)) members = membersByClass.get(name);
+        return members;
     }
 
     /**
-     * @return {@link BiConsumer} that consumes mismatched types and logs the resulting errors.
+     * Attempts to fault in the standard library class with the given (fully qualified or simple) name, along with its
+     * members.
+     * @param name class name
+     * @return whether the class is now present
      */
-    private BiConsumer<ArgType, Type> publishMismatchConsumer() {
-        return (ArgType argType, Type paramType) ->
-                listener.err(incompatibleTypes(argType.pos, argType.type(), paramType));
-    }
+    private boolean faultStdLib(Name name) {
+        StdLibProvider provider = stdLib;
+        if (provider == null || missingStdLib.contains(name)) return false;
 
-    /**
-     * @param mismatches running list of mismatches
-     * @return {@link BiConsumer} that consumes mismatched types and appends them to given list
-     */
-    private BiConsumer<ArgType, Type> storeMismatchConsumer(List<String> mismatches) {
-        return (ArgType argType, Type paramType) ->
-                mismatches.add(String.format("%s cannot be converted to %s", argType.type().print(), paramType.print()));
-    }
+        synchronized (this) {
+            if (classMap.containsKey(name)) return true;
+            if (missingStdLib.contains(name)) return false;
 
-    /**
-     * Evaluates whether the given argument types are valid for the given method.
-     * <br><br>
-     * If valid, return {@code true}.
-     * If invalid, pass mismatched types to given consumer, and return {@code false}.
-     * @param argTypes         list of argument types
-     * @param decl             target method declaration
-     * @param mismatchConsumer consumes mismatched types
-     * @return argument validity
-     */
-    private boolean argTypesMatch(List<ArgType> argTypes, MethodDecl decl, BiConsumer<ArgType, Type> mismatchConsumer) {
-        for (int i=0; i<argTypes.size(); i++) {
-            ArgType argType = argTypes.get(i);
-            Type paramType = decl.parameterDeclList.get(i).type;
-            if (!match(argType.type(), paramType)) {
-                mismatchConsumer.accept(argType, paramType);
+            ClassDecl decl = provider.find(name.toString(), names);
+            if (decl == null) {
+                missingStdLib.add(name);
                 return false;
             }
-        }
-        return true;
-    }
 
-    /**
-     * Returns {@link ClassDecl} for given class name.
-     * <br><br>
-     * Logs error if no entry for given class name is found.
-     * @param id class name
-     * @return class declaration
-     */
-    public Declaration getClassDecl(Identifier id) {
-        Declaration decl = classMap.get(id.contents);
-        if (decl == null) {
-            SymbolError err = SymbolError.builder()
-                    .position(id.pos)
-                    .classSymbol(id.contents)
-                    .classLocation(traversalState.getCurrClass().id.contents)
-                    .build();
-            listener.err(err);
-        }
-        return decl;
-    }
+            // already faulted in under its other name
+            ClassDecl existing = classMap.get(decl.id.name);
+            if (existing != null) {
+                publish(name, existing, membersByClass.get(decl.id.name));
+                return true;
+            }
 
-    /**
-     * Retrieves declaration for a member on a specific class.
-     * @param className class name
-     * @param id        member identifier
-     * @param isMethod  if member should be a method
-     * @param prevId    previous non-method identifier in reference chain, if applicable (used for error printing)
-     * @return member declaration
-     */
-    public MemberDecl getMemberDecl(String className, Identifier id, boolean isMethod, Identifier prevId) {
-        // retrieve members for relevant class
-        Members members = membersByClass.get(className);
-        // short circuit if invalid class or no members
-        if (members == null) return null;
-
-        // find method candidates - if none found, log error, otherwise search for target
-        if (isMethod) {
-            List<MethodDecl> methodDecls = members.methods().idMap().get(id.contents);
-            if (methodDecls == null) {
-                listener.err(SymbolError.builder()
-                        .position(id.pos)
-                        .methodSymbol(id.contents, argTypesStack.pop().signature())
-                        .location(className, prevId)
-                        .build());
-                return null;
+            Members members = Members.empty();
+            for (FieldDecl fieldDecl : decl.fieldDecls) {
+                fieldDecl.classDecl = decl;
+                members.fields().putIfAbsent(fieldDecl.id.name, fieldDecl);
+            }
+            for (MethodDecl methodDecl : decl.methodDecls) {
+                methodDecl.classDecl = decl;
+                // standard library types are never resolved, so they're already final
+                methodDecl.cacheDescriptor();
+                if (members.methods().signatures().add(methodDecl.signature)) {
+                    members.methods().idMap().computeIfAbsent(methodDecl.id.name, n -> new ArrayList<>())
+                            .add(methodDecl);
+                }
             }
-            // not a constructor, inside qualified ref
-            return getMethodDecl(methodDecls, id, false);
-        }
 
-        // if not a method, must be a field
-        FieldDecl fieldDecl = members.fields().get(id.contents);
-        if (fieldDecl == null) {
-            listener.err(SymbolError.builder()
-                    .position(id.pos)
-                    .variableSymbol(id.contents)
-                    .location(className, prevId)
-                    .build());
-            return null;
+            publish(decl.id.name, decl, members);
+            if (decl.shortName != null) publish(names.fromString(decl.shortName), decl, members);
+            return classMap.containsKey(name);
         }
-        return fieldDecl;
     }
 
+    /**
+     * Makes a faulted in class visible under the given name, unless that name is already taken - members first, so
+     * that a lookup that finds the class always finds its members too.
+     */
+    private void publish(Name name, ClassDecl decl, Members members) {
+        if (classMap.containsKey(name)) return;
+        membersByClass.put(name, members);
+        classMap.put(name, decl);
+    }
 }
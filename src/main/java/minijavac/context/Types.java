@@ -2,7 +2,7 @@ package minijavac.context;
 
 import minijavac.ast.*;
 import minijavac.err.CompileError;
-import minijavac.syntax.Position;
+import minijavac.syntax.Name;
 
 /**
  * Utility class used by {@link Context} to evaluate type equality and create common type errors.
@@ -17,7 +17,7 @@ public class Types {
     /**
      * Generic ERROR type instance, used to bubble up errors during type checking.
      */
-    public static final Type ERR = new BaseType(TypeKind.ERROR, null);
+    public static final Type ERR = TypeFactory.base(TypeKind.ERROR);
 
     /**
      * Evaluates whether a given {@link Type} node has the expected {@link TypeKind}.
@@ -36,6 +36,8 @@ public class Types {
      * @return equality status
      */
     public static boolean match(Type t1, Type t2) {
+        if (t1 == t2) return true; // canonical types are equal only if they're the same instance
+
         // types can match if kinds are different, as long as one is ERROR, or if one is NULL and the other is nullable
         if (t1.kind == TypeKind.ERROR || t2.kind == TypeKind.ERROR ||
                 (t1.kind == TypeKind.NULL && !(t2 instanceof BaseType)) ||
@@ -44,8 +46,8 @@ public class Types {
         }
         if (t1.kind != t2.kind) return false; // otherwise, type kinds need to match
 
-        if (t1 instanceof ClassType ct1) { // if both are class types, class names must match
-            return ct1.className.contents.equals(((ClassType) t2).className.contents);
+        if (t1 instanceof ClassType ct1) { // if both are class types, they must refer to the same class
+            return className(ct1) == className((ClassType) t2);
         }
 
         if (t1 instanceof ArrayType at1) { // if both are array types, element types and dimension counts must match.
@@ -56,6 +58,14 @@ public class Types {
         return true;
     }
 
+    /**
+     * @return fully qualified name of the class the type refers to, if it's been resolved - so that i.e. {@code String}
+     * and {@code java/lang/String} match - or otherwise the name it was written with
+     */
+    static Name className(ClassType type) {
+        return type.decl != null ? type.decl.id.name : type.className.name;
+    }
+
     /**
      * Evaluates whether a {@link Type} is numeric or not.
      * @param type type
@@ -72,7 +82,7 @@ public class Types {
      * @param t2  second type
      * @return {@link CompileError}
      */
-    public static CompileError incompatibleTypes(Position pos, Type t1, String t2) {
+    public static CompileError incompatibleTypes(long pos, Type t1, String t2) {
         return new CompileError(pos,
                 String.format("incompatible types: %s cannot be converted to %s", t1.print(), t2));
     }
@@ -84,7 +94,7 @@ public class Types {
      * @param t2  second type
      * @return {@link CompileError}
      */
-    public static CompileError incompatibleTypes(Position pos, Type t1, Type t2) {
+    public static CompileError incompatibleTypes(long pos, Type t1, Type t2) {
         return new CompileError(pos,
                 String.format("incompatible types: %s cannot be converted to %s", t1.print(), t2.print()));
     }
@@ -96,7 +106,7 @@ public class Types {
      * @param t2  second type
      * @return {@link CompileError}
      */
-    public static CompileError lossyConversion(Position pos, Type t1, Type t2) {
+    public static CompileError lossyConversion(long pos, Type t1, Type t2) {
         return new CompileError(pos,
                 String.format("incompatible types: possible lossy conversion from %s to %s", t1.print(), t2.print()));
     }
@@ -2,6 +2,7 @@ package minijavac.context.enter;
 
 import minijavac.ast.*;
 import minijavac.context.Context;
+import minijavac.context.Scope;
 import minijavac.context.SymbolTable;
 import minijavac.context.TraversalStateViewer;
 import minijavac.listener.Listener;
@@ -18,10 +19,10 @@ import java.util.Set;
  * method, to enable the parsing of additional classes as needed, even if unspecified by the user.
  *
  * Note that to accurately determine if a class is potentially referencing another, yet to be parsed, class, the {@link ClassDecl}
- * must be fully traversed, while maintaining a correctly scoped {@link SymbolTable} with all parameter and local
+ * must be fully traversed, while maintaining a correctly scoped {@link Scope} with all parameter and local
  * variable declarations added as they are encountered.
  *
- * Because errors may occur in the {@link SymbolTable} when attempting to resolve a {@link ClassType} or {@link IdRef},
+ * Because errors may occur in the {@link Scope} when attempting to resolve a {@link ClassType} or {@link IdRef},
  * or when adding a {@link ParameterDecl} or {@link VarDecl} to the current scope, these operations are preceded by
  * setting the ignore flag on the given {@link Listener} to true, so they are not recorded.
  *
@@ -32,10 +33,13 @@ import java.util.Set;
 public class Enter implements Visitor<EnterTraversalState, EnterArg, Object> {
 
     private final SymbolTable symbolTable;
+    private final Scope scope;
     private final Listener listener;
 
     public Enter(SymbolTable symbolTable, Listener listener) {
         this.symbolTable = symbolTable;
+        // don't fault in std lib classes, so that referenced classes are looked for on the source path first
+        this.scope = new Scope(symbolTable, listener, false);
         this.listener = listener;
     }
 
@@ -63,9 +67,10 @@ public class Enter implements Visitor<EnterTraversalState, EnterArg, Object> {
     public Object visitClassDecl(ClassDecl classDecl, EnterTraversalState state, EnterArg arg) {
         state.setCurrClass(classDecl);
 
-        // add class and ready symbol table for traversal, short-circuit if unable to be added
-        boolean added = symbolTable.addAndEnterClass(classDecl, new TraversalStateViewer(state));
+        // add class and ready scope for traversal, short-circuit if unable to be added
+        boolean added = symbolTable.addClassDecl(classDecl);
         if (!added) return null;
+        scope.enterClass(classDecl, new TraversalStateViewer(state));
 
         for (FieldDecl fieldDecl : classDecl.fieldDecls) {
             fieldDecl.visit(this, state, arg);
@@ -77,14 +82,14 @@ public class Enter implements Visitor<EnterTraversalState, EnterArg, Object> {
 
         if (arg != EnterArg.STDLIB) {
             // if no constructors found, add default
-            MethodDecl defaultConstructor = symbolTable.addDefaultConstructorIfNecessary();
+            MethodDecl defaultConstructor = scope.addDefaultConstructorIfNecessary();
             if (defaultConstructor != null) {
                 defaultConstructor.classDecl = classDecl;
                 classDecl.methodDecls.add(0, defaultConstructor);
             }   
         }
 
-        symbolTable.exitClass();
+        scope.exitClass();
         return null;
     }
 
@@ -92,7 +97,7 @@ public class Enter implements Visitor<EnterTraversalState, EnterArg, Object> {
     public Object visitFieldDecl(FieldDecl fieldDecl, EnterTraversalState state, EnterArg arg) {
         fieldDecl.type.visit(this, state, arg);
         fieldDecl.classDecl = state.getCurrClass();
-        symbolTable.addFieldDecl(fieldDecl); // add field to symbol table
+        scope.addFieldDecl(fieldDecl); // add field to symbol table
         return null;
     }
 
@@ -103,23 +108,23 @@ public class Enter implements Visitor<EnterTraversalState, EnterArg, Object> {
         methodDecl.type.visit(this, state, arg);
         methodDecl.classDecl = state.getCurrClass();
         // add method to symbol table
-        symbolTable.addMethodOrConstructorDecl(methodDecl);
+        scope.addMethodOrConstructorDecl(methodDecl);
 
         if (arg == EnterArg.STDLIB) return null;
 
         // if in user-defined class, traverse parameters and body to populate referenced classes
-        symbolTable.pushScope();
+        scope.pushScope();
         for (ParameterDecl parameterDecl : methodDecl.parameterDeclList) {
             parameterDecl.visit(this, state, arg);
         }
 
-        symbolTable.pushScope();
+        scope.pushScope();
         for (Statement statement : methodDecl.statementList) {
             statement.visit(this, state, arg);
         }
-        symbolTable.popScope();
+        scope.popScope();
 
-        symbolTable.popScope();
+        scope.popScope();
 
         return null;
     }
@@ -128,7 +133,7 @@ public class Enter implements Visitor<EnterTraversalState, EnterArg, Object> {
     public Object visitParameterDecl(ParameterDecl parameterDecl, EnterTraversalState state, EnterArg arg) {
         parameterDecl.type.visit(this, state, arg);
         listener.setIgnore(true);
-        symbolTable.addLocalDecl(parameterDecl);
+        scope.addLocalDecl(parameterDecl);
         listener.setIgnore(false);
         return null;
     }
@@ -137,7 +142,7 @@ public class Enter implements Visitor<EnterTraversalState, EnterArg, Object> {
     public Object visitVarDecl(VarDecl decl, EnterTraversalState state, EnterArg arg) {
         decl.type.visit(this, state, arg);
         listener.setIgnore(true);
-        symbolTable.addLocalDecl(decl);
+        scope.addLocalDecl(decl);
         listener.setIgnore(false);
         return null;
     }
@@ -153,7 +158,7 @@ public class Enter implements Visitor<EnterTraversalState, EnterArg, Object> {
 
         listener.setIgnore(true);
         // if class unable to be resolved, add to referenced classes
-        if (symbolTable.getClassDecl(type.className) == null) {
+        if (scope.getClassDecl(type.className) == null) {
             state.addReferencedClass(type.className.contents);
         }
         listener.setIgnore(false);
@@ -204,14 +209,14 @@ public class Enter implements Visitor<EnterTraversalState, EnterArg, Object> {
     public Object visitIfStmt(IfStmt stmt, EnterTraversalState state, EnterArg arg) {
         stmt.cond.visit(this, state, arg);
 
-        symbolTable.pushScope();
+        scope.pushScope();
         stmt.thenStmt.visit(this, state, arg);
-        symbolTable.popScope();
+        scope.popScope();
 
         if (stmt.elseStmt != null) {
-            symbolTable.pushScope();
+            scope.pushScope();
             stmt.elseStmt.visit(this, state, arg);
-            symbolTable.popScope();
+            scope.popScope();
         }
         return null;
     }
@@ -219,17 +224,17 @@ public class Enter implements Visitor<EnterTraversalState, EnterArg, Object> {
     @Override
     public Object visitWhileStmt(WhileStmt stmt, EnterTraversalState state, EnterArg arg) {
         stmt.cond.visit(this, state, arg);
-        symbolTable.pushScope();
+        scope.pushScope();
         stmt.body.visit(this, state, arg);
-        symbolTable.popScope();
+        scope.popScope();
         return null;
     }
 
     @Override
     public Object visitDoWhileStmt(DoWhileStmt stmt, EnterTraversalState state, EnterArg arg) {
-        symbolTable.pushScope();
+        scope.pushScope();
         stmt.body.visit(this, state, arg);
-        symbolTable.popScope();
+        scope.popScope();
         stmt.cond.visit(this, state, arg);
         return null;
     }
@@ -252,12 +257,12 @@ public class Enter implements Visitor<EnterTraversalState, EnterArg, Object> {
 
     @Override
     public Object visitForStmt(ForStmt stmt, EnterTraversalState state, EnterArg arg) {
-        symbolTable.pushScope();
+        scope.pushScope();
         stmt.initStmt.visit(this, state, arg);
         stmt.cond.visit(this, state, arg);
         stmt.updateStmt.visit(this, state, arg);
         stmt.body.visit(this, state, arg);
-        symbolTable.popScope();
+        scope.popScope();
         return null;
     }
 
@@ -345,7 +350,7 @@ public class Enter implements Visitor<EnterTraversalState, EnterArg, Object> {
         listener.setIgnore(true);
 
         // if to the immediate left of a qualified ref and the symbol is unable to be resolved, add to referenced classes
-        if (arg == EnterArg.QREF && symbolTable.getDecl(ref.id, false) == null) {
+        if (arg == EnterArg.QREF && scope.getDecl(ref.id, false) == null) {
             state.addReferencedClass(ref.id.contents);
         }
         listener.setIgnore(false);
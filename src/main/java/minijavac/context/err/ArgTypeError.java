@@ -2,7 +2,6 @@ package minijavac.context.err;
 
 import minijavac.ast.MethodDecl;
 import minijavac.err.CompileError;
-import minijavac.syntax.Position;
 
 /**
  * Error that occurs when a call reference is being resolved and there is only one method declaration candidate for that
@@ -14,7 +13,7 @@ public class ArgTypeError extends CompileError {
     private final String found;
     private static final String REASON = "actual and formal argument lists differ in length";
 
-    public ArgTypeError(Position pos, MethodDecl md, String found) {
+    public ArgTypeError(long pos, MethodDecl md, String found) {
         super(pos, String.format("%s %s in class %s cannot be applied to given types;",
                 md.isConstructor() ? "constructor" : "method", md.id.contents, md.classDecl.id.contents));
         this.required = md.parameterDeclList.size() == 0 ? "no arguments" : md.parameterDeclList.signature();
@@ -2,7 +2,6 @@ package minijavac.context.err;
 
 import minijavac.ast.Type;
 import minijavac.err.CompileError;
-import minijavac.syntax.Position;
 import minijavac.syntax.TokenKind;
 
 /**
@@ -13,7 +12,7 @@ public class BinaryTypeError extends CompileError {
     private final String t1;
     private final String t2;
 
-    public BinaryTypeError(Position pos, TokenKind kind, Type t1, Type t2) {
+    public BinaryTypeError(long pos, TokenKind kind, Type t1, Type t2) {
         super(pos, String.format("bad operand types for binary operator '%s'", kind.print()));
         this.t1 = t1.print();
         this.t2 = t2.print();
@@ -2,7 +2,6 @@ package minijavac.context.err;
 
 import minijavac.ast.Identifier;
 import minijavac.err.CompileError;
-import minijavac.syntax.Position;
 
 /**
  * <pre>
@@ -54,11 +53,11 @@ public class SymbolError extends CompileError {
 
     public static class Builder {
 
-        private Position pos;
+        private long pos;
         private String symbol;
         private String location;
 
-        public Builder position(Position pos) {
+        public Builder position(long pos) {
             this.pos = pos;
             return this;
         }
@@ -1,14 +1,13 @@
 package minijavac.context.err;
 
 import minijavac.err.CompileError;
-import minijavac.syntax.Position;
 
 /**
  * Type error that occurs when a reference is expected, but a literal is found.
  */
 public class UnexpectedTypeError extends CompileError {
 
-    public UnexpectedTypeError(Position pos) {
+    public UnexpectedTypeError(long pos) {
         super(pos, "unexpected type");
     }
 
@@ -1,24 +1,58 @@
 package minijavac.err;
 
+import minijavac.syntax.FileTable;
 import minijavac.syntax.Position;
 
+import java.nio.file.Path;
+
 /**
  * Base class for errors occurring at all stages of compilation.
- * <br>Contains a message string and a {@link Position} that can be used to generate a printable representation.
+ * <br>Contains a message string and a packed position (see {@link Position}) that can be used to generate a printable
+ * representation. A packed position only identifies its file within its own compilation (see {@link FileTable}), so
+ * the file itself is resolved as the error is reported.
+ * <br><br>
+ * Errors are diagnostics about the source being compiled, not about the compiler itself, so they don't capture a stack
+ * trace (or support suppression) - this keeps throwing one, i.e. during parser error recovery, about as cheap as a
+ * normal return.
  */
 public class CompileError extends Exception {
 
-    private final Position pos;
+    private final long pos;
     private final String msg;
+    private Path file;
     private boolean ignore = false;
 
-    public CompileError(Position pos, String msg) {
+    public CompileError(long pos, String msg) {
+        super(null, null, false, false);
         this.pos = pos;
         this.msg = msg;
     }
 
+    /**
+     * Resolves the file this error occurred in, unless it's already known.
+     * @param files file table of the compilation the error's position was packed in
+     */
+    public void resolveFile(FileTable files) {
+        if (file == null) file = files.file(pos);
+    }
+
+    /**
+     * @return expanded position, allocated on each call, or null if the error has no position
+     */
     public Position getPos() {
-        return pos;
+        if (pos == Position.NOPOS) return null;
+        return new Position(file, Position.line(pos), Position.offset(pos));
+    }
+
+    /**
+     * @return file the error occurred in, or null if it hasn't been resolved
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    public int getLine() {
+        return Position.line(pos);
     }
 
     public String getMsg() {
@@ -38,7 +72,7 @@ public class CompileError extends Exception {
      * @param line where the error occurred
      */
     public void print(String line) {
-        System.err.printf("%s:%d: error: %s%n", pos.file(), pos.line(), msg);
+        System.err.printf("%s:%d: error: %s%n", getFile(), getLine(), msg);
         System.err.println(line);
         System.err.printf("%" + getCaretOffset() + "s%n", "^");
     }
@@ -48,7 +82,7 @@ public class CompileError extends Exception {
      * offending line.
      */
     public int getCaretOffset() {
-        return pos.offset() + 1;
+        return Position.offset(pos) + 1;
     }
 
     public boolean isIgnore() {
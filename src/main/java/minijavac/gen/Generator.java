@@ -11,6 +11,7 @@ import minijavac.gen.instruction.ArrType;
 import minijavac.gen.instruction.BranchInstruction;
 import minijavac.gen.instruction.Instruction;
 import minijavac.gen.instruction.OpCode;
+import minijavac.syntax.Names;
 import minijavac.syntax.TokenKind;
 
 import java.util.List;
@@ -26,9 +27,18 @@ import java.util.List;
  */
 public class Generator implements Visitor<GenTraversalState, GenArg, Object> {
 
+    /*
+    * Name table of the compilation the generated classes belong to.
+    * */
+    private final Names names;
+
+    public Generator(Names names) {
+        this.names = names;
+    }
+
     public ClassFile gen(ClassDecl classDecl) {
         GenTraversalState state = new GenTraversalState();
-        state.setClassFile(new ClassFile(classDecl.id.contents));
+        state.setClassFile(new ClassFile(classDecl.id.contents, names));
         classDecl.visit(this, state, GenArg.NONE);
         return state.getClassFile();
     }
@@ -43,7 +53,7 @@ public class Generator implements Visitor<GenTraversalState, GenArg, Object> {
             methodDecl.visit(this, state, GenArg.NONE);
         }
 
-        state.getClassFile().addSourceFileAttribute(classDecl.pos.file());
+        state.getClassFile().addSourceFileAttribute(classDecl.file);
 
         return null;
     }
@@ -55,7 +65,7 @@ public class Generator implements Visitor<GenTraversalState, GenArg, Object> {
         FieldEntry fieldEntry = new FieldEntry();
         fieldEntry.setAccessFlags(AccessFlag.mask(fieldDecl));
 
-        fieldEntry.setNameIndex(currClass.getConstantPool().addUTFConstant(fieldDecl.id.contents));
+        fieldEntry.setNameIndex(currClass.getConstantPool().addUTFConstant(fieldDecl.id.name));
         fieldEntry.setDescriptorIndex(currClass.getConstantPool().addUTFConstant(fieldDecl.type.descriptor()));
 
         currClass.getFields().add(fieldEntry);
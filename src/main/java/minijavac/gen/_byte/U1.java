@@ -25,4 +25,12 @@ public class U1 extends ByteUnit {
     public void writeTo(DataOutputStream stream) throws IOException {
         stream.writeByte(getVal());
     }
+
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return 1;
+    }
 }
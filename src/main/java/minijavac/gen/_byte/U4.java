@@ -25,4 +25,12 @@ public class U4 extends ByteUnit {
     public void writeTo(DataOutputStream stream) throws IOException {
         stream.writeInt(getVal());
     }
+
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return 4;
+    }
 }
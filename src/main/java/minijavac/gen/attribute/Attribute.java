@@ -46,6 +46,14 @@ public abstract class Attribute implements Writable {
         attributeLength.writeTo(stream);    // write attribute_length
     }
 
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return 6 + attributeLength.getVal();
+    }
+
     public U2 getAttributeNameIndex() {
         return attributeNameIndex;
     }
@@ -8,7 +8,6 @@ import minijavac.gen.instruction.Instruction;
 import minijavac.gen._byte.U2;
 import minijavac.gen._byte.U4;
 
-import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayDeque;
@@ -325,53 +324,48 @@ public class CodeAttribute extends Attribute {
     /**
      * Writes {@code Code_attribute} to the given byte stream.
      * <br><br>
-     * Note: because the attribute's length must be included in the byte stream before its contents, and the length
-     * isn't known until the contents have been written, a second {@link DataOutputStream} is initially used for writing
-     * those contents. Only once the contents are written to the attribute byte stream and the size is determined,
-     * can the given byte stream be written to.
+     * Note: the attribute's length must be included in the byte stream before its contents, so it's computed up front
+     * from the sizes of those contents - the code length is just the running byte offset, as each instruction's size
+     * is known as soon as it's added.
      * @param stream byte stream
      * @throws IOException
      */
     @Override
     public void writeTo(DataOutputStream stream) throws IOException {
-        // create new byte stream for attribute
-        try (ByteArrayOutputStream attrByteStream = new ByteArrayOutputStream() ;
-             DataOutputStream attrStream = new DataOutputStream(attrByteStream)) {
-
-            U2 maxStack = U2.of(stackMapTableAttribute.getMaxStackSize());
-            maxStack.writeTo(attrStream); // write max_stack
-
-            U2 maxLocals = U2.of(stackMapTableAttribute.getMaxLocals());
-            maxLocals.writeTo(attrStream); // write max_locals
-
-            // create new byte stream for instructions, so code_length can be written to first
-            // is this necessary? since codeSize is stored
-            try (ByteArrayOutputStream codeByteStream = new ByteArrayOutputStream() ;
-                 DataOutputStream codeStream = new DataOutputStream(codeByteStream)) {
-                for (Instruction instruction : code) {
-                    instruction.writeTo(codeStream);
-                }
-
-                U4.of(codeByteStream.size()).writeTo(attrStream); // write code_length
-                codeByteStream.writeTo(attrStream);               // write code
-            }
+        setAttributeLength(U4.of(contentSize()));                    // set attribute length
+        super.writeTo(stream);                                       // write attribute_name_index, attribute_length
 
-            U2.of(0).writeTo(attrStream);                    // write exception_table_length (not implemented yet)
+        U2.of(stackMapTableAttribute.getMaxStackSize()).writeTo(stream); // write max_stack
+        U2.of(stackMapTableAttribute.getMaxLocals()).writeTo(stream);    // write max_locals
 
-            if (stackMapTableAttribute.hasFrames()) {
-                U2.of(1).writeTo(attrStream);                // write attributes_count
-                stackMapTableAttribute.writeTo(attrStream);      // write stack map table
-            } else {
-                U2.of(0).writeTo(attrStream);                // write attributes_count
-            }
+        U4.of(codeSize).writeTo(stream);                             // write code_length
+        for (Instruction instruction : code) {                       // write code
+            instruction.writeTo(stream);
+        }
 
-            setAttributeLength(U4.of(attrByteStream.size()));    // set attribute length to attr byte stream length
-            super.writeTo(stream);                               // write attribute_name_index, attribute_length
+        U2.of(0).writeTo(stream);                                    // write exception_table_length (not implemented yet)
 
-            attrByteStream.writeTo(stream);                      // write attribute contents
+        if (stackMapTableAttribute.hasFrames()) {
+            U2.of(1).writeTo(stream);                                // write attributes_count
+            stackMapTableAttribute.writeTo(stream);                  // write stack map table
+        } else {
+            U2.of(0).writeTo(stream);                                // write attributes_count
         }
     }
 
+    @Override
+    public int size() {
+        return 6 + contentSize();
+    }
+
+    /**
+     * @return length of the attribute's contents: max_stack, max_locals, code_length, code, exception_table_length,
+     * attributes_count, and the stack map table (if any)
+     */
+    private int contentSize() {
+        return 2 + 2 + 4 + codeSize + 2 + 2 + stackMapTableAttribute.size();
+    }
+
     public int getOffset() {
         return codeSize;
     }
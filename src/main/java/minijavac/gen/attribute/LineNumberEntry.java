@@ -16,6 +16,14 @@ public class LineNumberEntry implements Writable {
         lineNumber.writeTo(stream);
     }
 
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return 4;
+    }
+
     public U2 getStartPC() {
         return startPC;
     }
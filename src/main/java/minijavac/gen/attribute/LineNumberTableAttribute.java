@@ -3,7 +3,6 @@ package minijavac.gen.attribute;
 import minijavac.gen._byte.U2;
 import minijavac.gen._byte.U4;
 
-import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.List;
@@ -18,19 +17,26 @@ public class LineNumberTableAttribute extends Attribute {
 
     @Override
     public void writeTo(DataOutputStream stream) throws IOException {
-        try (ByteArrayOutputStream attrByteStream = new ByteArrayOutputStream();
-             DataOutputStream attrStream = new DataOutputStream(attrByteStream)) {
+        setAttributeLength(U4.of(contentSize()));
+        super.writeTo(stream);
 
-            lineNumberTableLength.writeTo(attrStream);
-            for (LineNumberEntry lineNumberEntry : lineNumberEntries) {
-                lineNumberEntry.writeTo(attrStream);
-            }
+        lineNumberTableLength.writeTo(stream);
+        for (LineNumberEntry lineNumberEntry : lineNumberEntries) {
+            lineNumberEntry.writeTo(stream);
+        }
+    }
 
-            setAttributeLength(U4.of(attrByteStream.size()));
-            super.writeTo(stream);
+    @Override
+    public int size() {
+        return 6 + contentSize();
+    }
 
-            attrByteStream.writeTo(stream);
+    private int contentSize() {
+        int size = 2;
+        for (LineNumberEntry lineNumberEntry : lineNumberEntries) {
+            size += lineNumberEntry.size();
         }
+        return size;
     }
 
     public U2 getLineNumberTableLength() {
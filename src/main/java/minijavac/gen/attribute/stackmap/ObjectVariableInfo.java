@@ -29,6 +29,14 @@ public class ObjectVariableInfo extends VariableInfo {
         classIndex.writeTo(stream); // write cpool_index
     }
 
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return super.size() + 2;
+    }
+
     public U2 getClassIndex() {
         return classIndex;
     }
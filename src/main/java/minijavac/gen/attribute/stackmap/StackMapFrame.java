@@ -111,6 +111,35 @@ public class StackMapFrame implements Writable {
         }
     }
 
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        int size = 1;
+        if (frameType == 255) {
+            size += 6;
+            for (VariableInfo local : locals) {
+                size += local.size();
+            }
+            if (operands != null) {
+                for (VariableInfo operand : operands) {
+                    size += operand.size();
+                }
+            }
+        } else if (frameType > 63 && frameType < 128) {
+            size += operands.get(0).size();
+        } else if (frameType > 247) {
+            size += 2;
+            if (frameType > 251) {
+                for (VariableInfo local : locals) {
+                    size += local.size();
+                }
+            }
+        }
+        return size;
+    }
+
     public int getFrameType() {
         return frameType;
     }
@@ -9,7 +9,6 @@ import minijavac.gen.instruction.ArrType;
 import minijavac.gen.instruction.BranchInstruction;
 import minijavac.gen.instruction.Instruction;
 
-import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.*;
@@ -502,18 +501,28 @@ public class StackMapTableAttribute extends Attribute {
         // short-circuit if no frames added
         if (frames.isEmpty()) return;
 
-        // first, write frames to separate byte stream to determine attribute length, then write to given byte stream
-        try (ByteArrayOutputStream framesByteStream = new ByteArrayOutputStream();
-             DataOutputStream framesStream = new DataOutputStream(framesByteStream)) {
-            U2.of(frames.size()).writeTo(framesStream);         // write number_of_entries
-            for (StackMapFrame frame : frames) {                // write entries
-                frame.writeTo(framesStream);
-            }
+        setAttributeLength(U4.of(contentSize()));    // set attribute_length
+        super.writeTo(stream);                       // write attribute_name_index, attribute_length
+
+        U2.of(frames.size()).writeTo(stream);        // write number_of_entries
+        for (StackMapFrame frame : frames) {         // write entries
+            frame.writeTo(stream);
+        }
+    }
 
-            setAttributeLength(U4.of(framesByteStream.size())); // set attribute_length
-            super.writeTo(stream);                              // write attribute_name_index, attribute_length
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}, which is zero if no frames were added
+     */
+    @Override
+    public int size() {
+        return frames.isEmpty() ? 0 : 6 + contentSize();
+    }
 
-            framesByteStream.writeTo(stream);                   // write attribute contents
+    private int contentSize() {
+        int size = 2;
+        for (StackMapFrame frame : frames) {
+            size += frame.size();
         }
+        return size;
     }
 }
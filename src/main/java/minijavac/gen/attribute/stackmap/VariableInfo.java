@@ -49,4 +49,12 @@ public class VariableInfo implements Writable {
     public void writeTo(DataOutputStream stream) throws IOException {
         stream.writeByte(typeTag.getVal()); // write tag
     }
+
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return 1;
+    }
 }
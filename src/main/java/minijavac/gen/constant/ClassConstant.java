@@ -29,6 +29,14 @@ public class ClassConstant extends ConstantEntry {
         nameIndex.writeTo(stream); // write name_index
     }
 
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return super.size() + 2;
+    }
+
     public U2 getNameIndex() {
         return nameIndex;
     }
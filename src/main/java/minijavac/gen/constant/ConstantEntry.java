@@ -32,4 +32,12 @@ public abstract class ConstantEntry implements Writable {
     public void writeTo(DataOutputStream stream) throws IOException {
         stream.writeByte(tag.getVal());
     }
+
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return 1;
+    }
 }
@@ -5,6 +5,8 @@ import minijavac.ast.FieldDecl;
 import minijavac.ast.MethodDecl;
 import minijavac.gen._byte.U2;
 import minijavac.gen.file.Writable;
+import minijavac.syntax.Name;
+import minijavac.syntax.Names;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -32,15 +34,29 @@ public class ConstantPool implements Writable {
     private final List<ConstantEntry> constantPool;
 
     private final Map<String, U2> utfConstantMap;
+    private final Map<Name, U2> nameConstantMap;
     private final Map<Integer, U2> intConstantMap;
     private final Map<Integer, U2> floatConstantMap;
     private final Map<String, U2> classConstantMap;
-    private final Map<String, U2> refConstantMap;
+    private final Map<RefKey, U2> refConstantMap;
     private final Map<String, U2> nameAndTypeConstantMap;
 
-    public ConstantPool() {
+    /*
+    * Name table of the compilation, for class names that aren't taken from a declaration.
+    * */
+    private final Names names;
+
+    /**
+     * Cache key for {@link RefConstant} entries - member names are either a {@link Name} or, for special methods like
+     * {@code <init>}, a {@link String}.
+     */
+    private record RefKey(Name className, Object refName, String descriptor) {}
+
+    public ConstantPool(Names names) {
+        this.names = names;
         this.constantPool = new ArrayList<>();
         this.utfConstantMap = new HashMap<>();
+        this.nameConstantMap = new HashMap<>();
         this.intConstantMap = new HashMap<>();
         this.floatConstantMap = new HashMap<>();
         this.classConstantMap = new HashMap<>();
@@ -116,8 +132,8 @@ public class ConstantPool implements Writable {
      * @return entry index
      */
     public U2 addFieldRefConstant(FieldDecl fieldDecl) {
-        return addRefConstant(RefConstant.field(), fieldDecl.classDecl.id.contents,
-                fieldDecl.id.contents, fieldDecl.type.descriptor());
+        return addRefConstant(RefConstant.field(), fieldDecl.classDecl.id.name,
+                fieldDecl.id.name, fieldDecl.type.descriptor());
     }
 
     /**
@@ -128,8 +144,8 @@ public class ConstantPool implements Writable {
      * @return entry index
      */
     public U2 addMethodRefConstant(MethodDecl methodDecl) {
-        return addRefConstant(RefConstant.method(), methodDecl.classDecl.id.contents,
-                methodDecl.id.contents, methodDecl.descriptor());
+        return addRefConstant(RefConstant.method(), methodDecl.classDecl.id.name,
+                methodDecl.id.name, methodDecl.descriptor());
     }
 
     /**
@@ -141,7 +157,7 @@ public class ConstantPool implements Writable {
      * @return entry index
      */
     public U2 addConstructorMethodRefConstant(MethodDecl methodDecl) {
-        return addRefConstant(RefConstant.method(), methodDecl.classDecl.id.contents,
+        return addRefConstant(RefConstant.method(), methodDecl.classDecl.id.name,
                 "<init>", methodDecl.descriptor());
     }
 
@@ -156,7 +172,7 @@ public class ConstantPool implements Writable {
      * @return entry index
      */
     public U2 addMethodRefConstant(String className, String refName, String descriptor) {
-        return addRefConstant(RefConstant.method(), className, refName, descriptor);
+        return addRefConstant(RefConstant.method(), names.fromString(className), refName, descriptor);
     }
 
     /**
@@ -167,17 +183,17 @@ public class ConstantPool implements Writable {
      * Note: if entry for member already exists in the constant pool, index of existing entry is returned.
      * @param refConstant ref constant object (only tag is set)
      * @param className   class name
-     * @param refName     member name
+     * @param refName     member name ({@link Name} or {@link String})
      * @param descriptor  member descriptor
      * @return entry index
      */
-    private U2 addRefConstant(RefConstant refConstant, String className, String refName, String descriptor) {
-        String key = className + refName + descriptor;
+    private U2 addRefConstant(RefConstant refConstant, Name className, Object refName, String descriptor) {
+        RefKey key = new RefKey(className, refName, descriptor);
         U2 refIndex = refConstantMap.get(key);
         if (refIndex != null) return refIndex;
 
         refIndex = addConstant(refConstant);
-        refConstant.setClassIndex(addClassConstant(className));
+        refConstant.setClassIndex(addClassConstant(className.toString()));
         refConstant.setNameAndTypeIndex(addNameAndTypeConstant(refName, descriptor));
         refConstantMap.put(key, refIndex);
         return refIndex;
@@ -191,14 +207,14 @@ public class ConstantPool implements Writable {
      * @param descriptor member descriptor
      * @return entry index
      */
-    public U2 addNameAndTypeConstant(String name, String descriptor) {
+    public U2 addNameAndTypeConstant(Object name, String descriptor) {
         String key = name + descriptor;
         U2 nameAndTypeIndex = nameAndTypeConstantMap.get(key);
         if (nameAndTypeIndex != null) return nameAndTypeIndex;
 
         NameAndTypeConstant nameAndTypeConstant = new NameAndTypeConstant();
         nameAndTypeIndex = addConstant(nameAndTypeConstant);
-        nameAndTypeConstant.setNameIndex(addUTFConstant(name));
+        nameAndTypeConstant.setNameIndex(name instanceof Name n ? addUTFConstant(n) : addUTFConstant((String) name));
         nameAndTypeConstant.setDescriptorIndex(addUTFConstant(descriptor));
         nameAndTypeConstantMap.put(key, nameAndTypeIndex);
         return nameAndTypeIndex;
@@ -219,6 +235,22 @@ public class ConstantPool implements Writable {
         return index;
     }
 
+    /**
+     * Adds a {@link UTF8Constant} entry for the given {@link Name} to the constant pool.
+     * <br><br>
+     * Entries for names are cached by the (interned) {@link Name} itself, so repeated references to the same member or
+     * class name are resolved without hashing its characters.
+     * @param name name
+     * @return entry index
+     */
+    public U2 addUTFConstant(Name name) {
+        U2 index = nameConstantMap.get(name);
+        if (index != null) return index;
+        index = addUTFConstant(name.toString());
+        nameConstantMap.put(name, index);
+        return index;
+    }
+
     /**
      * Adds a {@link IntConstant} entry for the given integer to the constant pool.
      * <br><br>
@@ -262,4 +294,16 @@ public class ConstantPool implements Writable {
             constantEntry.writeTo(stream);
         }
     }
+
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        int size = 2;
+        for (ConstantEntry constantEntry : constantPool) {
+            size += constantEntry.size();
+        }
+        return size;
+    }
 }
@@ -26,4 +26,12 @@ public class IntConstant extends ConstantEntry {
         super.writeTo(stream); // write tag
         bytes.writeTo(stream); // write bytes
     }
+
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return super.size() + 4;
+    }
 }
@@ -35,6 +35,14 @@ public class NameAndTypeConstant extends ConstantEntry {
         descriptorIndex.writeTo(stream); // write descriptor_index
     }
 
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return super.size() + 4;
+    }
+
     public U2 getNameIndex() {
         return nameIndex;
     }
@@ -53,6 +53,14 @@ public class RefConstant extends ConstantEntry {
         nameAndTypeIndex.writeTo(stream); // write name_and_type_index
     }
 
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return super.size() + 4;
+    }
+
     public U2 getClassIndex() {
         return classIndex;
     }
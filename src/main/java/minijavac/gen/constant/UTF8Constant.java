@@ -25,6 +25,20 @@ public class UTF8Constant extends ConstantEntry {
         stream.writeUTF(str);  // write length, bytes[]
     }
 
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        // length of the modified UTF-8 encoding written by writeUTF, in which null is encoded as two bytes
+        int length = str.length();
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == 0 || c > 0x7F) length += c > 0x7FF ? 2 : 1;
+        }
+        return super.size() + 2 + length;
+    }
+
     public String getStr() {
         return str;
     }
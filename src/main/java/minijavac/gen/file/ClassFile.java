@@ -7,9 +7,11 @@ import minijavac.gen._byte.U4;
 import minijavac.gen.attribute.Attribute;
 import minijavac.gen.attribute.CodeAttribute;
 import minijavac.gen.attribute.SourceFileAttribute;
+import minijavac.syntax.Names;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,11 +36,11 @@ public class ClassFile implements Writable {
     private Path sourceFilePath;
 
 
-    public ClassFile(String className) {
+    public ClassFile(String className, Names names) {
         magic = U4.of(0xCAFEBABE);
         majorVersion = U2.of(61); // Java 17
         minorVersion = U2.of(0);
-        constantPool = new ConstantPool();
+        constantPool = new ConstantPool(names);
         this.className = className;
         /*
         * "In Java SE 8 and above, the Java Virtual Machine considers the ACC_SUPER flag to be set in every class file,
@@ -79,6 +81,70 @@ public class ClassFile implements Writable {
         }
     }
 
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        // magic and versions, constant pool, access flags, this and super class, interfaces_count
+        int size = 8 + constantPool.size() + 8;
+        size += 2;
+        for (FieldEntry fieldEntry : fields) {
+            size += fieldEntry.size();
+        }
+        size += 2;
+        for (MethodEntry methodEntry : methods) {
+            size += methodEntry.size();
+        }
+        size += 2;
+        for (Attribute attribute : attributes) {
+            size += attribute.size();
+        }
+        return size;
+    }
+
+    /**
+     * Serializes the class file into a single array of exactly {@link #size()} bytes, without any intermediate
+     * buffering or copying.
+     * @return class file bytes
+     * @throws IOException class file unable to be serialized
+     */
+    public byte[] toByteArray() throws IOException {
+        FixedOutputStream out = new FixedOutputStream(size());
+        writeTo(new DataOutputStream(out));
+        if (out.count != out.bytes.length) {
+            throw new IllegalStateException(String.format("class file %s: expected %d bytes, but %d were written",
+                    className, out.bytes.length, out.count));
+        }
+        return out.bytes;
+    }
+
+    /**
+     * Output stream over a fixed-size array, which refuses to write past its end.
+     */
+    private static class FixedOutputStream extends OutputStream {
+
+        private final byte[] bytes;
+        private int count;
+
+        FixedOutputStream(int size) {
+            this.bytes = new byte[size];
+        }
+
+        @Override
+        public void write(int b) {
+            if (count == bytes.length) throw new IndexOutOfBoundsException("class file larger than its size");
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (len > bytes.length - count) throw new IndexOutOfBoundsException("class file larger than its size");
+            System.arraycopy(b, off, bytes, count, len);
+            count += len;
+        }
+    }
+
     /**
      * Adds a {@link SourceFileAttribute} to the class file.
      * @param file source file name
@@ -100,8 +166,8 @@ public class ClassFile implements Writable {
         MethodEntry methodEntry = new MethodEntry();
         methodEntry.setAccessFlags(AccessFlag.mask(methodDecl));
 
-        String methodName = methodDecl.isConstructor() ? "<init>" : methodDecl.id.contents;
-        methodEntry.setNameIndex(constantPool.addUTFConstant(methodName));
+        methodEntry.setNameIndex(methodDecl.isConstructor() ? constantPool.addUTFConstant("<init>") :
+                constantPool.addUTFConstant(methodDecl.id.name));
         methodEntry.setDescriptorIndex(constantPool.addUTFConstant(methodDecl.descriptor()));
         methodEntry.setCodeAttribute(CodeAttribute.create(constantPool, methodDecl));
 
@@ -28,6 +28,14 @@ public class FieldEntry extends MemberEntry {
         }
     }
 
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return super.size() + 2 + (constantValueAttribute != null ? constantValueAttribute.size() : 0);
+    }
+
     public ConstantValueAttribute getConstantValueAttribute() {
         return constantValueAttribute;
     }
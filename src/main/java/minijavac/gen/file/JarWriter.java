@@ -0,0 +1,100 @@
+package minijavac.gen.file;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * <pre>
+ * Packages serialized {@link ClassFile} instances into a jar file, as they're added - without ever writing them to
+ * disk individually.
+ *
+ * Entries are written in the order they're added, preceded by a manifest, and every entry carries the same fixed
+ * timestamp - so compiling the same classes, added in the same order, always produces a byte-for-byte identical jar.
+ *
+ * A compression level of 0 stores entries as-is, skipping deflate entirely, which is the fastest option when the jar's
+ * size doesn't matter. Levels 1 to 9 trade speed for size, as with {@link Deflater}.
+ * </pre>
+ */
+public class JarWriter implements AutoCloseable {
+
+    public static final int DEFAULT_LEVEL = 6;
+
+    /*
+    * Timestamp given to every entry - the earliest time representable in a zip file.
+    * */
+    private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 1, 1, 0, 0);
+
+    private final JarOutputStream jar;
+    private final boolean stored;
+
+    /**
+     * Creates (or truncates) the given jar file, and writes its manifest.
+     * @param file  jar file path
+     * @param level compression level, from 0 (stored) to 9
+     * @throws IOException file unable to be written
+     */
+    public JarWriter(Path file, int level) throws IOException {
+        if (level < 0 || level > 9) {
+            throw new IllegalArgumentException(String.format("invalid compression level: %d", level));
+        }
+        this.stored = level == 0;
+        this.jar = new JarOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        if (!stored) jar.setLevel(level);
+
+        // written by hand rather than passed to the JarOutputStream, which would stamp it with the current time
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(new Attributes.Name("Created-By"), "minijavac");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        manifest.write(bytes);
+        try {
+            add(JarFile.MANIFEST_NAME, bytes.toByteArray());
+        } catch (IOException ex) {
+            jar.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Adds a class file to the jar.
+     * @param className class name
+     * @param bytes     serialized class file, as returned by {@link ClassFile#toByteArray()}
+     * @throws IOException jar unable to be written
+     */
+    public void addClass(String className, byte[] bytes) throws IOException {
+        add(String.format("%s.class", className), bytes);
+    }
+
+    private void add(String name, byte[] bytes) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTimeLocal(ENTRY_TIME);
+        if (stored) {
+            // stored entries must declare their size and checksum up front
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(bytes.length);
+            entry.setCompressedSize(bytes.length);
+            entry.setCrc(crc.getValue());
+        }
+        jar.putNextEntry(entry);
+        jar.write(bytes);
+        jar.closeEntry();
+    }
+
+    @Override
+    public void close() throws IOException {
+        jar.close();
+    }
+}
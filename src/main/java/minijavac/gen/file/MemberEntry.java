@@ -38,6 +38,14 @@ public abstract class MemberEntry implements Writable {
         descriptorIndex.writeTo(stream); // write descriptor_index
     }
 
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return 6;
+    }
+
     public U2 getAccessFlags() {
         return accessFlags;
     }
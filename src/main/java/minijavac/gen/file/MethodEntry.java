@@ -28,6 +28,14 @@ public class MethodEntry extends MemberEntry {
         codeAttribute.writeTo(stream); // write Code_attribute
     }
 
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return super.size() + 2 + codeAttribute.size();
+    }
+
     public CodeAttribute getCodeAttribute() {
         return codeAttribute;
     }
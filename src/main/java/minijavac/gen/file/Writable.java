@@ -4,10 +4,18 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 
 /**
- * Interface implemented by {@link ClassFile} and all its components, with a single method {@link #writeTo(DataOutputStream)}
+ * Interface implemented by {@link ClassFile} and all its components, with a method {@link #writeTo(DataOutputStream)}
  * that should convert the component's internal state into its Java bytecode representation and write it to the
  * {@link DataOutputStream}.
+ * <br><br>
+ * Each component also reports the exact number of bytes it writes via {@link #size()}, so that attribute lengths can be
+ * written ahead of their contents, and a whole class file can be serialized into a buffer of exactly the right size.
  */
 public interface Writable {
     void writeTo(DataOutputStream stream) throws IOException;
+
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    int size();
 }
@@ -91,6 +91,14 @@ public class Instruction implements Writable {
         }
     }
 
+    /**
+     * @return number of bytes written by {@link #writeTo(DataOutputStream)}
+     */
+    @Override
+    public int size() {
+        return getSize();
+    }
+
     public OpCode getOpCode() {
         return opCode;
     }
@@ -0,0 +1,49 @@
+package minijavac.listener;
+
+import minijavac.err.CompileError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <pre>
+ * {@link Listener} implementation that holds on to errors, so that they can later be replayed into another listener.
+ *
+ * Used when files are parsed in parallel - each parse task logs to its own buffer, which is only ever touched by one
+ * thread at a time, and the buffers are then replayed on a single thread in a fixed order. This keeps the shared
+ * listener free of synchronization, and its errors in the same order regardless of how tasks were scheduled.
+ * </pre>
+ */
+public class BufferingListener extends AbstractListener {
+
+    private final List<CompileError> errors;
+
+    public BufferingListener() {
+        errors = new ArrayList<>();
+    }
+
+    @Override
+    public void err(CompileError err) {
+        if (!ignore) errors.add(err);
+    }
+
+    @Override
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    @Override
+    public int getErrCnt() {
+        return errors.size();
+    }
+
+    /**
+     * Logs every buffered error to the given listener, in the order they were received.
+     * @param listener target listener
+     */
+    public void replay(Listener listener) {
+        for (CompileError err : errors) {
+            listener.err(err);
+        }
+    }
+}
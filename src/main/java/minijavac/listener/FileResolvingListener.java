@@ -0,0 +1,45 @@
+package minijavac.listener;
+
+import minijavac.err.CompileError;
+import minijavac.syntax.FileTable;
+
+/**
+ * <pre>
+ * {@link Listener} decorator that resolves the file of each error against the {@link FileTable} of the compilation it
+ * occurred in, before passing the error on.
+ *
+ * Errors only carry a packed position, and file ids are only meaningful within the compilation that assigned them - so
+ * the file is resolved on the way into the listener, while the table is still at hand.
+ * </pre>
+ */
+public class FileResolvingListener implements Listener {
+
+    private final Listener listener;
+    private final FileTable files;
+
+    public FileResolvingListener(Listener listener, FileTable files) {
+        this.listener = listener;
+        this.files = files;
+    }
+
+    @Override
+    public void err(CompileError err) {
+        err.resolveFile(files);
+        listener.err(err);
+    }
+
+    @Override
+    public boolean hasErrors() {
+        return listener.hasErrors();
+    }
+
+    @Override
+    public int getErrCnt() {
+        return listener.getErrCnt();
+    }
+
+    @Override
+    public void setIgnore(boolean ignore) {
+        listener.setIgnore(ignore);
+    }
+}
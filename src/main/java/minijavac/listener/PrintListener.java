@@ -2,9 +2,11 @@ package minijavac.listener;
 
 import minijavac.err.CompileError;
 
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.LineNumberReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 
@@ -31,8 +33,8 @@ public class PrintListener extends AbstractListener {
     public void err(CompileError err) {
         if (ignore) return;
 
-        Path file = err.getPos().file();
-        int line = err.getPos().line();
+        Path file = err.getFile();
+        int line = err.getLine();
         if (!errors.containsKey(file)) {
             errors.put(file, new TreeMap<>());
         }
@@ -66,7 +68,9 @@ public class PrintListener extends AbstractListener {
 
     private void printErrors(Path file) {
         SortedMap<Integer, List<CompileError>> lineMap = errors.get(file);
-        try (LineNumberReader reader = new LineNumberReader(new FileReader(file.toString()))) {
+        // decode as the scanner does, substituting malformed input rather than failing on it
+        try (LineNumberReader reader = new LineNumberReader(
+                new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8))) {
             String line;
 
             while ((line = reader.readLine()) != null) {
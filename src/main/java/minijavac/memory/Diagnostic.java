@@ -0,0 +1,29 @@
+package minijavac.memory;
+
+import minijavac.err.CompileError;
+import minijavac.syntax.Position;
+
+/**
+ * Structured form of a {@link CompileError}, as returned by {@link MemoryCompiler}.
+ * @param file    name of the source file the error occurred in, or null if it doesn't refer to any source
+ * @param line    line within the file, starting at 1 (0 if there is no file)
+ * @param column  column within the line, starting at 1 (0 if there is no file)
+ * @param message error message
+ */
+public record Diagnostic(String file, int line, int column, String message) {
+
+    static Diagnostic of(CompileError err) {
+        Position pos = err.getPos();
+        if (pos == null) return new Diagnostic(null, 0, 0, err.getMsg());
+        return new Diagnostic(pos.file().toString(), pos.line(), pos.offset() + 1, err.getMsg());
+    }
+
+    /**
+     * @return diagnostic in the javac format, i.e. {@code Test.java:1: error: '<identifier>' expected}
+     */
+    @Override
+    public String toString() {
+        if (file == null) return String.format("error: %s", message);
+        return String.format("%s:%d: error: %s", file, line, message);
+    }
+}
@@ -0,0 +1,56 @@
+package minijavac.memory;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * <pre>
+ * {@link ClassLoader} that defines classes from serialized class files held in memory, such as those compiled by a
+ * {@link MemoryCompiler}.
+ *
+ * Follows the usual parent-first delegation, so a class is only defined from memory if the parent can't find it. The
+ * default parent is the platform class loader, which keeps the compiled classes isolated from the application's own
+ * classpath while still giving them the standard library.
+ * </pre>
+ */
+public class MemoryClassLoader extends ClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private final Map<String, byte[]> classes;
+
+    /**
+     * @param classes serialized class files, keyed by class name
+     */
+    public MemoryClassLoader(Map<String, byte[]> classes) {
+        this(classes, ClassLoader.getPlatformClassLoader());
+    }
+
+    /**
+     * @param classes serialized class files, keyed by class name
+     * @param parent  parent class loader
+     */
+    public MemoryClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
+        super(parent);
+        this.classes = Map.copyOf(classes);
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] bytes = classes.get(name);
+        if (bytes == null) throw new ClassNotFoundException(name);
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        InputStream stream = super.getResourceAsStream(name);
+        if (stream != null || !name.endsWith(".class")) return stream;
+
+        byte[] bytes = classes.get(name.substring(0, name.length() - ".class".length()));
+        return bytes != null ? new ByteArrayInputStream(bytes) : null;
+    }
+}
@@ -0,0 +1,130 @@
+package minijavac.memory;
+
+import minijavac.Compiler;
+import minijavac.ast.ClassDecl;
+import minijavac.cli.Args;
+import minijavac.err.CompileError;
+import minijavac.listener.Listener;
+import minijavac.listener.SimpleListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <pre>
+ * Programmatic entry point to the {@link Compiler}, which compiles sources held in memory into class files held in
+ * memory - no file is ever read or written.
+ *
+ * Sources are keyed by file name, i.e. {@code Test.java}. A class referenced by one of the sources, but not declared in
+ * the same file, is looked up by the same name as it would be on disk - {@code Foo} is expected in {@code Foo.java}.
+ *
+ * Compilations are independent of each other, so a single instance can be used to compile from any number of threads
+ * at once. Each compilation interns its identifiers and registers its files in tables of its own, which are dropped
+ * once it completes - so a long-lived instance holds on to nothing from the sources it has compiled. The resulting
+ * class files can be loaded through a {@link MemoryClassLoader}.
+ *
+ * Example:
+ *
+ * {@code Result result = new MemoryCompiler().compile(Map.of("Test.java", source));}
+ * {@code if (result.succeeded()) new MemoryClassLoader(result.classes()).loadClass("Test");}
+ * </pre>
+ */
+public class MemoryCompiler {
+
+    private final int threads;
+    private final boolean jrtStdLib;
+
+    /**
+     * Creates a compiler that compiles each set of sources on a single thread - the best fit when many small sets of
+     * sources are being compiled at once.
+     */
+    public MemoryCompiler() {
+        this(1);
+    }
+
+    /**
+     * @param threads number of threads used to compile each set of sources (0 for one per processor)
+     */
+    public MemoryCompiler(int threads) {
+        this(threads, false);
+    }
+
+    /**
+     * @param threads   number of threads used to compile each set of sources (0 for one per processor)
+     * @param jrtStdLib whether to resolve standard library classes from the running JDK, rather than the bundled
+     *                  subset - see {@link minijavac.utils.JrtStandardLibrary}
+     */
+    public MemoryCompiler(int threads, boolean jrtStdLib) {
+        if (threads < 0) {
+            throw new IllegalArgumentException(String.format("invalid number of threads: %d", threads));
+        }
+        this.threads = threads;
+        this.jrtStdLib = jrtStdLib;
+    }
+
+    /**
+     * Outcome of a compilation.
+     * @param classes     serialized class files keyed by class name, in the order the classes were declared - empty if
+     *                    any errors occurred
+     * @param diagnostics errors, in the order they were reported
+     */
+    public record Result(Map<String, byte[]> classes, List<Diagnostic> diagnostics) {
+
+        public boolean succeeded() {
+            return diagnostics.isEmpty();
+        }
+    }
+
+    /**
+     * Compiles the given sources.
+     * @param sources source text of each file, keyed by file name
+     * @return compiled classes and diagnostics
+     * @throws IOException interrupted while compiling
+     */
+    public Result compile(Map<String, ? extends CharSequence> sources) throws IOException {
+        Map<Path, ByteBuffer> encoded = new LinkedHashMap<>();
+        for (Map.Entry<String, ? extends CharSequence> source : sources.entrySet()) {
+            if (!source.getKey().endsWith(".java")) {
+                throw new IllegalArgumentException(String.format("invalid source file: %s", source.getKey()));
+            }
+            encoded.put(Path.of(source.getKey()), StandardCharsets.UTF_8.encode(CharBuffer.wrap(source.getValue())));
+        }
+
+        Args args = new Args();
+        args.files = new ArrayList<>(encoded.keySet());
+        args.sourcePath = Path.of("");
+        args.threads = threads;
+        args.jrtStdLib = jrtStdLib;
+
+        SimpleListener listener = new SimpleListener();
+        Map<String, byte[]> classFiles;
+        try (Compiler compiler = newCompiler(listener, args, encoded)) {
+            List<ClassDecl> classes = compiler.prepare();
+            classFiles = listener.hasErrors() ? Map.of() : compiler.serialize(classes);
+        }
+
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        for (CompileError err : listener.getErrors()) {
+            diagnostics.add(Diagnostic.of(err));
+        }
+        return new Result(classFiles, diagnostics);
+    }
+
+    /**
+     * Creates the {@link Compiler} for a single compilation - overridable, i.e. to inspect it once it completes.
+     * @param listener error listener
+     * @param args     compiler arguments
+     * @param sources  encoded contents of each source file, keyed by path
+     * @return compiler
+     */
+    protected Compiler newCompiler(Listener listener, Args args, Map<Path, ByteBuffer> sources) {
+        return new Compiler(listener, args, sources);
+    }
+}
@@ -0,0 +1,89 @@
+package minijavac.syntax;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <pre>
+ * Table of the source files of a compilation, handing out the file ids that packed positions (see {@link Position})
+ * refer to.
+ *
+ * Each compilation owns its own table, so ids are only meaningful within the compilation that assigned them - and are
+ * dropped along with the rest of its state once it completes. A position is expanded against the table it was packed
+ * with, via {@link #position(long)}.
+ *
+ * Files may be scanned concurrently, so only registering a new file takes the lock. Looking up a file's id, or the file
+ * an id refers to, never does: ids are published through a concurrent map, and files through an array that's only
+ * ever appended to, with a larger copy swapped in when it fills up. Any thread holding an id obtained it after the file
+ * was stored, so it's always visible.
+ * </pre>
+ */
+public class FileTable {
+
+    private final Map<Path, Integer> ids = new ConcurrentHashMap<>();
+
+    /*
+    * Files indexed by id - slot 0 is left empty, so that NOPOS never refers to a file.
+    * */
+    private volatile Path[] files = new Path[16];
+
+    /*
+    * Next id to hand out, guarded by the lock.
+    * */
+    private int next = 1;
+
+    /**
+     * Returns the id of the given file, registering it first if it hasn't been seen before.
+     * @param file file path
+     * @return file id, for use in {@link Position#pack(int, int, int)}
+     */
+    public int id(Path file) {
+        Integer id = ids.get(file);
+        return id != null ? id : register(file);
+    }
+
+    private synchronized int register(Path file) {
+        Integer id = ids.get(file);
+        if (id != null) return id;
+
+        if (next > Position.MAX_FILE_ID) {
+            throw new IllegalStateException("too many source files");
+        }
+        Path[] tab = files;
+        if (next == tab.length) {
+            tab = Arrays.copyOf(tab, tab.length << 1);
+        }
+        tab[next] = file;
+        files = tab;
+        ids.put(file, next);
+        return next++;
+    }
+
+    /**
+     * @param pos packed position
+     * @return file the position refers to, or null for {@link Position#NOPOS}
+     */
+    public Path file(long pos) {
+        int id = Position.fileId(pos);
+        return id != 0 ? files[id] : null;
+    }
+
+    /**
+     * Expands a packed position into a {@link Position}.
+     * @param pos packed position
+     * @return position, or null for {@link Position#NOPOS}
+     */
+    public Position position(long pos) {
+        if (pos == Position.NOPOS) return null;
+        return new Position(file(pos), Position.line(pos), Position.offset(pos));
+    }
+
+    /**
+     * @return number of files registered so far
+     */
+    public int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,97 @@
+package minijavac.syntax;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * <pre>
+ * Perfect hash table of every keyword {@link TokenKind}, used by the {@link Scanner} to classify a scanned word directly
+ * from its raw bytes.
+ *
+ * Each keyword is keyed by its first, second, and last characters and its length - which are distinct across all
+ * keywords - and hashed multiplicatively into a 64 slot table. The multiplier is searched for when this class is
+ * initialized, so adding a keyword to {@link TokenKind} requires no changes here.
+ *
+ * A lookup costs one hash computation and, on a hit, a single byte-wise comparison against the keyword's spelling.
+ * </pre>
+ */
+final class Keywords {
+
+    private static final int BITS = 6;
+
+    private static final TokenKind[] table = new TokenKind[1 << BITS];
+    private static final int seed;
+
+    /*
+    * Lengths of the shortest and longest keywords - any other word can't be one.
+    * */
+    private static final int minLength;
+    private static final int maxLength;
+
+    static {
+        TokenKind[] keywords = Arrays.stream(TokenKind.values())
+                .filter(tk -> tk.getSpelling() != null && Character.isLetter(tk.getSpelling().charAt(0)))
+                .toArray(TokenKind[]::new);
+        minLength = Arrays.stream(keywords).mapToInt(kind -> kind.getSpelling().length()).min().orElseThrow();
+        maxLength = Arrays.stream(keywords).mapToInt(kind -> kind.getSpelling().length()).max().orElseThrow();
+        seed = findSeed(keywords);
+        for (TokenKind kind : keywords) {
+            table[slot(key(kind.getSpelling()), seed)] = kind;
+        }
+    }
+
+    private Keywords() {}
+
+    /**
+     * Classifies the word occupying the given range of the buffer.
+     * @param buf   source buffer
+     * @param start index of the word's first byte
+     * @param len   length of the word
+     * @return keyword kind, or {@link TokenKind#IDENTIFIER} if the word is not a keyword
+     */
+    static TokenKind lookup(ByteBuffer buf, int start, int len) {
+        if (len < minLength || len > maxLength) return TokenKind.IDENTIFIER;
+
+        int key = key(buf.get(start), buf.get(start + 1), buf.get(start + len - 1), len);
+        TokenKind kind = table[slot(key, seed)];
+        if (kind == null) return TokenKind.IDENTIFIER;
+
+        String spelling = kind.getSpelling();
+        if (spelling.length() != len) return TokenKind.IDENTIFIER;
+        for (int i = 0; i < len; i++) {
+            if (spelling.charAt(i) != buf.get(start + i)) return TokenKind.IDENTIFIER;
+        }
+        return kind;
+    }
+
+    private static int findSeed(TokenKind[] keywords) {
+        boolean[] used = new boolean[1 << BITS];
+        for (int candidate = 1; candidate > 0; candidate += 2) {
+            Arrays.fill(used, false);
+            boolean perfect = true;
+            for (TokenKind kind : keywords) {
+                int slot = slot(key(kind.getSpelling()), candidate);
+                if (used[slot]) {
+                    perfect = false;
+                    break;
+                }
+                used[slot] = true;
+            }
+            if (perfect) return candidate;
+        }
+        throw new IllegalStateException("no perfect hash for keywords");
+    }
+
+    private static int key(String spelling) {
+        int len = spelling.length();
+        return key((byte) spelling.charAt(0), (byte) spelling.charAt(1), (byte) spelling.charAt(len - 1), len);
+    }
+
+    private static int key(byte first, byte second, byte last, int len) {
+        return (len << 24) ^ ((first & 0xFF) << 16) ^ ((second & 0xFF) << 8) ^ (last & 0xFF);
+    }
+
+    private static int slot(int key, int seed) {
+        return (key * seed) >>> (32 - BITS);
+    }
+}
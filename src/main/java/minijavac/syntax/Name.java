@@ -0,0 +1,46 @@
+package minijavac.syntax;
+
+/**
+ * Canonical representation of an identifier's spelling, as interned by {@link Names}.
+ * <br><br>
+ * Only one {@code Name} instance ever exists per distinct spelling within a table, so names can be compared by
+ * reference and hashed by their {@link #id}, rather than re-hashing and comparing the underlying characters. Names from
+ * different tables (i.e. different compilations) must never be mixed.
+ */
+public final class Name {
+
+    /**
+     * Stable identifier for this name, assigned sequentially within its table.
+     */
+    public final int id;
+
+    private final String str;
+
+    /*
+    * Hash of the spelling (same as String#hashCode), used only when probing the name table.
+    * */
+    final int hash;
+
+    Name(int id, String str, int hash) {
+        this.id = id;
+        this.str = str;
+        this.hash = hash;
+    }
+
+    /**
+     * @return number of characters in the name
+     */
+    public int length() {
+        return str.length();
+    }
+
+    @Override
+    public int hashCode() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return str;
+    }
+}
@@ -0,0 +1,173 @@
+package minijavac.syntax;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <pre>
+ * Table of interned {@link Name} instances, filled by the {@link Scanner} as identifiers are scanned.
+ *
+ * Every phase after scanning keys its lookups by {@link Name} rather than {@link String}, so an identifier's characters
+ * are hashed and compared exactly once - when it's first entered into this table. Each compilation owns its own table,
+ * which is dropped along with the rest of the compilation's state once it completes.
+ *
+ * Implemented as an open-addressing hash table, so that a spelling can be looked up directly from the characters being
+ * scanned without first allocating a {@link String}.
+ *
+ * Files may be scanned concurrently, so the table is read-mostly: lookups probe the current table without locking,
+ * and only a spelling that isn't found takes the lock to be entered. The table is never rehashed in place - a larger
+ * copy is built and swapped in on resize - so a lookup that races with an insert at worst misses, and retries under
+ * the lock.
+ * </pre>
+ */
+public class Names {
+
+    /*
+    * Current table - slots are only ever filled (under the lock), never cleared or moved.
+    * */
+    private volatile Name[] table = new Name[1 << 12];
+
+    /*
+    * Number of names entered so far, guarded by the lock.
+    * */
+    private int size;
+
+    /**
+     * Retrieves the canonical {@link Name} for the given spelling, entering it into the table if necessary.
+     * @param str spelling
+     * @return canonical name
+     */
+    public Name fromString(String str) {
+        return fromChars(str);
+    }
+
+    /**
+     * Retrieves the canonical {@link Name} for the given characters, entering it into the table if necessary.
+     * <br><br>
+     * A {@link String} is only allocated if the spelling has not been seen before.
+     * @param chars spelling
+     * @return canonical name
+     */
+    public Name fromChars(CharSequence chars) {
+        int hash = hash(chars);
+        Name name = lookup(table, hash, chars);
+        return name != null ? name : enter(hash, chars);
+    }
+
+    /**
+     * Retrieves the canonical {@link Name} for the (ASCII) spelling occupying the given range of a buffer, entering it
+     * into the table if necessary.
+     * <br><br>
+     * A {@link String} is only allocated if the spelling has not been seen before.
+     * @param buf   source buffer
+     * @param start index of the spelling's first byte
+     * @param len   length of the spelling
+     * @return canonical name
+     */
+    public Name fromBytes(ByteBuffer buf, int start, int len) {
+        int hash = 0;
+        for (int i = 0; i < len; i++) {
+            hash = 31 * hash + (buf.get(start + i) & 0xFF);
+        }
+        Name name = lookup(table, hash, buf, start, len);
+        return name != null ? name : enter(hash, buf, start, len);
+    }
+
+    /**
+     * @return number of distinct names entered so far
+     */
+    public synchronized int count() {
+        return size;
+    }
+
+    private synchronized Name enter(int hash, CharSequence chars) {
+        Name name = lookup(table, hash, chars);
+        return name != null ? name : insert(new Name(size, chars.toString(), hash));
+    }
+
+    private synchronized Name enter(int hash, ByteBuffer buf, int start, int len) {
+        Name name = lookup(table, hash, buf, start, len);
+        if (name != null) return name;
+
+        char[] chars = new char[len];
+        for (int j = 0; j < len; j++) {
+            chars[j] = (char) (buf.get(start + j) & 0xFF);
+        }
+        return insert(new Name(size, new String(chars), hash));
+    }
+
+    /*
+    * Called with the lock held, once the name is known to be absent.
+    * */
+    private Name insert(Name name) {
+        Name[] tab = table;
+        place(tab, name);
+        if (++size * 2 > tab.length) {
+            table = grow(tab);
+        }
+        return name;
+    }
+
+    private static Name lookup(Name[] table, int hash, CharSequence chars) {
+        int mask = table.length - 1;
+        for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+            Name name = table[i];
+            if (name == null || (name.hash == hash && equals(name, chars))) return name;
+        }
+    }
+
+    private static Name lookup(Name[] table, int hash, ByteBuffer buf, int start, int len) {
+        int mask = table.length - 1;
+        for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+            Name name = table[i];
+            if (name == null || (name.hash == hash && equals(name, buf, start, len))) return name;
+        }
+    }
+
+    private static int hash(CharSequence chars) {
+        if (chars instanceof String str) return str.hashCode();
+        int h = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            h = 31 * h + chars.charAt(i);
+        }
+        return h;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equals(Name name, CharSequence chars) {
+        String str = name.toString();
+        if (str.length() != chars.length()) return false;
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) != chars.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static boolean equals(Name name, ByteBuffer buf, int start, int len) {
+        String str = name.toString();
+        if (str.length() != len) return false;
+        for (int i = 0; i < len; i++) {
+            if (str.charAt(i) != (buf.get(start + i) & 0xFF)) return false;
+        }
+        return true;
+    }
+
+    private static void place(Name[] table, Name name) {
+        int mask = table.length - 1;
+        int i = spread(name.hash) & mask;
+        while (table[i] != null) {
+            i = (i + 1) & mask;
+        }
+        table[i] = name;
+    }
+
+    private static Name[] grow(Name[] table) {
+        Name[] newTable = new Name[table.length << 1];
+        for (Name name : table) {
+            if (name != null) place(newTable, name);
+        }
+        return newTable;
+    }
+}
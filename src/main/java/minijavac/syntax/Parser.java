@@ -1,12 +1,12 @@
 package minijavac.syntax;
 
+import minijavac.listener.FileResolvingListener;
 import minijavac.listener.Listener;
 import minijavac.ast.*;
 import minijavac.err.CompileError;
 import minijavac.syntax.err.ParseError;
 import minijavac.syntax.err.ExpectedParseError;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -18,14 +18,25 @@ import java.util.Set;
  */
 public class Parser {
 
-    private final Scanner scanner;
+    /*
+    * Cursor positioned at the current token - see TokenCursor for why tokens aren't materialized as objects.
+    * */
+    private final TokenCursor token;
     private final Listener listener;
-    private Token token;
-    private Token prevToken;
 
-    public Parser(Scanner scanner, Listener listener) {
-        this.scanner = scanner;
-        this.listener = listener;
+    /*
+    * Whether method and constructor bodies are skipped rather than parsed, leaving only the class's signatures.
+    * */
+    private final boolean skeleton;
+
+    public Parser(TokenCursor token, Listener listener) {
+        this(token, listener, false);
+    }
+
+    public Parser(TokenCursor token, Listener listener, boolean skeleton) {
+        this.token = token;
+        this.listener = new FileResolvingListener(listener, token.files);
+        this.skeleton = skeleton;
     }
 
     /**
@@ -38,11 +49,10 @@ public class Parser {
      * Errors with the ignore flag set to true (i.e. EOF errors that occur while attempting to sync to next statement)
      * are not logged.
      * </pre>
-     * @throws IOException file unable to be parsed
      */
-    public List<ClassDecl> parse() throws IOException {
+    public List<ClassDecl> parse() {
         try {
-            token = scanner.scan();
+            token.advance();
             return parseFile();
         } catch (CompileError err) {
             if (!err.isIgnore()) listener.err(err);
@@ -50,7 +60,7 @@ public class Parser {
         return null;
     }
 
-    private List<ClassDecl> parseFile() throws CompileError, IOException {
+    private List<ClassDecl> parseFile() throws CompileError {
         List<ClassDecl> classDecls = new ArrayList<>();
 
         while (token.kind != TokenKind.EOF) {
@@ -60,11 +70,10 @@ public class Parser {
         return classDecls;
     }
 
-    private ClassDecl parseClass() throws CompileError, IOException {
-        Position classPos = token.pos;
+    private ClassDecl parseClass() throws CompileError {
+        long classPos = token.pos;
         accept(TokenKind.CLASS);
-        Identifier className = new Identifier(token);
-        accept(TokenKind.IDENTIFIER);
+        Identifier className = acceptIdentifier();
         accept(TokenKind.LCBRACKET);
 
         List<FieldDecl> fieldDeclList = new ArrayList<>();
@@ -79,11 +88,13 @@ public class Parser {
             }
         }
         accept();
-        return new ClassDecl(className, fieldDeclList, methodDeclList, classPos);
+        ClassDecl classDecl = new ClassDecl(className, fieldDeclList, methodDeclList, classPos);
+        classDecl.file = token.file;
+        return classDecl;
     }
 
-    private Declaration parseDeclaration(String className) throws CompileError, IOException {
-        Position pos = token.pos;
+    private Declaration parseDeclaration(String className) throws CompileError {
+        long pos = token.pos;
 
         Set<TokenKind> modifiers = new HashSet<>();
 
@@ -110,8 +121,7 @@ public class Parser {
         if (token.kind == TokenKind.VOID) {
             Type voidType = new BaseType(TypeKind.VOID, token.pos);
             accept();
-            Identifier id = new Identifier(token);
-            accept(TokenKind.IDENTIFIER);
+            Identifier id = acceptIdentifier();
             return parseMethod(access, isStatic, isFinal, voidType, id, pos);
         }
 
@@ -123,8 +133,7 @@ public class Parser {
             return parseConstructor(access, isStatic, isFinal, classType, pos);
         }
 
-        Identifier id = new Identifier(token);
-        accept(TokenKind.IDENTIFIER);
+        Identifier id = acceptIdentifier();
         if (token.kind == TokenKind.SEMICOLON) {
             accept();
             return new FieldDecl(access, isStatic, isFinal, type, id, pos);
@@ -132,45 +141,44 @@ public class Parser {
         return parseMethod(access, isStatic, isFinal, type, id, pos);
     }
 
-    private MethodDecl parseConstructor(Access access, boolean isStatic, boolean isFinal, ClassType type, Position pos)
-            throws CompileError, IOException {
+    private MethodDecl parseConstructor(Access access, boolean isStatic, boolean isFinal, ClassType type, long pos)
+            throws CompileError {
         if (isStatic || isFinal) {
             throw err(String.format("modifier %s%s%s not allowed here", isStatic ? "static" : "",
                     isStatic && isFinal ? "," : "", isFinal ? "final" : ""));
         }
 
         ParameterDeclList parameterDeclList = parseParameterList();
-        List<Statement> statementList = parseStatementList();
+        List<Statement> statementList = parseMethodBody();
 
         FieldDecl fieldDecl = new FieldDecl(access, false, false,
-                new BaseType(TypeKind.VOID, null), type.className, pos);
+                new BaseType(TypeKind.VOID, Position.NOPOS), type.className, pos);
         return new MethodDecl(fieldDecl, parameterDeclList, statementList, true, pos);
     }
 
     private MethodDecl parseMethod(Access access, boolean isStatic, boolean isFinal, Type type, Identifier id,
-                                   Position pos)
-            throws CompileError, IOException {
+                                   long pos)
+            throws CompileError {
         ParameterDeclList parameterDeclList = parseParameterList();
-        List<Statement> statementList = parseStatementList();
+        List<Statement> statementList = parseMethodBody();
 
         return new MethodDecl(new FieldDecl(access, isStatic, isFinal, type, id, pos), parameterDeclList,
                 statementList, false, pos);
     }
 
-    private ParameterDeclList parseParameterList() throws CompileError, IOException {
+    private ParameterDeclList parseParameterList() throws CompileError {
         ParameterDeclList parameterDeclList = new ParameterDeclList();
         accept(TokenKind.LPAREN);
 
         while (token.kind != TokenKind.RPAREN) {
-            Position paramPos = token.pos;
+            long paramPos = token.pos;
             boolean isFinal = false;
             if (token.kind == TokenKind.FINAL) {
                 accept();
                 isFinal = true;
             }
             Type paramType = parseType();
-            Identifier paramId = new Identifier(token);
-            accept(TokenKind.IDENTIFIER);
+            Identifier paramId = acceptIdentifier();
             parameterDeclList.add(new ParameterDecl(paramType, paramId, isFinal, paramPos));
             if (token.kind == TokenKind.COMMA) {
                 accept();
@@ -183,7 +191,25 @@ public class Parser {
         return parameterDeclList;
     }
 
-    private List<Statement> parseStatementList() throws CompileError, IOException {
+    /**
+     * Parses the body of a method or constructor - or, if in skeleton mode, skips over it by matching braces, leaving
+     * the method with an empty statement list.
+     */
+    private List<Statement> parseMethodBody() throws CompileError {
+        if (!skeleton) return parseStatementList();
+
+        accept(TokenKind.LCBRACKET);
+        int depth = 1;
+        while (depth > 0) {
+            checkEOF();
+            if (token.kind == TokenKind.LCBRACKET) depth++;
+            else if (token.kind == TokenKind.RCBRACKET) depth--;
+            accept();
+        }
+        return new ArrayList<>();
+    }
+
+    private List<Statement> parseStatementList() throws CompileError {
         accept(TokenKind.LCBRACKET);
         List<Statement> statementList = new ArrayList<>();
         while (token.kind != TokenKind.RCBRACKET) {
@@ -201,8 +227,8 @@ public class Parser {
      * If a {@link ParseError} occurs, logs it to the {@link Listener} and attempts to move to the next statement to
      * continue parsing.
      */
-    private Statement parseStatement() throws CompileError, IOException {
-        Position pos = token.pos;
+    private Statement parseStatement() throws CompileError {
+        long pos = token.pos;
         boolean ifOrWhile = token.kind == TokenKind.IF || token.kind == TokenKind.WHILE;
 
         try {
@@ -269,8 +295,8 @@ public class Parser {
         }
     }
 
-    private IfStmt parseIfStatement() throws CompileError, IOException {
-        Position pos = token.pos;
+    private IfStmt parseIfStatement() throws CompileError {
+        long pos = token.pos;
         accept();
         accept(TokenKind.LPAREN);
         Expression expr = parseExpression();
@@ -284,8 +310,8 @@ public class Parser {
         return new IfStmt(expr, ifStatement, pos);
     }
 
-    private WhileStmt parseWhileStatement() throws CompileError, IOException {
-        Position pos = token.pos;
+    private WhileStmt parseWhileStatement() throws CompileError {
+        long pos = token.pos;
         accept();
         accept(TokenKind.LPAREN);
         Expression expr = parseExpression();
@@ -294,8 +320,8 @@ public class Parser {
         return new WhileStmt(expr, statement, pos);
     }
 
-    private DoWhileStmt parseDoWhileStatement() throws CompileError, IOException {
-        Position pos = token.pos;
+    private DoWhileStmt parseDoWhileStatement() throws CompileError {
+        long pos = token.pos;
         accept();
         Statement statement = parseStatement();
         accept(TokenKind.WHILE);
@@ -306,8 +332,8 @@ public class Parser {
         return new DoWhileStmt(expr, statement, pos);
     }
 
-    private ForStmt parseForStatement() throws CompileError, IOException {
-        Position pos = token.pos;
+    private ForStmt parseForStatement() throws CompileError {
+        long pos = token.pos;
         accept();
         accept(TokenKind.LPAREN);
 
@@ -315,7 +341,7 @@ public class Parser {
         Expression cond = parseExpression();
         accept(TokenKind.SEMICOLON);
 
-        Position updatePos = token.pos;
+        long updatePos = token.pos;
         ExprStatement updateStmt = new ExprStatement(parseUnaryExpression(), updatePos);
 
         accept(TokenKind.RPAREN);
@@ -323,8 +349,8 @@ public class Parser {
         return new ForStmt(initStmt, cond, updateStmt, statement, pos);
     }
 
-    private ReturnStmt parseReturnStatement() throws CompileError, IOException {
-        Position pos = token.pos;
+    private ReturnStmt parseReturnStatement() throws CompileError {
+        long pos = token.pos;
         accept();
         Expression expr = null;
         if (token.kind != TokenKind.SEMICOLON) {
@@ -334,9 +360,9 @@ public class Parser {
         return new ReturnStmt(expr, pos);
     }
 
-    private Statement parseLeadingIdStatement() throws CompileError, IOException {
-        Position pos = token.pos;
-        Identifier id = new Identifier(token);
+    private Statement parseLeadingIdStatement() throws CompileError {
+        long pos = token.pos;
+        Identifier id = new Identifier(token.name(), token.pos);
         IdRef idRef = new IdRef(id, pos);
         accept();
 
@@ -381,14 +407,14 @@ public class Parser {
         throw err("invalid statement");
     }
 
-    private ExprStatement parsePostfixExprStatement(Reference ref, Position pos) throws CompileError, IOException {
-        PostfixExpr postfixExpr = new PostfixExpr(new Operator(token), new RefExpr(ref, pos), pos);
+    private ExprStatement parsePostfixExprStatement(Reference ref, long pos) throws CompileError {
+        PostfixExpr postfixExpr = new PostfixExpr(new Operator(token.kind, token.pos), new RefExpr(ref, pos), pos);
         accept();
         accept(TokenKind.SEMICOLON);
         return new ExprStatement(postfixExpr, pos);
     }
 
-    private VarDeclStmt parseVarDeclStatement() throws CompileError, IOException {
+    private VarDeclStmt parseVarDeclStatement() throws CompileError {
         boolean isFinal = false;
         if (token.kind == TokenKind.FINAL) {
             accept();
@@ -398,9 +424,8 @@ public class Parser {
         return parseVarDeclStatement(type, isFinal);
     }
 
-    private VarDeclStmt parseVarDeclStatement(Type type, boolean isFinal) throws CompileError, IOException {
-        Identifier id = new Identifier(token);
-        accept(TokenKind.IDENTIFIER);
+    private VarDeclStmt parseVarDeclStatement(Type type, boolean isFinal) throws CompileError {
+        Identifier id = acceptIdentifier();
         Expression expr = null;
         if (token.kind != TokenKind.SEMICOLON) {
             accept(TokenKind.ASSIGN);
@@ -410,21 +435,21 @@ public class Parser {
         return new VarDeclStmt(new VarDecl(id, type, isFinal, type.pos), expr, type.pos);
     }
 
-    private AssignStmt parseAssignStatement(Reference ref) throws CompileError, IOException {
+    private AssignStmt parseAssignStatement(Reference ref) throws CompileError {
         if (!token.kind.isAssignmentOp()) throw err("not a statement");
-        Operator op = new Operator(token);
+        Operator op = new Operator(token.kind, token.pos);
         accept();
         Expression expr = parseExpression();
         accept(TokenKind.SEMICOLON);
         return new AssignStmt(ref, op, expr, ref.pos);
     }
 
-    private CallStmt parseCallStatement(Reference ref) throws CompileError, IOException {
+    private CallStmt parseCallStatement(Reference ref) throws CompileError {
         accept(TokenKind.SEMICOLON);
         return new CallStmt(ref, ref.pos);
     }
 
-    private List<Expression> parseExpressionList() throws CompileError, IOException {
+    private List<Expression> parseExpressionList() throws CompileError {
         accept(TokenKind.LPAREN);
         List<Expression> exprList = new ArrayList<>();
         while (token.kind != TokenKind.RPAREN) {
@@ -439,7 +464,7 @@ public class Parser {
         return exprList;
     }
 
-    private List<Expression> parseIndexExpression() throws CompileError, IOException {
+    private List<Expression> parseIndexExpression() throws CompileError {
         List<Expression> ixExprList = new ArrayList<>();
 
         ixExprList.add(parseExpression());
@@ -452,19 +477,19 @@ public class Parser {
         return ixExprList;
     }
 
-    private Reference parseReference() throws CompileError, IOException {
+    private Reference parseReference() throws CompileError {
         Reference ref = parseSingleReference();
         return parseQualifiedReference(ref);
     }
 
-    private Reference parseReference(Reference ref) throws CompileError, IOException {
+    private Reference parseReference(Reference ref) throws CompileError {
         return parseQualifiedReference(parseIndexedOrCallReference(ref));
     }
 
-    private Reference parseSingleReference() throws CompileError, IOException {
-        Position pos = token.pos;
+    private Reference parseSingleReference() throws CompileError {
+        long pos = token.pos;
         if (token.kind == TokenKind.IDENTIFIER) {
-           Reference ref = new IdRef(new Identifier(token), pos);
+           Reference ref = new IdRef(new Identifier(token.name(), token.pos), pos);
            accept();
            return parseIndexedOrCallReference(ref);
         }
@@ -477,9 +502,9 @@ public class Parser {
         return new ThisRef(pos);
     }
 
-    private Reference parseIndexedOrCallReference(Reference ref) throws CompileError, IOException {
+    private Reference parseIndexedOrCallReference(Reference ref) throws CompileError {
         while (token.kind == TokenKind.LBRACKET || token.kind == TokenKind.LPAREN) {
-            Position pos = token.pos;
+            long pos = token.pos;
             if (token.kind == TokenKind.LBRACKET) {
                 accept();
                 List<Expression> ixExprList = parseIndexExpression();
@@ -496,26 +521,25 @@ public class Parser {
         return ref;
     }
 
-    private Reference parseQualifiedReference(Reference ref) throws CompileError, IOException {
+    private Reference parseQualifiedReference(Reference ref) throws CompileError {
         while (token.kind == TokenKind.PERIOD) {
-            Position pos = token.pos;
+            long pos = token.pos;
             accept();
-            Identifier id = new Identifier(token);
+            Identifier id = acceptIdentifier();
             ref = new QualRef(ref, id, pos);
-            accept(TokenKind.IDENTIFIER);
             ref = parseIndexedOrCallReference(ref);
         }
         return ref;
     }
 
-    private Expression parseExpression() throws CompileError, IOException {
+    private Expression parseExpression() throws CompileError {
         return parseTernaryExpression();
     }
 
-    private Expression parseTernaryExpression() throws CompileError, IOException {
-        Expression expr = parseOrExpression();
+    private Expression parseTernaryExpression() throws CompileError {
+        Expression expr = parseBinaryExpression(1);
         if (token.kind == TokenKind.QUESTION) {
-            Position pos = token.pos;
+            long pos = token.pos;
             accept();
             Expression expr1 = parseTernaryExpression();
             accept(TokenKind.COLON);
@@ -525,131 +549,39 @@ public class Parser {
         return expr;
     }
 
-    private Expression parseOrExpression() throws CompileError, IOException {
-        Expression expr = parseAndExpression();
-        while (token.kind == TokenKind.OR) {
-            Position pos = token.pos;
-            Operator or = new Operator(token);
-            accept();
-            Expression expr2 = parseAndExpression();
-            expr = new BinaryExpr(or, expr, expr2, pos);
-        }
-        return expr;
-    }
-
-    private Expression parseAndExpression() throws CompileError, IOException {
-        Expression expr = parseBitwiseInclusiveOrExpression();
-        while (token.kind == TokenKind.AND) {
-            Position pos = token.pos;
-            Operator and = new Operator(token);
-            accept();
-            Expression expr2 = parseBitwiseInclusiveOrExpression();
-            expr = new BinaryExpr(and, expr, expr2, pos);
-        }
-        return expr;
-    }
-
-    private Expression parseBitwiseInclusiveOrExpression() throws CompileError, IOException {
-        Expression expr = parseBitwiseExclusiveOrExpression();
-        while (token.kind == TokenKind.BTW_INC_OR) {
-            Position pos = token.pos;
-            Operator and = new Operator(token);
-            accept();
-            Expression expr2 = parseBitwiseExclusiveOrExpression();
-            expr = new BinaryExpr(and, expr, expr2, pos);
-        }
-        return expr;
-    }
-
-    private Expression parseBitwiseExclusiveOrExpression() throws CompileError, IOException {
-        Expression expr = parseBitwiseAndExpression();
-        while (token.kind == TokenKind.BTW_EXC_OR) {
-            Position pos = token.pos;
-            Operator and = new Operator(token);
-            accept();
-            Expression expr2 = parseBitwiseAndExpression();
-            expr = new BinaryExpr(and, expr, expr2, pos);
-        }
-        return expr;
-    }
-
-    private Expression parseBitwiseAndExpression() throws CompileError, IOException {
-        Expression expr = parseEqualityExpression();
-        while (token.kind == TokenKind.BTW_AND) {
-            Position pos = token.pos;
-            Operator and = new Operator(token);
-            accept();
-            Expression expr2 = parseEqualityExpression();
-            expr = new BinaryExpr(and, expr, expr2, pos);
-        }
-        return expr;
-    }
-
-    private Expression parseEqualityExpression() throws CompileError, IOException {
-        Expression expr = parseRelationalExpression();
-        while (token.kind == TokenKind.EQ || token.kind == TokenKind.NOT_EQ) {
-            Position pos = token.pos;
-            Operator eq = new Operator(token);
-            accept();
-            Expression expr2 = parseRelationalExpression();
-            expr = new BinaryExpr(eq, expr, expr2, pos);
-        }
-        return expr;
-    }
-
-    private Expression parseRelationalExpression() throws CompileError, IOException {
-        Expression expr = parseShiftExpression();
-        while (token.kind == TokenKind.LT || token.kind == TokenKind.GT || token.kind == TokenKind.LTE || token.kind == TokenKind.GTE) {
-            Position pos = token.pos;
-            Operator comp = new Operator(token);
-            accept();
-            Expression expr2 = parseShiftExpression();
-            expr = new BinaryExpr(comp, expr, expr2, pos);
-        }
-        return expr;
-    }
-
-    private Expression parseShiftExpression() throws CompileError, IOException {
-        Expression expr = parseAdditiveExpression();
-        while (token.kind == TokenKind.LSHIFT || token.kind == TokenKind.RSHIFT || token.kind == TokenKind.UN_RSHIFT) {
-            Position pos = token.pos;
-            Operator comp = new Operator(token);
-            accept();
-            Expression expr2 = parseAdditiveExpression();
-            expr = new BinaryExpr(comp, expr, expr2, pos);
-        }
-        return expr;
-    }
-
-    private Expression parseAdditiveExpression() throws CompileError, IOException {
-        Expression expr = parseMultiplicativeExpression();
-        while (token.kind == TokenKind.PLUS || token.kind == TokenKind.MINUS) {
-            Position pos = token.pos;
-            Operator add = new Operator(token);
-            accept();
-            Expression expr2 = parseMultiplicativeExpression();
-            expr = new BinaryExpr(add, expr, expr2, pos);
-        }
-        return expr;
-    }
-
-    private Expression parseMultiplicativeExpression() throws CompileError, IOException {
+    /**
+     * <pre>
+     * Parses a chain of binary operators via precedence climbing, where each operator binds according to
+     * {@link TokenKind#getBinaryPrecedence()}.
+     *
+     * Operands are unary expressions, and only operators binding at least as tightly as the given minimum are consumed
+     * at this level - the right-hand operand of each is parsed one level higher, so that operators of equal precedence
+     * associate to the left.
+     *
+     * Example, for {@code a + b * c - d}:
+     *  - {@code a} is parsed, then {@code +} is consumed and {@code b * c} is parsed as its right operand
+     *  - the resulting {@code a + (b * c)} becomes the left operand of {@code -}, with {@code d} as its right
+     * </pre>
+     * @param minPrecedence lowest precedence of operators that may be consumed
+     */
+    private Expression parseBinaryExpression(int minPrecedence) throws CompileError {
         Expression expr = parseUnaryExpression();
-        while (token.kind == TokenKind.MULTIPLY || token.kind == TokenKind.DIVIDE || token.kind == TokenKind.MODULO) {
-            Position pos = token.pos;
-            Operator op = new Operator(token);
+        int precedence;
+        while ((precedence = token.kind.getBinaryPrecedence()) >= minPrecedence) {
+            long pos = token.pos;
+            Operator op = new Operator(token.kind, token.pos);
             accept();
-            Expression expr2 = parseUnaryExpression();
+            Expression expr2 = parseBinaryExpression(precedence + 1);
             expr = new BinaryExpr(op, expr, expr2, pos);
         }
         return expr;
     }
 
-    private Expression parseUnaryExpression() throws CompileError, IOException {
+    private Expression parseUnaryExpression() throws CompileError {
         if (token.kind == TokenKind.MINUS || token.kind == TokenKind.NOT || token.kind == TokenKind.COMPLEMENT ||
                 token.kind == TokenKind.INCREMENT || token.kind == TokenKind.DECREMENT) {
-            Position pos = token.pos;
-            Operator unary = new Operator(token);
+            long pos = token.pos;
+            Operator unary = new Operator(token.kind, token.pos);
             accept();
             Expression expr = parseUnaryExpression();
             return new UnaryExpr(unary, expr, pos);
@@ -657,19 +589,19 @@ public class Parser {
         return parsePostfixExpression();
     }
 
-    private Expression parsePostfixExpression() throws CompileError, IOException {
+    private Expression parsePostfixExpression() throws CompileError {
         Expression expr = parseSingleExpression();
         if (token.kind == TokenKind.INCREMENT || token.kind == TokenKind.DECREMENT) {
-            Position pos = token.pos;
-            Operator postfix = new Operator(token);
+            long pos = token.pos;
+            Operator postfix = new Operator(token.kind, token.pos);
             accept();
             return new PostfixExpr(postfix, expr, pos);
         }
         return expr;
     }
 
-    private Expression parseSingleExpression() throws CompileError, IOException {
-        Position pos = token.pos;
+    private Expression parseSingleExpression() throws CompileError {
+        long pos = token.pos;
         switch (token.kind) {
             case LPAREN -> {
                 accept();
@@ -678,22 +610,22 @@ public class Parser {
                 return expr;
             }
             case NUM -> {
-                IntLiteral intLiteral = new IntLiteral(token);
+                IntLiteral intLiteral = new IntLiteral(token.text(), token.pos);
                 accept();
                 return new LiteralExpr(intLiteral);
             }
             case FLOAT_NUM -> {
-                FloatLiteral floatLiteral = new FloatLiteral(token);
+                FloatLiteral floatLiteral = new FloatLiteral(token.text(), token.pos);
                 accept();
                 return new LiteralExpr(floatLiteral);
             }
             case TRUE, FALSE -> {
-                BooleanLiteral booleanLiteral = new BooleanLiteral(token);
+                BooleanLiteral booleanLiteral = new BooleanLiteral(token.kind, token.pos);
                 accept();
                 return new LiteralExpr(booleanLiteral);
             }
             case NULL -> {
-                NullLiteral nullLiteral = new NullLiteral(token);
+                NullLiteral nullLiteral = new NullLiteral(token.pos);
                 accept();
                 return new LiteralExpr(nullLiteral);
             }
@@ -723,7 +655,7 @@ public class Parser {
         }
     }
 
-    private NewArrayInitExpr parseNewArrayInitExpr(Type eltType, Position pos) throws CompileError, IOException {
+    private NewArrayInitExpr parseNewArrayInitExpr(Type eltType, long pos) throws CompileError {
         accept(TokenKind.RBRACKET);
         int dims = 1;
         while (token.kind == TokenKind.LBRACKET) {
@@ -735,8 +667,8 @@ public class Parser {
         return new NewArrayInitExpr(eltType, dims, initExpr, pos);
     }
 
-    private ArrayInitExpr parseArrayInitExpr() throws CompileError, IOException {
-        Position pos = token.pos;
+    private ArrayInitExpr parseArrayInitExpr() throws CompileError {
+        long pos = token.pos;
         accept(TokenKind.LCBRACKET);
         List<Expression> exprList = new ArrayList<>();
 
@@ -755,17 +687,17 @@ public class Parser {
     }
 
 
-    private Type parseType() throws CompileError, IOException {
+    private Type parseType() throws CompileError {
         return parseType(true);
     }
 
-    private Type parseNonArrayType() throws CompileError, IOException {
+    private Type parseNonArrayType() throws CompileError {
         return parseType(false);
     }
 
-    private Type parseType(boolean arrayAllowed) throws CompileError, IOException {
+    private Type parseType(boolean arrayAllowed) throws CompileError {
         Type type;
-        Position pos = token.pos;
+        long pos = token.pos;
         switch (token.kind) {
             case INT -> {
                 accept();
@@ -780,7 +712,7 @@ public class Parser {
                 type = new BaseType(TypeKind.BOOLEAN, pos);
             }
             case IDENTIFIER -> {
-                Identifier id = new Identifier(token);
+                Identifier id = new Identifier(token.name(), token.pos);
                 accept();
                 type = new ClassType(id, pos);
             }
@@ -799,7 +731,7 @@ public class Parser {
         return type;
     }
 
-    private ArrayType parseArrayType(Type type, Position pos) throws CompileError, IOException {
+    private ArrayType parseArrayType(Type type, long pos) throws CompileError {
         accept(TokenKind.RBRACKET);
         int dims = 1;
         while (token.kind == TokenKind.LBRACKET) {
@@ -815,11 +747,10 @@ public class Parser {
      * Throws error if end of file has been reached, otherwise returns true.
      * @return whether file has additional contents
      * @throws CompileError EOF error
-     * @throws IOException  file unable to be parsed
      */
-    private boolean checkEOF() throws CompileError, IOException {
+    private boolean checkEOF() throws CompileError {
         if (token.kind == TokenKind.EOF) {
-            throw new CompileError(prevToken.endPos(), "reached end of file while parsing");
+            throw new CompileError(token.prevEndPos(), "reached end of file while parsing");
         }
         return true;
     }
@@ -827,34 +758,46 @@ public class Parser {
     /**
      * @return {@link ParseError} containing current token and error message.
      * @throws CompileError EOF error
-     * @throws IOException  file unable to be parsed
      */
-    private ParseError err(String msg) throws CompileError, IOException {
+    private ParseError err(String msg) throws CompileError {
         checkEOF();
-        return new ParseError(token, msg);
+        return new ParseError(token.token(), msg);
     }
 
     /**
      * Accepts current token if it's the specified {@link TokenKind}, otherwise throws an error.
      * @param kind acceptable {@link TokenKind} at the current position.
      * @throws CompileError if EOF, otherwise {@link ExpectedParseError}
-     * @throws IOException  file unable to be parsed
      */
-    private void accept(TokenKind kind) throws CompileError, IOException {
+    private void accept(TokenKind kind) throws CompileError {
         if (token.kind != kind) {
             checkEOF();
-            throw prevToken != null ? new ExpectedParseError(prevToken, token, kind) : new ExpectedParseError(token, kind);
+            throw token.prevKind != null
+                    ? new ExpectedParseError(token.prevToken(), token.token(), kind)
+                    : new ExpectedParseError(token.token(), kind);
         }
         accept();
     }
 
     /**
      * Accepts current token and advances to the next one.
-     * @throws IOException file unable to be parsed
      */
-    private void accept() throws IOException {
-        prevToken = token;
-        token = scanner.scan();
+    private void accept() {
+        token.advance();
+    }
+
+    /**
+     * Accepts current token if it's an identifier, otherwise throws an error.
+     * @return identifier node for the accepted token
+     * @throws CompileError if EOF, otherwise {@link ExpectedParseError}
+     */
+    private Identifier acceptIdentifier() throws CompileError {
+        if (token.kind != TokenKind.IDENTIFIER) {
+            accept(TokenKind.IDENTIFIER);
+        }
+        Identifier id = new Identifier(token.name(), token.pos);
+        accept();
+        return id;
     }
 
     /**
@@ -862,9 +805,8 @@ public class Parser {
      * <br>If EOF error occurs, throw it to unwind the stack but set the ignore flag, so only the original error is logged.
      * @param ifOrWhile true if statement is a recognizable attempt at a loop
      * @throws CompileError EOF reached before next statement is found
-     * @throws IOException  file unable to be parsed
      */
-    private void syncToNextStatement(boolean ifOrWhile) throws CompileError, IOException {
+    private void syncToNextStatement(boolean ifOrWhile) throws CompileError {
         try {
             while (checkEOF()) {
                 if ((ifOrWhile && token.kind == TokenKind.RCBRACKET) || (!ifOrWhile && token.kind == TokenKind.SEMICOLON)) {
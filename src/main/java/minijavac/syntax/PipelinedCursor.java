@@ -0,0 +1,293 @@
+package minijavac.syntax;
+
+import minijavac.err.CompileError;
+import minijavac.listener.AbstractListener;
+import minijavac.listener.Listener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <pre>
+ * {@link TokenCursor} that overlaps lexing with parsing - a {@link Scanner} runs ahead on a producer thread, publishing
+ * tokens into a bounded single-producer/single-consumer ring, from which the consuming (parser) thread advances.
+ *
+ * The producer runs as a task on the given {@link Executor}, so that a compilation can bound the number of scanning
+ * threads it starts - unless no executor is given, in which case each cursor starts a thread of its own.
+ *
+ * Each ring slot holds a token's kind, packed position, and source range, as well as any lexical errors that were
+ * reported while scanning up to it. Those errors are only logged to the real {@link Listener} once the consumer
+ * advances onto the slot - the same point at which a synchronous {@link Scanner} would have logged them - so the order
+ * of diagnostics is unchanged.
+ *
+ * The ring is lock-free: the producer only writes the tail, and the consumer the head, each publishing with a release
+ * store and caching the other's last seen value so that it's only re-read once the ring looks full (or empty).
+ *
+ * A side that has to wait spins briefly, and then parks until the other side unparks it by moving its counter. Since
+ * counters are published with release stores, that unpark can be missed by a side that has only just parked - so
+ * parking is bounded by {@link #PARK_NANOS}, after which the side re-checks the ring by itself.
+ *
+ * Must be closed once parsing is finished, so that a producer blocked on a full ring (i.e. after a fatal parse error)
+ * is released.
+ * </pre>
+ */
+public class PipelinedCursor extends TokenCursor implements AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 1 << 12;
+    private static final int SPINS = 64;
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final TokenKind[] kinds = TokenKind.values();
+
+    /*
+    * Runs each producer on a new daemon thread, for cursors that aren't given an executor.
+    * */
+    private static final Executor NEW_THREAD = task -> {
+        Thread thread = new Thread(task, "minijavac-scanner");
+        thread.setDaemon(true);
+        thread.start();
+    };
+
+    private final Listener listener;
+
+    /*
+    * Ring slots, indexed by sequence & mask.
+    * */
+    private final int mask;
+    private final byte[] slotKinds;
+    private final long[] slotPos;
+    private final int[] slotStarts;
+    private final int[] slotEnds;
+    private final List<?>[] slotErrors;
+
+    /*
+    * Next sequence to be written by the producer, and next to be read by the consumer.
+    * */
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /*
+    * Last value of the other side's counter, as seen by the producer and consumer respectively.
+    * */
+    private long cachedHead;
+    private long cachedTail;
+
+    /*
+    * Producer and consumer thread respectively, while parked waiting for the other side to move its counter.
+    * */
+    private volatile Thread parkedProducer;
+    private volatile Thread parkedConsumer;
+
+    private volatile boolean closed;
+    private volatile Throwable failure;
+
+    public PipelinedCursor(ByteBuffer buf, Path file, Listener listener) {
+        this(buf, file, listener, new Names(), new FileTable());
+    }
+
+    /**
+     * @param capacity number of ring slots, which must be a power of two
+     */
+    public PipelinedCursor(ByteBuffer buf, Path file, Listener listener, int capacity) {
+        this(buf, file, listener, new Names(), new FileTable(), capacity, NEW_THREAD);
+    }
+
+    /**
+     * @param names name table of the compilation, which identifiers are interned into
+     * @param files file table of the compilation, which the file is registered in
+     */
+    public PipelinedCursor(ByteBuffer buf, Path file, Listener listener, Names names, FileTable files) {
+        this(buf, file, listener, names, files, DEFAULT_CAPACITY, NEW_THREAD);
+    }
+
+    /**
+     * @param names     name table of the compilation, which identifiers are interned into
+     * @param files     file table of the compilation, which the file is registered in
+     * @param producers executor the producer is run on
+     */
+    public PipelinedCursor(ByteBuffer buf, Path file, Listener listener, Names names, FileTable files,
+                           Executor producers) {
+        this(buf, file, listener, names, files, DEFAULT_CAPACITY, producers);
+    }
+
+    /**
+     * @param names     name table of the compilation, which identifiers are interned into
+     * @param files     file table of the compilation, which the file is registered in
+     * @param capacity  number of ring slots, which must be a power of two
+     * @param producers executor the producer is run on
+     */
+    public PipelinedCursor(ByteBuffer buf, Path file, Listener listener, Names names, FileTable files,
+                           int capacity, Executor producers) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        this.buf = buf.duplicate();
+        this.names = names;
+        this.file = file;
+        this.files = files;
+        this.listener = listener;
+        this.mask = capacity - 1;
+        this.slotKinds = new byte[capacity];
+        this.slotPos = new long[capacity];
+        this.slotStarts = new int[capacity];
+        this.slotEnds = new int[capacity];
+        this.slotErrors = new List<?>[capacity];
+
+        // register file on the calling thread, so that its id doesn't depend on when the producer starts
+        files.id(file);
+        ErrorCollector errors = new ErrorCollector();
+        Scanner scanner = new Scanner(buf.duplicate(), file, errors, names, files);
+        producers.execute(() -> produce(scanner, errors));
+    }
+
+    /**
+     * Creates a {@link PipelinedCursor} over the entire contents of the given file.
+     * @param file     file path
+     * @param listener error listener
+     * @return pipelined cursor, whose producer has been started
+     * @throws IOException file unable to be read
+     */
+    public static PipelinedCursor open(Path file, Listener listener) throws IOException {
+        return new PipelinedCursor(Scanner.read(file), file, listener);
+    }
+
+    /**
+     * Scans tokens into the ring until EOF has been published, or the cursor is closed.
+     */
+    private void produce(Scanner scanner, ErrorCollector errors) {
+        if (closed) return; // closed before the executor got around to it
+        try {
+            long seq = 0;
+            TokenKind kind;
+            do {
+                scanner.advance();
+                kind = scanner.kind;
+
+                // wait for a free slot
+                if (seq - cachedHead > mask) {
+                    int spins = 0;
+                    while (seq - (cachedHead = head.get()) > mask) {
+                        if (closed) return;
+                        spins = backOff(spins);
+                        // about to park - record it before re-checking the ring, so that the consumer can unpark us
+                        if (spins == SPINS) parkedProducer = Thread.currentThread();
+                    }
+                    parkedProducer = null;
+                }
+
+                int slot = (int) seq & mask;
+                slotKinds[slot] = (byte) kind.ordinal();
+                slotPos[slot] = scanner.pos;
+                slotStarts[slot] = scanner.start;
+                slotEnds[slot] = scanner.end;
+                slotErrors[slot] = errors.drain();
+                tail.lazySet(++seq);
+                unpark(parkedConsumer);
+            } while (kind != TokenKind.EOF);
+        } catch (Throwable ex) {
+            failure = ex;
+            unpark(parkedConsumer);
+        }
+    }
+
+    @Override
+    protected void scanNext() {
+        // keep returning EOF once the file has been exhausted, like the scanner does
+        if (kind == TokenKind.EOF) return;
+
+        long seq = head.get();
+        if (seq >= cachedTail) {
+            int spins = 0;
+            while (seq >= (cachedTail = tail.get())) {
+                if (failure != null) throw rethrow(failure);
+                spins = backOff(spins);
+                // about to park - record it before re-checking the ring, so that the producer can unpark us
+                if (spins == SPINS) parkedConsumer = Thread.currentThread();
+            }
+            parkedConsumer = null;
+        }
+
+        int slot = (int) seq & mask;
+        List<?> errors = slotErrors[slot];
+        if (errors != null) {
+            slotErrors[slot] = null;
+            for (Object err : errors) {
+                listener.err((CompileError) err);
+            }
+        }
+        kind = kinds[slotKinds[slot]];
+        pos = slotPos[slot];
+        start = slotStarts[slot];
+        end = slotEnds[slot];
+        head.lazySet(seq + 1);
+        unpark(parkedProducer);
+    }
+
+    /**
+     * Waits for the other side to move its counter - spinning for the first {@link #SPINS} attempts, and parking after
+     * that. The waiting side records itself as parked once it's done spinning, before re-checking the ring.
+     */
+    private int backOff(int spins) {
+        if (spins < SPINS) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(this, PARK_NANOS);
+        }
+        return spins + 1;
+    }
+
+    private static void unpark(Thread parked) {
+        if (parked != null) LockSupport.unpark(parked);
+    }
+
+    private static RuntimeException rethrow(Throwable ex) {
+        if (ex instanceof Error err) throw err;
+        return ex instanceof RuntimeException rex ? rex : new IllegalStateException(ex);
+    }
+
+    /**
+     * Releases the producer, which finishes without scanning any further.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        unpark(parkedProducer);
+    }
+
+    /**
+     * Collects the lexical errors reported by the producer's {@link Scanner}, until they're attached to a ring slot.
+     */
+    private static class ErrorCollector extends AbstractListener {
+
+        private List<CompileError> pending;
+
+        @Override
+        public void err(CompileError err) {
+            if (ignore) return;
+            if (pending == null) pending = new ArrayList<>();
+            pending.add(err);
+        }
+
+        @Override
+        public boolean hasErrors() {
+            return pending != null;
+        }
+
+        @Override
+        public int getErrCnt() {
+            return pending != null ? pending.size() : 0;
+        }
+
+        List<CompileError> drain() {
+            List<CompileError> errors = pending;
+            pending = null;
+            return errors;
+        }
+    }
+}
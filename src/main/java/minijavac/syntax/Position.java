@@ -4,5 +4,66 @@ import java.nio.file.Path;
 
 /**
  * Immutable object containing the specific file, location, and position of a {@link Token}.
+ * <br><br>
+ * Tokens and AST nodes don't hold instances of this record - instead, they store a position packed into a single
+ * {@code long}, which is only expanded (see {@link FileTable#position(long)}) when a diagnostic actually needs to be
+ * printed.
+ * <pre>
+ * Layout of a packed position, from most to least significant bit:
+ *
+ * | file id (20 bits) | line (24 bits) | offset (20 bits) |
+ * </pre>
+ * File ids are handed out per compilation by its {@link FileTable}, starting at 1, so that {@link #NOPOS} (0) never
+ * refers to a real position. Lines and offsets too large for their fields are clamped to the largest representable
+ * value.
  */
-public record Position(Path file, int line, int offset) {}
+public record Position(Path file, int line, int offset) {
+
+    /**
+     * Packed position for nodes that don't correspond to any source, i.e. standard library declarations.
+     */
+    public static final long NOPOS = 0L;
+
+    private static final int FILE_BITS = 20;
+    private static final int LINE_BITS = 24;
+    private static final int OFFSET_BITS = 20;
+
+    private static final int LINE_SHIFT = OFFSET_BITS;
+    private static final int FILE_SHIFT = LINE_BITS + OFFSET_BITS;
+
+    private static final long FILE_MASK = (1L << FILE_BITS) - 1;
+    private static final long LINE_MASK = (1L << LINE_BITS) - 1;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    /*
+    * Largest file id that fits in a packed position.
+    * */
+    static final int MAX_FILE_ID = (int) FILE_MASK;
+
+    public static long pack(int fileId, int line, int offset) {
+        return ((long) fileId << FILE_SHIFT)
+                | (Math.min(line, LINE_MASK) << LINE_SHIFT)
+                | Math.min(offset, OFFSET_MASK);
+    }
+
+    public static int fileId(long pos) {
+        return (int) ((pos >>> FILE_SHIFT) & FILE_MASK);
+    }
+
+    public static int line(long pos) {
+        return (int) ((pos >>> LINE_SHIFT) & LINE_MASK);
+    }
+
+    public static int offset(long pos) {
+        return (int) (pos & OFFSET_MASK);
+    }
+
+    /**
+     * @param pos   packed position
+     * @param delta number of characters to move forward on the same line
+     * @return packed position, offset by the given amount
+     */
+    public static long shift(long pos, int delta) {
+        return pack(fileId(pos), line(pos), offset(pos) + delta);
+    }
+}
@@ -0,0 +1,181 @@
+package minijavac.syntax;
+
+import minijavac.utils.Stats;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * Reads source files into memory ahead of them being parsed, on a small pool of daemon I/O threads - so that a file's
+ * contents are (ideally) already in memory by the time its turn to be parsed comes around, and parsing never waits on
+ * the disk.
+ *
+ * A file is prefetched as soon as it's known to be needed ({@link #prefetch}), and is then taken by whichever thread
+ * parses it ({@link #take}):
+ *   - If the read has finished, its contents are handed over straight away.
+ *   - If the read is underway, the parsing thread waits for it - that wait is reported as stall time.
+ *   - If the read hasn't started yet (the I/O threads are busy with other files), the parsing thread just reads the
+ *     file itself, rather than waiting behind the others.
+ *
+ * The number of bytes held in memory but not yet taken is capped - once the cap is reached, further files are left for
+ * the parsing thread to read itself.
+ *
+ * Statistics:
+ *   - prefetch.hits: files taken from memory
+ *   - prefetch.misses: files read by the parsing thread (not prefetched, not started in time, or over the cap)
+ *   - prefetch.bytes: bytes taken from memory
+ *   - prefetch.stall: time spent waiting for reads that were underway
+ *   - prefetch.hitRate: share of files taken from memory
+ * </pre>
+ */
+public class Prefetcher implements AutoCloseable {
+
+    public static final int THREADS = 4;
+    public static final long DEFAULT_LIMIT = 64L * 1024 * 1024;
+
+    /*
+    * State of a single file's read - whichever of the I/O thread and the parsing thread claims it first performs it.
+    * */
+    private static class Entry {
+        final AtomicBoolean claimed = new AtomicBoolean();
+        final CompletableFuture<ByteBuffer> contents = new CompletableFuture<>();
+    }
+
+    private final long maxBytes;
+    private final ExecutorService pool;
+    private final Map<Path, Entry> entries;
+    private final AtomicLong heldBytes;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder bytes;
+    private final LongAdder stall;
+
+    /**
+     * @param maxBytes maximum number of prefetched bytes to hold in memory at once
+     * @param stats    statistics to report to
+     */
+    public Prefetcher(long maxBytes, Stats stats) {
+        this(maxBytes, stats, newPool());
+    }
+
+    /**
+     * @param maxBytes maximum number of prefetched bytes to hold in memory at once
+     * @param stats    statistics to report to
+     * @param pool     executor that files are read on, which is shut down once the prefetcher is closed
+     */
+    public Prefetcher(long maxBytes, Stats stats, ExecutorService pool) {
+        this.maxBytes = maxBytes;
+        this.pool = pool;
+        this.entries = new ConcurrentHashMap<>();
+        this.heldBytes = new AtomicLong();
+        this.hits = stats.counter("prefetch.hits");
+        this.misses = stats.counter("prefetch.misses");
+        this.bytes = stats.counter("prefetch.bytes");
+        this.stall = stats.timer("prefetch.stall");
+        stats.rate("prefetch.hitRate", hits, misses);
+    }
+
+    /**
+     * @return pool of {@link #THREADS} daemon I/O threads
+     */
+    private static ExecutorService newPool() {
+        AtomicInteger threadCnt = new AtomicInteger();
+        return Executors.newFixedThreadPool(THREADS, r -> {
+            Thread thread = new Thread(r, String.format("minijavac-prefetch-%d", threadCnt.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts reading the given file in the background, unless it already has been.
+     * @param file file path
+     */
+    public void prefetch(Path file) {
+        Entry entry = new Entry();
+        if (entries.putIfAbsent(file, entry) != null) return;
+
+        pool.execute(() -> {
+            if (!entry.claimed.compareAndSet(false, true)) return; // already being read by the parsing thread
+            long size = 0;
+            try {
+                // reserve room for the file up front, so that a file over the cap is never read only to be dropped
+                size = Files.size(file);
+                if (heldBytes.addAndGet(size) > maxBytes) {
+                    // over the cap - let the parsing thread read it itself, when it gets there
+                    heldBytes.addAndGet(-size);
+                    entry.contents.complete(null);
+                    return;
+                }
+                ByteBuffer buf = Scanner.read(file);
+                heldBytes.addAndGet(buf.remaining() - size);
+                if (buf instanceof MappedByteBuffer mapped) mapped.load();
+                entry.contents.complete(buf);
+            } catch (IOException | RuntimeException ex) {
+                heldBytes.addAndGet(-size);
+                entry.contents.completeExceptionally(ex);
+            }
+        });
+    }
+
+    /**
+     * Takes the contents of the given file, waiting for its read to finish if it's underway, and reading the file on
+     * the calling thread if it was never prefetched, or its read hasn't started.
+     * @param file file path
+     * @return file contents
+     * @throws IOException file unable to be read
+     */
+    public ByteBuffer take(Path file) throws IOException {
+        Entry entry = entries.remove(file);
+        if (entry == null || entry.claimed.compareAndSet(false, true)) {
+            misses.increment();
+            return Scanner.read(file);
+        }
+
+        ByteBuffer buf;
+        // only a read that's still underway is a stall - a finished one is handed over without waiting
+        boolean done = entry.contents.isDone();
+        long start = done ? 0 : System.nanoTime();
+        try {
+            buf = entry.contents.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while reading file");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException cause) throw cause;
+            throw (RuntimeException) ex.getCause();
+        } finally {
+            if (!done) stall.add(System.nanoTime() - start);
+        }
+
+        if (buf == null) {
+            misses.increment();
+            return Scanner.read(file);
+        }
+        heldBytes.addAndGet(-buf.remaining());
+        hits.increment();
+        bytes.add(buf.remaining());
+        return buf;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -1,30 +1,82 @@
 package minijavac.syntax;
 
+import minijavac.listener.FileResolvingListener;
 import minijavac.listener.Listener;
 import minijavac.err.CompileError;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
- * Performs lexical analysis - given a source file, repeatedly returns the next available {@link Token}.
+ * <pre>
+ * Performs lexical analysis - given a source file, repeatedly advances to the next available token (see
+ * {@link TokenCursor}).
+ *
+ * Source is always scanned directly from a {@link ByteBuffer} holding the entire file (see
+ * {@link #open(Path, Listener)}) - an {@link InputStream} is drained into one up front.
+ *
+ * Tokens are recognized without building any intermediate strings:
+ *  - words are classified by a perfect hash over their raw bytes (see {@link Keywords}), with identifiers interned
+ *    straight from the buffer into the compilation's table (see {@link Names#fromBytes(ByteBuffer, int, int)})
+ *  - operators and symbols are recognized by a switch on the current character, with at most three characters of
+ *    lookahead
+ *  - keyword, operator, and symbol tokens share the constant spelling of their {@link TokenKind}, so only identifier
+ *    and literal tokens ever carry text of their own
+ *
+ * By default, the bulk of the input - indentation, comment bodies, and long identifiers - is skipped over eight bytes
+ * at a time, with the line and offset brought up to date afterwards (see {@link Swar}).
+ *
+ * Source is decoded as UTF-8, and offsets count characters rather than bytes. Only comments may actually contain
+ * non-ASCII characters (anywhere else, they're reported as illegal), so every token's text is ASCII - and ASCII bytes
+ * are taken as-is, with a sequence only decoded once its lead byte shows up.
+ * </pre>
  */
-public class Scanner {
+public class Scanner extends TokenCursor {
 
-    private final InputStream stream;
-    private final Path file;
+    /*
+    * Files at least this large are memory-mapped rather than read onto the heap.
+    * */
+    private static final long MAP_THRESHOLD = 1 << 20;
+
+    /*
+    * Code point substituted for each malformed UTF-8 sequence.
+    * */
+    private static final int REPLACEMENT = 0xFFFD;
+
+    private final int limit;
+    private final int fileId;
     private final Listener listener;
 
     /*
-    * Last read character from file.
+    * Whether runs of whitespace, identifier characters, and comment bodies are skipped over eight bytes at a time (see
+    * Swar), rather than one character at a time.
+    * */
+    private final boolean wordAtATime;
+
+    /*
+    * Big-endian view of the source, for reading words - kept separate so the caller's buffer order is left untouched.
+    * */
+    private final ByteBuffer words;
+
+    /*
+    * Index of the next byte to be read from the buffer.
+    * */
+    private int bp;
+
+    /*
+    * Index of the current character's first byte.
     * */
-    private char current;
+    private int charStart;
 
     /*
-    * Builder for contents of token currently being scanned.
+    * Last read character from file, as a code point.
     * */
-    private StringBuilder contents;
+    private int current;
 
     /*
     * Indicates if file has been exhausted.
@@ -46,74 +98,147 @@ public class Scanner {
     * */
     private int tokenOffset;
 
-    /*
-    * Special token indicating file has been exhausted.
-    * */
-    private static final Token eofToken = new Token(TokenKind.EOF, null, null);
-
     public Scanner(InputStream stream, Path file, Listener listener) throws IOException {
-        this.stream = stream;
+        this(ByteBuffer.wrap(stream.readAllBytes()), file, listener);
+    }
+
+    public Scanner(ByteBuffer buf, Path file, Listener listener) {
+        this(buf, file, listener, true);
+    }
+
+    /**
+     * Creates a scanner with a name table and file table of its own, i.e. when scanning outside of a compilation.
+     * @param wordAtATime whether to skip over whitespace, identifiers, and comments eight bytes at a time, rather than
+     *                    one character at a time
+     */
+    public Scanner(ByteBuffer buf, Path file, Listener listener, boolean wordAtATime) {
+        this(buf, file, listener, new Names(), new FileTable(), wordAtATime);
+    }
+
+    /**
+     * @param names name table of the compilation, which identifiers are interned into
+     * @param files file table of the compilation, which the file is registered in
+     */
+    public Scanner(ByteBuffer buf, Path file, Listener listener, Names names, FileTable files) {
+        this(buf, file, listener, names, files, true);
+    }
+
+    /**
+     * @param names       name table of the compilation, which identifiers are interned into
+     * @param files       file table of the compilation, which the file is registered in
+     * @param wordAtATime whether to skip over whitespace, identifiers, and comments eight bytes at a time, rather than
+     *                    one character at a time
+     */
+    public Scanner(ByteBuffer buf, Path file, Listener listener, Names names, FileTable files, boolean wordAtATime) {
+        this.buf = buf;
+        this.names = names;
         this.file = file;
-        this.listener = listener;
+        this.files = files;
+        this.bp = buf.position();
+        this.limit = buf.limit();
+        this.fileId = files.id(file);
+        this.listener = new FileResolvingListener(listener, files);
+        this.wordAtATime = wordAtATime;
+        this.words = buf.duplicate().order(ByteOrder.BIG_ENDIAN);
         next();
     }
 
     /**
-     * Scans for next token.
-     * <br>br>
-     * Wrapper function, enclosed in loop to filter out comments.
-     * @return next token from file
+     * Creates a {@link Scanner} over the entire contents of the given file, which are either read in a single bulk
+     * operation or, for large files, memory-mapped.
+     * @param file     file path
+     * @param listener error listener
+     * @return scanner
      * @throws IOException file unable to be read
      */
-    public Token scan() throws IOException {
-        while (true) {
-            try {
-                Token token = scanToken();
-                if (token.kind != TokenKind.COMMENT) {
-                    return token;
-                }
-            } catch (CompileError err) {
-                listener.err(err);
-                next();
+    public static Scanner open(Path file, Listener listener) throws IOException {
+        return new Scanner(read(file), file, listener);
+    }
+
+    /**
+     * Reads the entire contents of the given file into a {@link ByteBuffer}.
+     * @param file file path
+     * @return file contents
+     * @throws IOException file unable to be read
+     */
+    public static ByteBuffer read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MAP_THRESHOLD) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
             }
+            ByteBuffer buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining() && channel.read(buf) != -1);
+            return buf.flip();
         }
     }
 
+    /**
+     * Scans for next token, and returns it as a newly allocated {@link Token}.
+     * @return next token from file
+     */
+    public Token scan() {
+        advance();
+        return token();
+    }
+
     /**
      * Scans for next token.
      * <br><br>
-     * Returns EOF token if file has been exhausted.
-     * @return next token from file
-     * @throws CompileError invalid character
-     * @throws IOException  file unable to be read
+     * Wrapper function, enclosed in loop to filter out comments (and anything else reported as one).
      */
-    private Token scanToken() throws CompileError, IOException {
+    @Override
+    protected void scanNext() {
+        do {
+            kind = scanToken();
+        } while (kind == TokenKind.COMMENT);
+    }
+
+    /**
+     * Scans for next token, setting its range and position.
+     * <br><br>
+     * Returns EOF if file has been exhausted. Lexical errors are logged to the {@link Listener} directly, rather than
+     * thrown, and the offending input is skipped over as if it were a comment.
+     * @return next token kind
+     */
+    private TokenKind scanToken() {
         // skip past whitespace + newlines
-        while (!done && (current == ' ' || current == '\n' || current == '\t' || current == '\r')) {
+        if (wordAtATime && !done && isWhitespace(current)) {
+            skipWhitespace();
+        }
+        while (!done && isWhitespace(current)) {
             next();
         }
 
-        if (done) return eofToken;
+        if (done) {
+            start = end = limit;
+            pos = Position.NOPOS;
+            return TokenKind.EOF;
+        }
 
-        contents = new StringBuilder();
         TokenKind kind;
         tokenOffset = offset;
+        start = charStart;
 
         if (isLeadingIdentifier(current)) {
-            take();
-            while (isIdentifier(current)) {
-                take();
+            if (wordAtATime) {
+                moveAlongLine(skipIdentifier(bp));
+            } else {
+                next();
+                while (isIdentifier(current)) {
+                    next();
+                }
             }
-            kind = TokenKind.spellingMap.getOrDefault(contentsStr(), TokenKind.IDENTIFIER);
+            kind = Keywords.lookup(buf, start, index() - start);
         } else if (isNumber(current)) {
-            take();
+            next();
             while (isNumber(current)) {
-                take();
+                next();
             }
             if (current == '.') {
-                take();
+                next();
                 while (isNumber(current)) {
-                    take();
+                    next();
                 }
                 kind = TokenKind.FLOAT_NUM;
             } else {
@@ -123,93 +248,127 @@ public class Scanner {
             kind = scanOpOrSymbol();
         }
 
-        return new Token(kind, contentsStr(), new Position(file, line, tokenOffset));
+        end = index();
+        pos = Position.pack(fileId, line, tokenOffset);
+        return kind;
     }
 
     /**
      * Scans for operators (+, -, %, etc.) and symbols (;, {, :, etc.)
-     * @return next token kind
-     * @throws CompileError invalid character
-     * @throws IOException  file unable to be read
+     * <br><br>
+     * Each case consumes the longest operator starting with the current character, so for example {@code >>>=} is
+     * recognized over {@code >>>}, {@code >>}, and {@code >}.
+     * @return next token kind, or {@link TokenKind#COMMENT} if an invalid character was skipped
      */
-    private TokenKind scanOpOrSymbol() throws CompileError, IOException {
-        String currStr = String.valueOf(current);
-        if (TokenKind.spellingMap.containsKey(currStr)) {
-            if (current == '/') return scanPotentialComment();
-
-            // repeat candidates -> (>, <, &, |, +, -)
-            //     - returns -> (>, <, &, |, >>, <<, >>>, &&, ||, ++, --)
-            // compound candidates -> (=, !, >, <, +, -, *, /, %, &, ^, |, <<, >>, >>>)
-
-            if (TokenKind.isRepeater(currStr)) {
-                char first = current;
-                take();
-                if (current == first) {
-                    take();
-                    if (first == '>' && current == '>') { // short circuit for >>>
-                        take();
-                    } else if (first != '>' && first != '<') { // short circuit for &&, ||, ++, --
-                        return TokenKind.spellingMap.get(contentsStr());
-                    }
-                }
-            }
-
-            if (TokenKind.isCompoundPrefix(currOrContentsStr())) {
-                if (contents.isEmpty()) {
-                    take();
+    private TokenKind scanOpOrSymbol() {
+        int first = current;
+        switch (first) {
+            case '{': next(); return TokenKind.LCBRACKET;
+            case '}': next(); return TokenKind.RCBRACKET;
+            case '[': next(); return TokenKind.LBRACKET;
+            case ']': next(); return TokenKind.RBRACKET;
+            case '(': next(); return TokenKind.LPAREN;
+            case ')': next(); return TokenKind.RPAREN;
+            case ';': next(); return TokenKind.SEMICOLON;
+            case '.': next(); return TokenKind.PERIOD;
+            case ',': next(); return TokenKind.COMMA;
+            case '?': next(); return TokenKind.QUESTION;
+            case ':': next(); return TokenKind.COLON;
+            case '~': next(); return TokenKind.COMPLEMENT;
+            case '/': return scanPotentialComment();
+            case '=': next(); return accept('=') ? TokenKind.EQ : TokenKind.ASSIGN;
+            case '!': next(); return accept('=') ? TokenKind.NOT_EQ : TokenKind.NOT;
+            case '*': next(); return accept('=') ? TokenKind.MULTIPLY_ASSIGN : TokenKind.MULTIPLY;
+            case '%': next(); return accept('=') ? TokenKind.MODULO_ASSIGN : TokenKind.MODULO;
+            case '^': next(); return accept('=') ? TokenKind.BTW_EXC_OR_ASSIGN : TokenKind.BTW_EXC_OR;
+            case '+':
+                next();
+                if (accept('+')) return TokenKind.INCREMENT;
+                return accept('=') ? TokenKind.PLUS_ASSIGN : TokenKind.PLUS;
+            case '-':
+                next();
+                if (accept('-')) return TokenKind.DECREMENT;
+                return accept('=') ? TokenKind.MINUS_ASSIGN : TokenKind.MINUS;
+            case '&':
+                next();
+                if (accept('&')) return TokenKind.AND;
+                return accept('=') ? TokenKind.BTW_AND_ASSIGN : TokenKind.BTW_AND;
+            case '|':
+                next();
+                if (accept('|')) return TokenKind.OR;
+                return accept('=') ? TokenKind.BTW_INC_OR_ASSIGN : TokenKind.BTW_INC_OR;
+            case '<':
+                next();
+                if (accept('<')) {
+                    return accept('=') ? TokenKind.LSHIFT_ASSIGN : TokenKind.LSHIFT;
                 }
-                if (current == '=') {
-                    take();
+                return accept('=') ? TokenKind.LTE : TokenKind.LT;
+            case '>':
+                next();
+                if (accept('>')) {
+                    if (accept('>')) {
+                        return accept('=') ? TokenKind.UN_RSHIFT_ASSIGN : TokenKind.UN_RSHIFT;
+                    }
+                    return accept('=') ? TokenKind.RSHIFT_ASSIGN : TokenKind.RSHIFT;
                 }
-                return TokenKind.spellingMap.get(contentsStr());
-            }
-
-            TokenKind kind = TokenKind.spellingMap.get(currStr);
-            take();
-            return kind;
+                return accept('=') ? TokenKind.GTE : TokenKind.GT;
+            default:
+                listener.err(new CompileError(Position.pack(fileId, line, offset),
+                        String.format("illegal character: '%c'", current)));
+                next();
+                return TokenKind.COMMENT;
         }
-
-        throw new CompileError(new Position(file, line, offset), String.format("illegal character: '%c'", current));
     }
 
     /**
      * Scans for potential comments and if found, attempts to move past them.
      * @return next token kind
-     * @throws CompileError unclosed comment
-     * @throws IOException  file unable to be read
      */
-    private TokenKind scanPotentialComment() throws CompileError, IOException {
-        take();
-        if (current == '/') {
+    private TokenKind scanPotentialComment() {
+        next();
+        if (current == '/' && !done) {
             skipLine();
             return TokenKind.COMMENT;
-        } else if (current == '*') {
+        } else if (current == '*' && !done) {
             int startLine = line;
             next();
             skipComment(startLine);
             return TokenKind.COMMENT;
-        } else if (current == '=') {
-            take();
+        } else if (accept('=')) {
             return TokenKind.DIVIDE_ASSIGN;
         }
         return TokenKind.DIVIDE;
     }
 
     /**
-     * Attempts to advance past a multi-line comment.
+     * Attempts to advance past a multi-line comment, logging an error if the file ends first.
      * @param startLine originating line
-     * @throws CompileError unclosed comment
-     * @throws IOException  file unable to be read
      */
-    private void skipComment(int startLine) throws CompileError, IOException {
+    private void skipComment(int startLine) {
+        if (wordAtATime) {
+            while (!done) {
+                // jump to the next '*', and check whether it closes the comment
+                moveTo(find('*', index()));
+                next();
+                if (current == '/' && !done) {
+                    next();
+                    return;
+                }
+            }
+            listener.err(new CompileError(Position.pack(fileId, startLine, tokenOffset), "unclosed comment"));
+            return;
+        }
+
         while (true) {
             if (done) {
-                throw new CompileError(new Position(file, startLine, tokenOffset), "unclosed comment");
+                listener.err(new CompileError(Position.pack(fileId, startLine, tokenOffset), "unclosed comment"));
+                return;
             }
             if (current == '*') {
                 next();
                 if (done) {
-                    throw new CompileError(new Position(file, startLine, tokenOffset), "unclosed comment");
+                    listener.err(new CompileError(Position.pack(fileId, startLine, tokenOffset), "unclosed comment"));
+                    return;
                 }
                 if (current == '/') {
                     next();
@@ -221,44 +380,58 @@ public class Scanner {
         }
     }
 
-    private boolean isLeadingIdentifier(char c) {
-        return isLetter(c) || c == '_' || c == '$';
+    private boolean isLeadingIdentifier(int c) {
+        return !done && (isLetter(c) || c == '_' || c == '$');
     }
 
-    private boolean isIdentifier(char c) {
-        return isLetter(c) || isNumber(c) || c == '_' || c == '$';
+    private boolean isIdentifier(int c) {
+        return !done && (isLetter(c) || isNumber(c) || c == '_' || c == '$');
     }
 
-    private boolean isLetter(char c) {
-        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\r';
     }
 
-    private boolean isNumber(char c) {
-        return c >= '0' && c <= '9';
+    private static boolean isIdentifierByte(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '$';
     }
 
-    private String contentsStr() {
-        return contents.toString();
+    private boolean isLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
     }
 
-    private String currOrContentsStr() {
-        return !contents.isEmpty() ? contents.toString() : String.valueOf(current);
+    private boolean isNumber(int c) {
+        return !done && c >= '0' && c <= '9';
     }
 
     /**
-     * Adds the current character to the builder for the token's contents, then advances to the next character.
-     * @throws IOException file unable to be read
+     * Advances past the current character if it matches the one given.
+     * @param c expected character
+     * @return true if the current character matched, false otherwise
      */
-    private void take() throws IOException {
-        contents.append(current);
+    private boolean accept(char c) {
+        if (done || current != c) return false;
         next();
+        return true;
+    }
+
+    /**
+     * @return index of the current character within the buffer, or the buffer's limit if the file has been exhausted
+     */
+    private int index() {
+        return done ? limit : charStart;
     }
 
     /**
      * Moves to the next line.
-     * @throws IOException file unable to be read
      */
-    private void skipLine() throws IOException {
+    private void skipLine() {
+        if (wordAtATime) {
+            moveTo(find('\n', index()));
+            next();
+            return;
+        }
+
         while (current != '\n') {
             if (done) return;
             next();
@@ -268,20 +441,267 @@ public class Scanner {
 
     /**
      * Advances to the next character in the file, while keeping track of the current line number and intra-line offset.
-     * @throws IOException file unable to be read
      */
-    private void next() throws IOException {
+    private void next() {
         if (done) return;
         if (current == '\n') {
             line++;
             offset = -1;
         }
 
-        int c = stream.read();
-        if (c == -1) done = true;
+        if (bp < limit) {
+            load(bp);
+        } else {
+            done = true;
+            charStart = limit;
+            current = -1;
+        }
 
-        current = (char) c;
         if (current == '\t') offset += 4;
         else offset++;
     }
+
+    /**
+     * <pre>
+     * Advances past the run of whitespace starting at the current character, keeping track of the line and offset.
+     *
+     * Lines and offsets are tracked directly over the raw bytes rather than through {@link #next()}, and runs of spaces
+     * (i.e. indentation) are jumped over a word at a time.
+     * </pre>
+     */
+    private void skipWhitespace() {
+        int i = charStart;
+        int ln = line;
+        int col = offset;
+        int c = current;
+        while (isWhitespace(c)) {
+            if (i + 1 == limit) {
+                // let next() take care of exhausting the file
+                line = ln;
+                offset = col;
+                charStart = i;
+                bp = limit;
+                current = c;
+                next();
+                return;
+            }
+            if (c == '\n') {
+                ln++;
+                col = -1;
+            }
+            c = buf.get(++i) & 0xFF;
+            if (c == ' ') {
+                // land on the last space of the run
+                int run = spaces(i);
+                i += run - 1;
+                col += run - 1;
+            }
+            col += c == '\t' ? 4 : 1;
+        }
+        line = ln;
+        offset = col;
+        load(i);
+    }
+
+    /**
+     * @return number of consecutive spaces starting at the given index
+     */
+    private int spaces(int from) {
+        long pattern = Swar.broadcast(' ');
+        int i = from;
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            long mask = ~Swar.eq(words.getLong(i), pattern) & Swar.HIGHS;
+            if (mask != 0) return i - from + Swar.first(mask);
+        }
+        while (i < limit && buf.get(i) == ' ') i++;
+        return i - from;
+    }
+
+    /**
+     * @return index of the first byte at or after the given index that can't appear in an identifier, or the limit if
+     *         there is none
+     */
+    private int skipIdentifier(int from) {
+        // most identifiers are short, so a word's worth of bytes is checked one at a time before switching over
+        int i = from;
+        int bytewiseEnd = Math.min(from + Long.BYTES, limit);
+        for (; i < bytewiseEnd; i++) {
+            if (!isIdentifierByte(buf.get(i))) return i;
+        }
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            long mask = ~Swar.identifier(words.getLong(i)) & Swar.HIGHS;
+            if (mask != 0) return i + Swar.first(mask);
+        }
+        while (i < limit && isIdentifierByte(buf.get(i))) i++;
+        return i;
+    }
+
+    /**
+     * @return index of the first occurrence of the given character at or after the given index, or the limit if there
+     *         is none
+     */
+    private int find(char c, int from) {
+        long pattern = Swar.broadcast(c);
+        int i = from;
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            long mask = Swar.eq(words.getLong(i), pattern);
+            if (mask != 0) return i + Swar.first(mask);
+        }
+        while (i < limit && buf.get(i) != c) i++;
+        return i;
+    }
+
+    /**
+     * @return index of the last occurrence of the given character within {@code [from, to)}, or -1 if there is none
+     */
+    private int findLast(char c, int from, int to) {
+        long pattern = Swar.broadcast(c);
+        int i = to;
+        for (; i - Long.BYTES >= from; i -= Long.BYTES) {
+            long mask = Swar.eq(words.getLong(i - Long.BYTES), pattern);
+            if (mask != 0) return i - Long.BYTES + Swar.last(mask);
+        }
+        while (--i >= from) {
+            if (buf.get(i) == c) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return number of occurrences of the given character within {@code [from, to)}
+     */
+    private int count(char c, int from, int to) {
+        long pattern = Swar.broadcast(c);
+        int count = 0;
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            count += Swar.count(Swar.eq(words.getLong(i), pattern));
+        }
+        for (; i < to; i++) {
+            if (buf.get(i) == c) count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return number of columns spanned by the bytes within {@code [from, to)} - one per UTF-8 encoded character, except
+     *         for tabs, which span four
+     */
+    private int columns(int from, int to) {
+        long tabs = Swar.broadcast('\t');
+        int cols = to - from;
+        int i = from;
+        for (; i + 2 * Long.BYTES <= to; i += 2 * Long.BYTES) {
+            long w1 = words.getLong(i);
+            long w2 = words.getLong(i + Long.BYTES);
+            cols += 3 * (Swar.count(Swar.eq(w1, tabs)) + Swar.count(Swar.eq(w2, tabs)));
+            // only once non-ASCII bytes show up do continuation bytes need to be discounted
+            if (((w1 | w2) & Swar.HIGHS) != 0) {
+                cols -= Swar.count(Swar.continuation(w1)) + Swar.count(Swar.continuation(w2));
+            }
+        }
+        for (; i < to; i++) {
+            int b = buf.get(i);
+            if (b == '\t') cols += 3;
+            else if ((b & 0xC0) == 0x80) cols--;
+        }
+        return cols;
+    }
+
+    /**
+     * <pre>
+     * Moves to the character at the given index (or past the end of the file, if it's the limit), leaving the line and
+     * offset exactly as repeated calls to {@link #next()} would have.
+     *
+     * Rather than stepping through the characters in between, the line is advanced by the number of newlines skipped
+     * over, and the offset recomputed from the columns spanned by the characters following the last of them - both
+     * counted a word at a time.
+     * </pre>
+     * @param target index of an ASCII character at or after the current character's, or the limit
+     */
+    private void moveTo(int target) {
+        int from = charStart;
+        if (done || target <= from) return;
+
+        int end = Math.min(target + 1, limit);
+        int lastNewline = findLast('\n', from, target);
+        if (lastNewline >= 0) {
+            line += count('\n', from, lastNewline + 1);
+            offset = columns(lastNewline + 1, end) - 1;
+        } else {
+            offset += columns(from + 1, end);
+        }
+
+        if (target == limit) {
+            // as next() does once the file is exhausted
+            done = true;
+            charStart = bp = limit;
+            current = -1;
+            offset++;
+        } else {
+            load(target);
+        }
+    }
+
+    /**
+     * Moves to the character at the given index (or past the end of the file, if it's the limit), where every character
+     * in between is on the current line and is an ASCII character other than a tab - i.e. the end of an identifier.
+     * @param target index after the current character's
+     */
+    private void moveAlongLine(int target) {
+        // step onto the character just before the target directly, then let next() account for the target itself
+        offset += target - 1 - charStart;
+        load(target - 1);
+        next();
+    }
+
+    /**
+     * Reads the character starting at the given index, decoding it if it isn't ASCII.
+     */
+    private void load(int index) {
+        charStart = index;
+        bp = index + 1;
+        int b = buf.get(index);
+        current = b >= 0 ? b : decode(b);
+    }
+
+    /**
+     * Decodes the rest of a multi-byte UTF-8 sequence, whose lead byte has just been read, advancing past it.
+     * <br><br>
+     * A malformed sequence decodes to {@link #REPLACEMENT}, consuming only its lead byte.
+     * @param lead lead byte
+     * @return code point
+     */
+    private int decode(int lead) {
+        int len;
+        int cp;
+        int min;
+        if ((lead & 0xE0) == 0xC0) {
+            len = 2;
+            cp = lead & 0x1F;
+            min = 0x80;
+        } else if ((lead & 0xF0) == 0xE0) {
+            len = 3;
+            cp = lead & 0x0F;
+            min = 0x800;
+        } else if ((lead & 0xF8) == 0xF0) {
+            len = 4;
+            cp = lead & 0x07;
+            min = 0x10000;
+        } else {
+            return REPLACEMENT;
+        }
+
+        if (bp + len - 1 > limit) return REPLACEMENT;
+        for (int i = 0; i < len - 1; i++) {
+            int b = buf.get(bp + i);
+            if ((b & 0xC0) != 0x80) return REPLACEMENT;
+            cp = (cp << 6) | (b & 0x3F);
+        }
+        // reject overlong encodings, surrogates, and anything past the last code point
+        if (cp < min || cp > Character.MAX_CODE_POINT || (cp >= 0xD800 && cp <= 0xDFFF)) return REPLACEMENT;
+
+        bp += len - 1;
+        return cp;
+    }
 }
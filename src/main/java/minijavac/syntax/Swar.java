@@ -0,0 +1,94 @@
+package minijavac.syntax;
+
+/**
+ * <pre>
+ * SIMD-within-a-register helpers, used by the {@link Scanner} to classify eight source bytes at a time.
+ *
+ * Each word is read big-endian, so the byte at the lowest index occupies the most significant bits - and the index of
+ * the first byte satisfying some predicate is the number of leading zeros of its mask, divided by eight.
+ *
+ * Every mask computed here is exact: the high bit of a byte is set if and only if that byte satisfies the predicate,
+ * with no borrows or carries leaking into neighbouring bytes. That keeps masks safe to count and to scan from either
+ * end, at the cost of an extra operation or two over the classic has-zero-byte trick.
+ * </pre>
+ */
+final class Swar {
+
+    static final long ONES = 0x0101010101010101L;
+    static final long HIGHS = 0x8080808080808080L;
+    static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+
+    private Swar() {}
+
+    /**
+     * @return word with every byte set to the given character
+     */
+    static long broadcast(char c) {
+        return ONES * c;
+    }
+
+    /**
+     * @param word    eight source bytes
+     * @param pattern broadcast character
+     * @return mask with the high bit of each byte set if the byte equals the pattern's
+     */
+    static long eq(long word, long pattern) {
+        long x = word ^ pattern;
+        return ~(((x & LOWS) + LOWS) | x | LOWS);
+    }
+
+    /**
+     * @param word eight source bytes
+     * @param lo   lowest character in range
+     * @param hi   highest character in range
+     * @return mask with the high bit of each byte set if the byte lies within {@code [lo, hi]}
+     */
+    static long inRange(long word, char lo, char hi) {
+        long low7 = word & LOWS;
+        // for bytes below 0x80, adding (0x80 - lo) sets the high bit iff b >= lo, and adding (0x7F - hi) iff b > hi,
+        // without carrying into the next byte
+        long geLo = low7 + ONES * (0x80 - lo);
+        long gtHi = low7 + ONES * (0x7F - hi);
+        return geLo & ~gtHi & ~word & HIGHS;
+    }
+
+    /**
+     * @param mask byte mask, as returned by {@link #eq(long, long)} or {@link #inRange(long, char, char)}
+     * @return index of the first byte set in the mask, or 8 if there is none
+     */
+    static int first(long mask) {
+        return Long.numberOfLeadingZeros(mask) >>> 3;
+    }
+
+    /**
+     * @param mask byte mask
+     * @return index of the last byte set in the mask, or -1 if there is none
+     */
+    static int last(long mask) {
+        return 7 - (Long.numberOfTrailingZeros(mask) >>> 3);
+    }
+
+    /**
+     * @param mask byte mask
+     * @return number of bytes set in the mask
+     */
+    static int count(long mask) {
+        return Long.bitCount(mask);
+    }
+
+    /**
+     * @return mask with the high bit of each byte set if the byte is a UTF-8 continuation byte ({@code 10xxxxxx})
+     */
+    static long continuation(long word) {
+        // shifting each byte's bit 6 into its bit 7 only ever carries into bit 0 of the neighbouring byte
+        return word & ~(word << 1) & HIGHS;
+    }
+
+    /**
+     * @return mask with the high bit of each byte set if the byte can appear within an identifier
+     */
+    static long identifier(long word) {
+        return inRange(word, 'a', 'z') | inRange(word, 'A', 'Z') | inRange(word, '0', '9')
+                | eq(word, broadcast('_')) | eq(word, broadcast('$'));
+    }
+}
@@ -1,5 +1,7 @@
 package minijavac.syntax;
 
+import java.nio.file.Path;
+
 /**
  * Smallest meaningful lexical unit recognized by the compiler.
  */
@@ -7,15 +9,42 @@ public class Token {
 
     public TokenKind kind;
     public String contents;
-    public Position pos;
 
-    public Token(TokenKind kind, String contents, Position pos) {
+    /**
+     * Packed position, see {@link Position}.
+     */
+    public long pos;
+
+    /**
+     * Interned spelling, set only for identifiers.
+     */
+    public Name name;
+
+    /**
+     * File the token was scanned from, null if it wasn't scanned from source.
+     */
+    public Path file;
+
+    public Token(TokenKind kind, String contents, long pos) {
         this.kind = kind;
         this.contents = contents;
         this.pos = pos;
     }
 
-    public Position endPos() {
-        return new Position(pos.file(), pos.line(), pos.offset() + contents.length());
+    public Token(TokenKind kind, Name name, long pos) {
+        this(kind, name.toString(), pos);
+        this.name = name;
+    }
+
+    public long endPos() {
+        return Position.shift(pos, contents.length());
+    }
+
+    /**
+     * @return expanded position, for diagnostics, or null if the token has no position
+     */
+    public Position position() {
+        if (pos == Position.NOPOS) return null;
+        return new Position(file, Position.line(pos), Position.offset(pos));
     }
 }
@@ -0,0 +1,134 @@
+package minijavac.syntax;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * <pre>
+ * Cursor over the tokens of a source file, consumed by the {@link Parser}.
+ *
+ * Rather than handing out a new {@link Token} per lexeme, the current (and previous) token is described by the
+ * primitive fields below, which are overwritten on each call to {@link #advance()}. Most tokens (keywords,
+ * punctuation, operators) are fully described by their kind and position - text is only materialized on request, via
+ * {@link #name()} for identifiers and {@link #text()} for numeric literals.
+ *
+ * {@link Token} objects are still available through {@link #token()} and {@link #prevToken()}, for the few places
+ * (i.e. parse errors) that need one.
+ * </pre>
+ */
+public abstract class TokenCursor {
+
+    /*
+    * Source the token ranges below refer to.
+    * */
+    protected ByteBuffer buf;
+
+    /*
+    * Table identifiers are interned into, shared by every file in the compilation.
+    * */
+    protected Names names;
+
+    /*
+    * File being scanned, and the table of the compilation's files that its id was assigned by.
+    * */
+    protected Path file;
+    protected FileTable files;
+
+    public TokenKind kind;
+
+    /**
+     * Packed position, see {@link Position}.
+     */
+    public long pos;
+
+    /**
+     * Index of the token's first byte within the source.
+     */
+    public int start;
+
+    /**
+     * Index just past the token's last byte within the source.
+     */
+    public int end;
+
+    /**
+     * Previous token's kind, null if the cursor is positioned at the first token.
+     */
+    public TokenKind prevKind;
+    public long prevPos;
+    public int prevStart;
+    public int prevEnd;
+
+    /**
+     * Moves the cursor to the next token, which becomes available through its fields.
+     */
+    public void advance() {
+        prevKind = kind;
+        prevPos = pos;
+        prevStart = start;
+        prevEnd = end;
+        scanNext();
+    }
+
+    /**
+     * Scans the next token into {@link #kind}, {@link #pos}, {@link #start}, and {@link #end}.
+     */
+    protected abstract void scanNext();
+
+    /**
+     * @return interned spelling of the current token, which must be an identifier
+     */
+    public Name name() {
+        return names.fromBytes(buf, start, end - start);
+    }
+
+    /**
+     * @return contents of the current token, materialized from the source
+     */
+    public String text() {
+        return text(start, end);
+    }
+
+    /**
+     * @return packed position just past the end of the previous token
+     */
+    public long prevEndPos() {
+        return Position.shift(prevPos, prevEnd - prevStart);
+    }
+
+    /**
+     * @return current token, as a newly allocated {@link Token}
+     */
+    public Token token() {
+        return token(kind, pos, start, end);
+    }
+
+    /**
+     * @return previous token, as a newly allocated {@link Token}, or null if there is none
+     */
+    public Token prevToken() {
+        return prevKind != null ? token(prevKind, prevPos, prevStart, prevEnd) : null;
+    }
+
+    private Token token(TokenKind kind, long pos, int start, int end) {
+        Token token = switch (kind) {
+            case EOF -> new Token(kind, (String) null, Position.NOPOS);
+            case IDENTIFIER -> new Token(kind, names.fromBytes(buf, start, end - start), pos);
+            case NUM, FLOAT_NUM -> new Token(kind, text(start, end), pos);
+            default -> new Token(kind, kind.getSpelling(), pos);
+        };
+        token.file = file;
+        return token;
+    }
+
+    /**
+     * Materializes the (ASCII) contents of the given range of the source.
+     */
+    protected String text(int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (buf.get(start + i) & 0xFF);
+        }
+        return new String(chars);
+    }
+}
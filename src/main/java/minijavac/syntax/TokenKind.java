@@ -81,9 +81,11 @@ public enum TokenKind {
     NUM, FLOAT_NUM, IDENTIFIER, COMMENT, EOF;
 
     private String spelling;
-    public static final Map<String, TokenKind> spellingMap;
-    private static final Set<String> compoundPrefixes;
-    private static final Set<String> repeaters;
+
+    /*
+    * Binding power as a binary operator, 0 if the kind isn't one.
+    * */
+    private int binaryPrecedence;
     private static final Set<TokenKind> comparisonOps;
     private static final Set<TokenKind> assignmentOps;
     private static final Set<TokenKind> arithmeticOps;
@@ -100,19 +102,6 @@ public enum TokenKind {
     }
 
     static {
-        spellingMap = Arrays.stream(TokenKind.values())
-                .filter(tk -> tk.spelling != null)
-                .collect(Collectors.toMap(
-                        tk -> tk.spelling,
-                        tk -> tk
-                ));
-
-        repeaters = Stream.of(LT, GT, BTW_AND, BTW_INC_OR, PLUS, MINUS)
-                .map(tk -> tk.spelling).collect(Collectors.toSet());
-
-        compoundPrefixes = Stream.of(ASSIGN, LT, GT, NOT, PLUS, MINUS, MULTIPLY, MODULO, BTW_AND, BTW_EXC_OR,
-                BTW_INC_OR, LSHIFT, RSHIFT, UN_RSHIFT).map(tk -> tk.spelling).collect(Collectors.toSet());
-
         comparisonOps = Stream.of(EQ, LT, GT, LTE, GTE, NOT_EQ).collect(Collectors.toSet());
 
         assignmentOps = Stream.of(ASSIGN, PLUS_ASSIGN, MINUS_ASSIGN, MULTIPLY_ASSIGN, DIVIDE_ASSIGN, MODULO_ASSIGN,
@@ -133,22 +122,34 @@ public enum TokenKind {
                 .collect(Collectors.toSet());
 
         modifiers = Stream.of(PRIVATE, PUBLIC, STATIC, FINAL).collect(Collectors.toSet());
-    }
 
-    /**
-     * Evaluates whether the offered (1 char) string is a prefix to an operator comprised of repeating characters.
-     * <br><br>Valid prefixes: {@code <, >, &, |, +, -}
-     */
-    public static boolean isRepeater(String s) {
-        return repeaters.contains(s);
+        // binary operators, from lowest to highest precedence
+        List<List<TokenKind>> precedenceLevels = List.of(
+                List.of(OR),
+                List.of(AND),
+                List.of(BTW_INC_OR),
+                List.of(BTW_EXC_OR),
+                List.of(BTW_AND),
+                List.of(EQ, NOT_EQ),
+                List.of(LT, GT, LTE, GTE),
+                List.of(LSHIFT, RSHIFT, UN_RSHIFT),
+                List.of(PLUS, MINUS),
+                List.of(MULTIPLY, DIVIDE, MODULO)
+        );
+        for (int i = 0; i < precedenceLevels.size(); i++) {
+            for (TokenKind kind : precedenceLevels.get(i)) {
+                kind.binaryPrecedence = i + 1;
+            }
+        }
     }
 
     /**
-     * Evaluates whether the offered string is a prefix to a compound assignment operator.
-     * <br><br>Valid prefixes: {@code =, <, >, !, +, -, *, %, &, ^, |, <<, >>, >>>}
+     * Returns the precedence of the {@link TokenKind} instance as a (left-associative) binary operator, ranging from
+     * 1 for {@code ||} up to 10 for {@code *, /, %}.
+     * <br><br>Returns 0 if the kind is not a binary operator.
      */
-    public static boolean isCompoundPrefix(String s) {
-        return compoundPrefixes.contains(s);
+    public int getBinaryPrecedence() {
+        return binaryPrecedence;
     }
 
     /**
@@ -199,6 +200,13 @@ public enum TokenKind {
         return modifiers.contains(this);
     }
 
+    /**
+     * @return fixed spelling of the {@link TokenKind} instance, or null for identifiers, numbers, comments, and EOF
+     */
+    public String getSpelling() {
+        return spelling;
+    }
+
     public String print() {
        if (this == TokenKind.NUM || this == TokenKind.IDENTIFIER) {
            return String.format("<%s>", this.name().toLowerCase());
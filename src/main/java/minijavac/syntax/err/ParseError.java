@@ -1,7 +1,6 @@
 package minijavac.syntax.err;
 
 import minijavac.err.CompileError;
-import minijavac.syntax.Position;
 import minijavac.syntax.Token;
 
 /**
@@ -16,7 +15,7 @@ public class ParseError extends CompileError {
         this.token = token;
     }
 
-    protected ParseError(Position pos, Token token, String msg) {
+    protected ParseError(long pos, Token token, String msg) {
         super(pos, msg);
         this.token = token;
     }
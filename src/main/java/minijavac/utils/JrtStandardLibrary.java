@@ -0,0 +1,277 @@
+package minijavac.utils;
+
+import minijavac.ast.ClassDecl;
+import minijavac.syntax.Names;
+import minijavac.utils.StandardLibrary.Field;
+import minijavac.utils.StandardLibrary.Method;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <pre>
+ * {@link StdLibProvider} that resolves standard library classes from the running JDK's own class files, read through
+ * the {@code jrt:/} file system - so the whole of the {@code java.*} packages is available, rather than just the subset
+ * defined in {@code stdlib.yaml}, at no cost for the classes a program never references.
+ *
+ * Each class file is parsed only for what the compiler can use:
+ *   - Public fields and methods whose types are all supported - {@code int}, {@code float}, {@code boolean},
+ *     {@code void}, classes, and arrays of those. Members involving any other primitive type are left out.
+ *   - Only members declared by the class itself, as inheritance isn't supported.
+ *   - No constructors, and no methods of interfaces (which would need {@code invokeinterface}).
+ *
+ * Parsed classes are held in a bounded, least-recently-used cache (along with the names that couldn't be found), so
+ * that repeated compilations in the same process don't parse the same class files again, without the cache growing
+ * with every class ever referenced.
+ *
+ * Only classes in {@code java.lang} can be referenced by their simple name, as there are no imports.
+ * </pre>
+ */
+public class JrtStandardLibrary implements StdLibProvider {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_BRIDGE = 0x0040;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    private final FileSystem jrt;
+    private final Map<String, Optional<StandardLibrary.Class>> cache;
+
+    /**
+     * @param capacity maximum number of classes (or missing class names) to hold on to
+     */
+    public JrtStandardLibrary(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("invalid capacity: %d", capacity));
+        }
+        this.jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<StandardLibrary.Class>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return provider shared by every compilation in the process, with a cache of {@link #DEFAULT_CAPACITY} classes
+     */
+    public static JrtStandardLibrary shared() {
+        return Shared.INSTANCE;
+    }
+
+    private static class Shared {
+        static final JrtStandardLibrary INSTANCE = new JrtStandardLibrary(DEFAULT_CAPACITY);
+    }
+
+    @Override
+    public ClassDecl find(String name, Names names) {
+        String internalName = name.indexOf('/') >= 0 ? name : String.format("java/lang/%s", name);
+        if (!internalName.startsWith("java/")) return null;
+
+        StandardLibrary.Class cls = lookup(internalName);
+        if (cls == null) return null;
+
+        String pkg = internalName.substring("java/".length(), internalName.lastIndexOf('/'));
+        return StandardLibrary.getClass(cls, pkg, pkg.equals("lang") ? cls.name() : null, names);
+    }
+
+    /**
+     * @return number of classes (and missing class names) currently cached
+     */
+    public int cached() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private StandardLibrary.Class lookup(String internalName) {
+        synchronized (cache) {
+            Optional<StandardLibrary.Class> cls = cache.get(internalName);
+            if (cls != null) return cls.orElse(null);
+        }
+
+        // parsed outside the lock - if two threads race on the same class, both parse it and one result is kept
+        StandardLibrary.Class cls;
+        try {
+            cls = read(internalName);
+        } catch (IOException ex) {
+            cls = null;
+        }
+        synchronized (cache) {
+            cache.put(internalName, Optional.ofNullable(cls));
+        }
+        return cls;
+    }
+
+    /**
+     * @param internalName fully qualified internal name, i.e. {@code java/lang/String}
+     * @return class parsed from its class file, or null if there is no such public class
+     * @throws IOException class file unable to be read
+     */
+    private StandardLibrary.Class read(String internalName) throws IOException {
+        int slash = internalName.lastIndexOf('/');
+        // /packages/<package> holds a link to each module containing the package
+        Path pkgDir = jrt.getPath("/packages", internalName.substring(0, slash).replace('/', '.'));
+        if (!Files.isDirectory(pkgDir)) return null;
+
+        try (DirectoryStream<Path> modules = Files.newDirectoryStream(pkgDir)) {
+            for (Path module : modules) {
+                Path file = module.resolve(String.format("%s.class", internalName));
+                if (Files.exists(file)) {
+                    return parse(Files.readAllBytes(file), internalName.substring(slash + 1));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses the public fields and methods out of a class file, skipping everything else (including every attribute).
+     * @param bytes     class file
+     * @param className simple class name
+     * @return class, or null if the class isn't public
+     * @throws IOException malformed class file
+     */
+    private static StandardLibrary.Class parse(byte[] bytes, String className) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != MAGIC) throw new IOException(String.format("not a class file: %s", className));
+        in.skipBytes(4); // minor & major version
+
+        String[] utf8 = readConstantPool(in);
+
+        int access = in.readUnsignedShort();
+        if ((access & ACC_PUBLIC) == 0 || (access & ACC_SYNTHETIC) != 0) return null;
+        boolean isInterface = (access & ACC_INTERFACE) != 0;
+
+        in.skipBytes(4); // this & super class
+        in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+
+        List<Field> fields = new ArrayList<>();
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            int flags = in.readUnsignedShort();
+            String name = utf8[in.readUnsignedShort()];
+            String descriptor = utf8[in.readUnsignedShort()];
+            skipAttributes(in);
+
+            if ((flags & ACC_PUBLIC) == 0 || (flags & ACC_SYNTHETIC) != 0) continue;
+            List<String> types = parseDescriptor(descriptor);
+            if (types != null) fields.add(new Field(name, types.get(0), (flags & ACC_STATIC) != 0));
+        }
+
+        List<Method> methods = new ArrayList<>();
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            int flags = in.readUnsignedShort();
+            String name = utf8[in.readUnsignedShort()];
+            String descriptor = utf8[in.readUnsignedShort()];
+            skipAttributes(in);
+
+            if (isInterface || name.startsWith("<")) continue; // interface methods, constructors, static initializer
+            if ((flags & ACC_PUBLIC) == 0 || (flags & (ACC_SYNTHETIC | ACC_BRIDGE)) != 0) continue;
+            List<String> types = parseDescriptor(descriptor);
+            if (types == null) continue;
+
+            String type = types.remove(types.size() - 1);
+            methods.add(new Method(name, type, types, (flags & ACC_STATIC) != 0));
+        }
+
+        return new StandardLibrary.Class(className, methods, fields);
+    }
+
+    /**
+     * @return UTF-8 entries of the constant pool, by index (null for every other kind of entry)
+     */
+    private static String[] readConstantPool(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        String[] utf8 = new String[count];
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> utf8[i] = in.readUTF(); // Utf8
+                case 7, 8, 16, 19, 20 -> in.skipBytes(2); // Class, String, MethodType, Module, Package
+                case 15 -> in.skipBytes(3); // MethodHandle
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4); // Integer, Float, refs, NameAndType, dynamic
+                case 5, 6 -> { // Long, Double - take up two entries
+                    in.skipBytes(8);
+                    i++;
+                }
+                default -> throw new IOException(String.format("invalid constant pool tag: %d", tag));
+            }
+        }
+        return utf8;
+    }
+
+    private static void skipAttributes(DataInputStream in) throws IOException {
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            in.skipBytes(2);
+            in.skipBytes(in.readInt());
+        }
+    }
+
+    /**
+     * <pre>
+     * Converts a field or method descriptor into the type names understood by {@link StandardLibrary}.
+     *
+     * Examples:
+     *  - {@code "I"} -> {@code [int]}
+     *  - {@code "([Ljava/lang/String;F)V"} -> {@code [java/lang/String[], float, void]}
+     * </pre>
+     * @param descriptor field or method descriptor
+     * @return parameter types followed by the return type (or just the type, for a field), or null if any of the types
+     * isn't supported
+     */
+    static List<String> parseDescriptor(String descriptor) {
+        List<String> types = new ArrayList<>();
+        int i = 0;
+        while (i < descriptor.length()) {
+            char c = descriptor.charAt(i);
+            if (c == '(' || c == ')') {
+                i++;
+                continue;
+            }
+
+            int dims = 0;
+            while (descriptor.charAt(i) == '[') {
+                dims++;
+                i++;
+            }
+
+            String type;
+            c = descriptor.charAt(i);
+            if (c == 'L') {
+                int end = descriptor.indexOf(';', i);
+                type = descriptor.substring(i + 1, end);
+                i = end + 1;
+            } else {
+                type = switch (c) {
+                    case 'I' -> "int";
+                    case 'F' -> "float";
+                    case 'Z' -> "boolean";
+                    case 'V' -> "void";
+                    default -> null; // long, double, char, byte, short
+                };
+                if (type == null) return null;
+                i++;
+            }
+            types.add(type + "[]".repeat(dims));
+        }
+        return types;
+    }
+}
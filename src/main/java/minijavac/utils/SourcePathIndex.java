@@ -0,0 +1,153 @@
+package minijavac.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <pre>
+ * In-memory listing of the source files found on the source path, built with a single directory listing - so that
+ * whether {@code Foo.java} exists is answered without touching the file system, however many files reference
+ * {@code Foo}, and however many names (like {@code String} or {@code System}) never resolve to a file at all.
+ *
+ * Referenced classes are only ever looked up directly within the source path (there are no packages), so only that one
+ * directory is listed.
+ *
+ * The listing can optionally be cached in a file, keyed by the directory's modification time, which changes whenever a
+ * file is added to, removed from, or renamed within the directory. The cache is only written once the modification
+ * time is old enough that a change made within the same tick of the file system's clock can't go unnoticed.
+ * </pre>
+ */
+public class SourcePathIndex {
+
+    private static final int MAGIC = 0x4D4A5350;
+    private static final int VERSION = 1;
+
+    /* how much older than the listing the directory's modification time must be for the listing to be cached, to allow
+     * for file systems with coarse timestamps
+     * */
+    private static final long RACY_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final Set<String> files;
+
+    private SourcePathIndex(Set<String> files) {
+        this.files = files;
+    }
+
+    /**
+     * Lists the given directory.
+     * @param dir source path
+     * @return index of the source files within the directory (empty if there is no such directory)
+     * @throws IOException directory unable to be listed
+     */
+    public static SourcePathIndex build(Path dir) throws IOException {
+        Set<String> files = new HashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.java")) {
+            for (Path file : stream) {
+                files.add(file.getFileName().toString());
+            }
+        } catch (NoSuchFileException ex) {
+            return new SourcePathIndex(Collections.emptySet());
+        }
+        return new SourcePathIndex(files);
+    }
+
+    /**
+     * Reads the index of the given directory from the cache file, if it's still up to date, and otherwise lists the
+     * directory and (if possible) updates the cache file.
+     * <br><br>
+     * A missing, stale, or unreadable cache file is never an error - the directory is just listed instead.
+     * @param dir   source path
+     * @param cache cache file
+     * @return index of the source files within the directory
+     * @throws IOException directory unable to be listed
+     */
+    public static SourcePathIndex load(Path dir, Path cache) throws IOException {
+        String key = dir.toAbsolutePath().normalize().toString();
+        long mtime;
+        try {
+            mtime = Files.getLastModifiedTime(dir).to(TimeUnit.NANOSECONDS);
+        } catch (NoSuchFileException ex) {
+            return new SourcePathIndex(Collections.emptySet());
+        }
+
+        SourcePathIndex cached = read(cache, key, mtime);
+        if (cached != null) return cached;
+
+        long listedAt = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        SourcePathIndex index = build(dir);
+        if (listedAt - mtime >= RACY_NANOS) index.write(cache, key, mtime);
+        return index;
+    }
+
+    /**
+     * @param className class name
+     * @return whether the class's source file exists on the source path
+     */
+    public boolean contains(String className) {
+        return files.contains(String.format("%s.java", className));
+    }
+
+    /**
+     * @return number of source files on the source path
+     */
+    public int size() {
+        return files.size();
+    }
+
+    private static SourcePathIndex read(Path cache, String key, long mtime) {
+        try (InputStream is = Files.newInputStream(cache);
+             DataInputStream in = new DataInputStream(is)) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return null;
+            if (!in.readUTF().equals(key) || in.readLong() != mtime) return null;
+
+            Set<String> files = new HashSet<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                files.add(in.readUTF());
+            }
+            return new SourcePathIndex(files);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the cache file through a temporary file, so that a concurrent compilation never reads a partial cache.
+     */
+    private void write(Path cache, String key, long mtime) {
+        Path tmp = null;
+        try {
+            Path parent = cache.toAbsolutePath().getParent();
+            tmp = Files.createTempFile(parent, cache.getFileName().toString(), ".tmp");
+            try (OutputStream os = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(os)) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(key);
+                out.writeLong(mtime);
+                out.writeInt(files.size());
+                for (String file : files) {
+                    out.writeUTF(file);
+                }
+            }
+            Files.move(tmp, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            // the cache is only an optimization
+            try {
+                if (tmp != null) Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
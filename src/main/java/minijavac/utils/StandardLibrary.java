@@ -4,47 +4,122 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import minijavac.ast.*;
+import minijavac.syntax.Names;
+import minijavac.syntax.Position;
 
-import java.io.File;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
 
+/**
+ * <pre>
+ * Provides the standard library classes, as defined in the {@code stdlib.yaml} file.
+ *
+ * Parsing YAML means loading and initializing Jackson and SnakeYAML, which costs far more than the rest of a small
+ * compilation - so at build time, {@link #main(String[])} converts {@code stdlib.yaml} into a compact binary snapshot,
+ * {@code stdlib.bin}, and that's all that's read at runtime. Jackson is only touched if the snapshot is missing or
+ * out of date (i.e. when running from classes that weren't built by Maven, or after {@code stdlib.yaml} was edited
+ * without rebuilding), in which case the YAML is parsed instead. The snapshot records a checksum of the YAML it was
+ * converted from, which is compared against the YAML's raw bytes when the snapshot is read.
+ *
+ * The compiler doesn't enter these classes up front - {@link #snapshot()} provides them to the symbol table one at a
+ * time, as they're first referenced. For the real JDK's classes, see {@link JrtStandardLibrary}.
+ *
+ * Snapshot layout, written with a {@link DataOutputStream}:
+ *
+ * magic (int), version (int), YAML checksum (long), package count (int), then for each package:
+ *     name (utf), class count (int), then for each class:
+ *         name (utf), field count (int), then for each field:
+ *             name (utf), type (utf), static (boolean)
+ *         method count (int), then for each method:
+ *             name (utf), type (utf), static (boolean), param count (int), then each param type (utf)
+ * </pre>
+ */
 public class StandardLibrary {
 
-    private record Method(String name, String type, List<String> params, @JsonProperty("static") boolean isStatic) {}
-    private record Field(String name, String type, @JsonProperty("static") boolean isStatic) {}
-    private record Class(String name, List<Method> methods, List<Field> fields) {}
-    private record Package(String name, List<Class> classes) {}
-    private record Stdlib(List<Package> packages) {}
+    private static final String YAML = "/stdlib.yaml";
+    private static final String SNAPSHOT = "/stdlib.bin";
+
+    private static final int MAGIC = 0x4D4A5354; // "MJST"
+    private static final int VERSION = 2;
+
+    record Method(String name, String type, List<String> params, @JsonProperty("static") boolean isStatic) {}
+    record Field(String name, String type, @JsonProperty("static") boolean isStatic) {}
+    record Class(String name, List<Method> methods, List<Field> fields) {}
+    record Package(String name, List<Class> classes) {}
+    record Stdlib(List<Package> packages) {}
 
     /**
-     * Constructs {@link ClassDecl} nodes for standard library classes, as defined in the {@code stdlib.yaml} file.
+     * Constructs {@link ClassDecl} nodes for standard library classes, from the binary snapshot if there is one, or
+     * otherwise from the {@code stdlib.yaml} file.
+     * @param names name table to intern the classes' identifiers in
      * @return std lib classes
      */
-    public static List<ClassDecl> getClasses() {
-        List<ClassDecl> classes = new ArrayList<>();
-        ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+    public static List<ClassDecl> getClasses(Names names) {
+        Stdlib stdlib = readSnapshot();
+        return getClasses(stdlib != null ? stdlib : Yaml.read(), names);
+    }
 
-        try (InputStream yamlStream = StandardLibrary.class.getResourceAsStream("/stdlib.yaml")) {
+    /**
+     * Constructs {@link ClassDecl} nodes for standard library classes by parsing the {@code stdlib.yaml} file, ignoring
+     * any snapshot - i.e. to check the snapshot against, or to measure what it saves.
+     * @param names name table to intern the classes' identifiers in
+     * @return std lib classes
+     */
+    public static List<ClassDecl> getClassesFromYaml(Names names) {
+        return getClasses(Yaml.read(), names);
+    }
 
-            Stdlib stdlib = mapper.readValue(yamlStream, Stdlib.class);
-            for (Package pkg : stdlib.packages()) {
-                for (Class cls : pkg.classes()) {
-                    classes.add(getClass(cls, pkg.name));
-                }
+    /**
+     * @return provider of the standard library classes defined in the snapshot (or {@code stdlib.yaml}), each
+     * retrievable by its fully qualified name or its simple name
+     */
+    public static StdLibProvider snapshot() {
+        return Snapshot.INSTANCE;
+    }
+
+    /**
+     * @return whether a binary snapshot of the standard library is available, and was converted from the current
+     * {@code stdlib.yaml}
+     */
+    public static boolean hasSnapshot() {
+        return readSnapshot() != null;
+    }
+
+    private static List<ClassDecl> getClasses(Stdlib stdlib, Names names) {
+        List<ClassDecl> classes = new ArrayList<>();
+        if (stdlib == null) return classes;
+
+        for (Package pkg : stdlib.packages()) {
+            for (Class cls : pkg.classes()) {
+                classes.add(getClass(cls, pkg.name, cls.name, names));
             }
-        } catch (IOException ignore) {}
+        }
         return classes;
     }
 
-    private static ClassDecl getClass(Class cls, String pkg) {
+    /**
+     * @param cls       class definition
+     * @param pkg       package name, relative to {@code java/}
+     * @param shortName name by which the class can be referenced without an import, or null if there is none
+     * @param names     name table to intern the class's identifiers in
+     * @return class declaration
+     */
+    static ClassDecl getClass(Class cls, String pkg, String shortName, Names names) {
         List<FieldDecl> fields = new ArrayList<>();
         if (cls.fields() != null) {
             for (Field field : cls.fields()) {
-                FieldDecl fieldDecl = FieldDecl.stdLib(field.isStatic(), false, getType(field.type),
-                        Identifier.of(field.name));
+                FieldDecl fieldDecl = FieldDecl.stdLib(field.isStatic(), false, getType(field.type, names),
+                        Identifier.of(field.name, names));
                 fields.add(fieldDecl);
             }
         }
@@ -52,27 +127,219 @@ public class StandardLibrary {
         List<MethodDecl> methods = new ArrayList<>();
         if (cls.methods() != null) {
             for (Method method : cls.methods()) {
-                FieldDecl fieldDecl = FieldDecl.stdLib(method.isStatic(), false, getType(method.type),
-                        Identifier.of(method.name));
+                FieldDecl fieldDecl = FieldDecl.stdLib(method.isStatic(), false, getType(method.type, names),
+                        Identifier.of(method.name, names));
                 ParameterDeclList parameterDeclList = new ParameterDeclList();
                 for (String param : method.params) {
-                    parameterDeclList.add(ParameterDecl.stdLib(getType(param)));
+                    parameterDeclList.add(ParameterDecl.stdLib(getType(param, names)));
                 }
                 MethodDecl methodDecl = MethodDecl.stdLib(fieldDecl, parameterDeclList);
                 methods.add(methodDecl);
             }
         }
 
-        return ClassDecl.stdLib(String.format("java/%s/%s", pkg, cls.name), fields, methods, cls.name);
+        return ClassDecl.stdLib(String.format("java/%s/%s", pkg, cls.name), fields, methods, shortName, names);
     }
 
-    private static Type getType(String str) {
+    /**
+     * @param str type name - a primitive, a fully qualified class name, or either followed by one {@code []} per
+     *            array dimension
+     * @param names name table to intern class names in
+     * @return type
+     */
+    private static Type getType(String str, Names names) {
+        int dims = 0;
+        while (str.endsWith("[]")) {
+            str = str.substring(0, str.length() - 2);
+            dims++;
+        }
+        if (dims > 0) return new ArrayType(getType(str, names), Position.NOPOS, dims);
+
         return switch (str) {
             case "int" -> BaseType.stdLib(TypeKind.INT);
             case "float" -> BaseType.stdLib(TypeKind.FLOAT);
             case "boolean" -> BaseType.stdLib(TypeKind.BOOLEAN);
             case "void" -> BaseType.stdLib(TypeKind.VOID);
-            default -> ClassType.stdLib(str);
+            default -> ClassType.stdLib(str, names);
         };
     }
+
+    /**
+     * @return standard library read from the binary snapshot, or null if it's missing, unreadable, was written in a
+     * different format, or was converted from a different version of {@code stdlib.yaml}
+     */
+    private static Stdlib readSnapshot() {
+        byte[] bytes;
+        try (InputStream stream = StandardLibrary.class.getResourceAsStream(SNAPSHOT)) {
+            if (stream == null) return null;
+            bytes = stream.readAllBytes();
+        } catch (IOException ex) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) return null;
+            long checksum = in.readLong();
+            long yamlChecksum = yamlChecksum();
+            if (yamlChecksum != -1 && checksum != yamlChecksum) return null;
+
+            List<Package> packages = new ArrayList<>();
+            for (int p = in.readInt(); p > 0; p--) {
+                String pkgName = in.readUTF();
+                List<Class> classes = new ArrayList<>();
+                for (int c = in.readInt(); c > 0; c--) {
+                    String clsName = in.readUTF();
+
+                    List<Field> fields = new ArrayList<>();
+                    for (int f = in.readInt(); f > 0; f--) {
+                        fields.add(new Field(in.readUTF(), in.readUTF(), in.readBoolean()));
+                    }
+
+                    List<Method> methods = new ArrayList<>();
+                    for (int m = in.readInt(); m > 0; m--) {
+                        String name = in.readUTF();
+                        String type = in.readUTF();
+                        boolean isStatic = in.readBoolean();
+                        List<String> params = new ArrayList<>();
+                        for (int i = in.readInt(); i > 0; i--) {
+                            params.add(in.readUTF());
+                        }
+                        methods.add(new Method(name, type, params, isStatic));
+                    }
+                    classes.add(new Class(clsName, methods, fields));
+                }
+                packages.add(new Package(pkgName, classes));
+            }
+            return new Stdlib(packages);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * @return checksum of the {@code stdlib.yaml} resource, or -1 if it couldn't be read (in which case any snapshot
+     * is trusted)
+     */
+    private static long yamlChecksum() {
+        try (InputStream stream = StandardLibrary.class.getResourceAsStream(YAML)) {
+            return stream != null ? checksum(stream.readAllBytes()) : -1;
+        } catch (IOException ex) {
+            return -1;
+        }
+    }
+
+    private static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    private static void writeSnapshot(Stdlib stdlib, long checksum, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(checksum);
+        out.writeInt(stdlib.packages().size());
+        for (Package pkg : stdlib.packages()) {
+            out.writeUTF(pkg.name());
+            out.writeInt(pkg.classes().size());
+            for (Class cls : pkg.classes()) {
+                out.writeUTF(cls.name());
+
+                List<Field> fields = cls.fields() != null ? cls.fields() : List.of();
+                out.writeInt(fields.size());
+                for (Field field : fields) {
+                    out.writeUTF(field.name());
+                    out.writeUTF(field.type());
+                    out.writeBoolean(field.isStatic());
+                }
+
+                List<Method> methods = cls.methods() != null ? cls.methods() : List.of();
+                out.writeInt(methods.size());
+                for (Method method : methods) {
+                    out.writeUTF(method.name());
+                    out.writeUTF(method.type());
+                    out.writeBoolean(method.isStatic());
+                    out.writeInt(method.params().size());
+                    for (String param : method.params()) {
+                        out.writeUTF(param);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Build step, run by Maven once resources have been copied - converts the YAML definition of the standard library
+     * into its binary snapshot.
+     * @param args path of the {@code stdlib.yaml} file, and path of the snapshot to write
+     * @throws IOException YAML unable to be read, or snapshot unable to be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("usage: StandardLibrary <stdlib.yaml> <stdlib.bin>");
+        }
+        byte[] yaml = Files.readAllBytes(Path.of(args[0]));
+        Stdlib stdlib = Yaml.parse(new ByteArrayInputStream(yaml));
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(Path.of(args[1])))) {
+            writeSnapshot(stdlib, checksum(yaml), out);
+        }
+    }
+
+    /**
+     * {@link StdLibProvider} over the classes in the snapshot, which is only read the first time a class is looked up.
+     */
+    private static class Snapshot implements StdLibProvider {
+
+        static final Snapshot INSTANCE = new Snapshot();
+
+        private record Entry(Class cls, String pkg) {}
+
+        /*
+        * Classes keyed by both their fully qualified and simple names.
+        * */
+        private final Map<String, Entry> classes = new HashMap<>();
+
+        private Snapshot() {
+            Stdlib stdlib = readSnapshot();
+            if (stdlib == null) stdlib = Yaml.read();
+            if (stdlib == null) return;
+
+            for (Package pkg : stdlib.packages()) {
+                for (Class cls : pkg.classes()) {
+                    Entry entry = new Entry(cls, pkg.name());
+                    classes.put(String.format("java/%s/%s", pkg.name(), cls.name()), entry);
+                    classes.put(cls.name(), entry);
+                }
+            }
+        }
+
+        @Override
+        public ClassDecl find(String name, Names names) {
+            Entry entry = classes.get(name);
+            return entry != null ? StandardLibrary.getClass(entry.cls(), entry.pkg(), entry.cls().name(), names) : null;
+        }
+    }
+
+    /**
+     * Reads the standard library from YAML - kept in its own class, so that Jackson is only loaded if it's actually
+     * needed.
+     */
+    private static class Yaml {
+
+        /**
+         * @return standard library parsed from the {@code stdlib.yaml} resource, or null if it couldn't be read
+         */
+        static Stdlib read() {
+            try (InputStream yamlStream = StandardLibrary.class.getResourceAsStream(YAML)) {
+                return parse(yamlStream);
+            } catch (IOException ignore) {
+                return null;
+            }
+        }
+
+        static Stdlib parse(InputStream yamlStream) throws IOException {
+            ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+            return mapper.readValue(yamlStream, Stdlib.class);
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package minijavac.utils;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <pre>
+ * Named counters collected over a compilation, and reported with {@code --stats}.
+ *
+ * Hit rates can also be derived from a pair of counters, and are reported alongside them.
+ *
+ * Counters can be updated from any number of threads at once - callers should look a counter up once and hold on to
+ * it, rather than looking it up on every update. Counters are reported in the order they were first looked up.
+ * </pre>
+ */
+public class Stats {
+
+    private sealed interface Entry {}
+    private record Counter(LongAdder adder, boolean time) implements Entry {}
+    private record Rate(LongAdder hits, LongAdder misses) implements Entry {}
+
+    private final Map<String, Entry> counters = new LinkedHashMap<>();
+
+    /**
+     * @param name counter name
+     * @return counter of occurrences
+     */
+    public LongAdder counter(String name) {
+        return get(name, false);
+    }
+
+    /**
+     * @param name counter name
+     * @return counter of elapsed nanoseconds, reported in milliseconds
+     */
+    public LongAdder timer(String name) {
+        return get(name, true);
+    }
+
+    /**
+     * Registers a hit rate, derived from two counters and reported as a percentage.
+     * @param name   rate name
+     * @param hits   counter of hits
+     * @param misses counter of misses
+     */
+    public void rate(String name, LongAdder hits, LongAdder misses) {
+        synchronized (counters) {
+            counters.putIfAbsent(name, new Rate(hits, misses));
+        }
+    }
+
+    /**
+     * @param name counter name
+     * @return current value of the counter, or 0 if there is no such counter
+     */
+    public long get(String name) {
+        synchronized (counters) {
+            return counters.get(name) instanceof Counter counter ? counter.adder().sum() : 0;
+        }
+    }
+
+    private LongAdder get(String name, boolean time) {
+        synchronized (counters) {
+            Entry entry = counters.computeIfAbsent(name, n -> new Counter(new LongAdder(), time));
+            if (!(entry instanceof Counter counter)) throw new IllegalArgumentException(name);
+            return counter.adder();
+        }
+    }
+
+    /**
+     * Prints every counter, one per line.
+     * @param out output stream
+     */
+    public void print(PrintStream out) {
+        synchronized (counters) {
+            for (Map.Entry<String, Entry> entry : counters.entrySet()) {
+                String name = entry.getKey();
+                if (entry.getValue() instanceof Rate rate) {
+                    long hits = rate.hits().sum();
+                    long total = hits + rate.misses().sum();
+                    out.printf("%s: %.1f%%%n", name, total == 0 ? 0.0 : 100.0 * hits / total);
+                } else if (entry.getValue() instanceof Counter counter && counter.time()) {
+                    double millis = counter.adder().sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+                    out.printf("%s: %.3f ms%n", name, millis);
+                } else if (entry.getValue() instanceof Counter counter) {
+                    out.printf("%s: %d%n", name, counter.adder().sum());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package minijavac.utils;
+
+import minijavac.ast.ClassDecl;
+import minijavac.syntax.Names;
+
+/**
+ * <pre>
+ * Source of standard library classes, which the {@link minijavac.context.SymbolTable} faults in on demand - the first
+ * time a class is referenced - rather than entering every class up front.
+ *
+ * Implementations must be safe to call from multiple threads at once, as classes are faulted in while classes are
+ * being resolved in parallel.
+ * </pre>
+ * @see StandardLibrary#snapshot()
+ * @see JrtStandardLibrary
+ */
+public interface StdLibProvider {
+
+    /**
+     * Looks up a standard library class.
+     * <br><br>
+     * Returns a new {@link ClassDecl} on every call, as the caller is free to link its members back to it.
+     * @param name fully qualified internal name (i.e. {@code java/lang/String}), or the simple name of a class that can
+     *             be referenced without an import (i.e. {@code String})
+     * @param names name table of the compilation the class is faulted into, which its identifiers are interned in
+     * @return class declaration, or null if there is no such class
+     */
+    ClassDecl find(String name, Names names);
+}
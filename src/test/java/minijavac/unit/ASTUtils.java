@@ -1,10 +1,17 @@
 package minijavac.unit;
 
 import minijavac.ast.*;
-import minijavac.syntax.Token;
+import minijavac.syntax.Name;
+import minijavac.syntax.Names;
+import minijavac.syntax.Position;
 import minijavac.syntax.TokenKind;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -88,27 +95,27 @@ public class ASTUtils {
     }
 
     public static Type intType() {
-        return new BaseType(TypeKind.INT, null);
+        return new BaseType(TypeKind.INT, Position.NOPOS);
     }
 
     public static Type floatType() {
-        return new BaseType(TypeKind.FLOAT, null);
+        return new BaseType(TypeKind.FLOAT, Position.NOPOS);
     }
 
     public static Type boolType() {
-        return new BaseType(TypeKind.BOOLEAN, null);
+        return new BaseType(TypeKind.BOOLEAN, Position.NOPOS);
     }
 
     public static Type voidType() {
-        return new BaseType(TypeKind.VOID, null);
+        return new BaseType(TypeKind.VOID, Position.NOPOS);
     }
 
     public static Type classType(String name) {
-        return new ClassType(new Identifier(new Token(TokenKind.IDENTIFIER, name, null)), null);
+        return new ClassType(Identifier.of(name, new Names()), Position.NOPOS);
     }
 
     public static Type arrayType(Type type, int dims) {
-        return new ArrayType(type, null, dims);
+        return new ArrayType(type, Position.NOPOS, dims);
     }
 
     public static void type(Type exp, Type actual) {
@@ -453,5 +460,50 @@ public class ASTUtils {
         };
     }
 
+    /*
+    * Links to declarations made by Enter and Context (or back to the enclosing class), rather than child nodes.
+    * */
+    private static final Set<String> LINKS = Set.of("BaseRef.decl", "ClassType.decl", "NewObjectExpr.decl",
+            "MemberDecl.classDecl");
+
+    /**
+     * Asserts that two trees are structurally identical - the same node classes, with the same public fields, all the
+     * way down - ignoring links to declarations.
+     */
+    public static void sameTree(List<ClassDecl> expected, List<ClassDecl> actual) {
+        sameTree(expected, actual, "classes");
+    }
+
+    private static void sameTree(Object expected, Object actual, String path) {
+        if (expected == null || actual == null) {
+            assertSame(expected, actual, path);
+        } else if (expected instanceof Path) {
+            // paths are iterable too, over their own name elements
+            assertEquals(expected, actual, path);
+        } else if (expected instanceof Iterable<?> expIt) {
+            Iterator<?> actIt = assertInstanceOf(Iterable.class, actual, path).iterator();
+            int i = 0;
+            for (Object exp : expIt) {
+                assertTrue(actIt.hasNext(), path);
+                sameTree(exp, actIt.next(), path + "[" + i++ + "]");
+            }
+            assertFalse(actIt.hasNext(), path);
+        } else if (expected instanceof AST) {
+            assertEquals(expected.getClass(), actual.getClass(), path);
+            for (Field field : expected.getClass().getFields()) {
+                String name = field.getDeclaringClass().getSimpleName() + "." + field.getName();
+                if (Modifier.isStatic(field.getModifiers()) || LINKS.contains(name)) continue;
+                try {
+                    sameTree(field.get(expected), field.get(actual), path + "." + field.getName());
+                } catch (IllegalAccessException e) {
+                    throw new AssertionError(e);
+                }
+            }
+        } else if (expected instanceof Name) {
+            assertEquals(expected.toString(), actual.toString(), path);
+        } else {
+            assertEquals(expected, actual, path);
+        }
+    }
 
 }
@@ -4,6 +4,7 @@ import minijavac.ast.*;
 import minijavac.context.err.*;
 import minijavac.err.*;
 import minijavac.syntax.err.ExpectedParseError;
+import minijavac.syntax.Position;
 import minijavac.syntax.Token;
 import minijavac.syntax.TokenKind;
 import minijavac.syntax.err.ParseError;
@@ -60,9 +61,9 @@ public class TestUtils {
                 assertEquals(fIter.next(), token.contents);
             }
             if (kind != TokenKind.EOF) {
-                file.assertIt(token.pos.file());
-                assertEquals(pos[i][0], token.pos.line());
-                assertEquals(pos[i][1], token.pos.offset());
+                file.assertIt(token.position().file());
+                assertEquals(pos[i][0], token.position().line());
+                assertEquals(pos[i][1], token.position().offset());
             }
         }
     }
@@ -79,12 +80,12 @@ public class TestUtils {
         assertTrue(e instanceof ExpectedParseError);
         ExpectedParseError err = (ExpectedParseError) e;
         assertEquals(prevKind, err.getPrevToken().kind);
-        assertEquals(prevLine, err.getPrevToken().pos.line());
-        assertEquals(prevOffset, err.getPrevToken().pos.offset());
+        assertEquals(prevLine, err.getPrevToken().position().line());
+        assertEquals(prevOffset, err.getPrevToken().position().offset());
         assertEquals(kind, err.getToken().kind);
-        file.assertIt(err.getToken().pos.file());
-        assertEquals(line, err.getToken().pos.line());
-        assertEquals(offset, err.getToken().pos.offset());
+        file.assertIt(err.getToken().position().file());
+        assertEquals(line, err.getToken().position().line());
+        assertEquals(offset, err.getToken().position().offset());
         assertEquals(expKind, err.getExpectedKind());
     }
 
@@ -100,7 +101,7 @@ public class TestUtils {
     public static void assertDecl(Declaration decl, Class<?> clazz, String id, int line) {
         assertTrue(clazz.isInstance(decl));
         assertEquals(id, decl.id.contents);
-        assertEquals(line, decl.id.pos.line());
+        assertEquals(line, Position.line(decl.id.pos));
     }
 
     public static void assertDecl(Declaration decl, Class<?> clazz, String id) {
@@ -50,15 +50,21 @@ public class ContextEnterTest {
     }
 
     private List<ClassDecl> test(String dir, List<String> files, SimpleListener listener, Consumer<SimpleListener> errAssertions) {
+        return test(dir, files, listener, errAssertions, args -> {});
+    }
+
+    private List<ClassDecl> test(String dir, List<String> files, SimpleListener listener,
+                                 Consumer<SimpleListener> errAssertions, Consumer<Args> options) {
         Args args = new Args();
         Path dirPath = PATH.resolve(dir);
         args.files = files.stream().map(dirPath::resolve).collect(Collectors.toList());
         args.sourcePath = dirPath;
+        options.accept(args);
 
         Compiler compiler = new Compiler(listener, args);
 
         List<ClassDecl> classes = new ArrayList<>();
-        try {
+        try (compiler) {
             classes = compiler.prepare();
         } catch (IOException ex) {
             System.out.println(ex.getMessage());
@@ -146,4 +152,23 @@ public class ContextEnterTest {
 
         assertEquals(4, classes.size());
     }
+
+    @Test
+    public void find_context_errors_parallel() {
+        String dir = "3";
+        List<String> files = List.of("Test.java");
+
+        SimpleListener sequential = new SimpleListener();
+        test(dir, files, sequential, l -> assertEquals(5, l.getErrCnt()), args -> args.threads = 1);
+
+        for (int i = 0; i < 10; i++) {
+            SimpleListener parallel = new SimpleListener();
+            test(dir, files, parallel, l -> assertEquals(5, l.getErrCnt()), args -> args.threads = 4);
+
+            for (int j = 0; j < sequential.getErrCnt(); j++) {
+                assertEquals(sequential.getErrors().get(j).getMsg(), parallel.getErrors().get(j).getMsg());
+                assertEquals(sequential.getErrors().get(j).getPos(), parallel.getErrors().get(j).getPos());
+            }
+        }
+    }
 }
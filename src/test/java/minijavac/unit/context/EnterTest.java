@@ -3,10 +3,14 @@ package minijavac.unit.context;
 import minijavac.Compiler;
 import minijavac.ast.*;
 import minijavac.cli.Args;
+import minijavac.context.Scope;
 import minijavac.context.SymbolTable;
 import minijavac.err.CompileError;
 import minijavac.listener.SimpleListener;
+import minijavac.syntax.Names;
+import minijavac.syntax.Position;
 import minijavac.unit.Asserter;
+import minijavac.utils.StandardLibrary;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -17,6 +21,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static minijavac.unit.ASTUtils.sameTree;
 import static minijavac.unit.TestUtils.assertErr;
 import static minijavac.unit.TestUtils.getFileAsserter;
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,11 +36,17 @@ public class EnterTest {
         fileAsserter = getFileAsserter(ENTER_PATH);
     }
 
+    private SymbolTable symbolTable;
+
+    private Identifier id(String name) {
+        return Identifier.of(name, symbolTable.names());
+    }
+
     private static Asserter<Path> isFile(String file) {
         return fileAsserter.apply(file);
     }
 
-    private void test(String dir, List<String> files, Consumer<SymbolTable> symbolAssertions, Consumer<SimpleListener>
+    private void test(String dir, List<String> files, Consumer<Scope> symbolAssertions, Consumer<SimpleListener>
             errAssertions) {
         test(dir, files, symbolAssertions, errAssertions, null);
     }
@@ -44,20 +55,26 @@ public class EnterTest {
         test(dir, files, null, null, exAssertions);
     }
 
-    private void test(String dir, List<String> files, Consumer<SymbolTable> symbolAssertions, Consumer<SimpleListener>
+    private void test(String dir, List<String> files, Consumer<Scope> symbolAssertions, Consumer<SimpleListener>
             errAssertions, Consumer<IOException> exAssertions) {
+        test(dir, files, symbolAssertions, errAssertions, exAssertions, args -> {});
+    }
+
+    private void test(String dir, List<String> files, Consumer<Scope> symbolAssertions, Consumer<SimpleListener>
+            errAssertions, Consumer<IOException> exAssertions, Consumer<Args> options) {
         SimpleListener listener = new SimpleListener();
 
         Args args = new Args();
         Path dirPath = ENTER_PATH.resolve(dir);
         args.files = files.stream().map(dirPath::resolve).collect(Collectors.toList());
         args.sourcePath = dirPath;
+        options.accept(args);
 
         Compiler compiler = new Compiler(listener, args);
 
         List<ClassDecl> classes = null;
 
-        try {
+        try (compiler) {
             classes = compiler.parseAndEnter();
         } catch (IOException ex) {
             assertNotNull(exAssertions);
@@ -66,16 +83,17 @@ public class EnterTest {
         }
 
         listener.setIgnore(true);
-        symbolAssertions.accept(compiler.getSymbolTable());
+        symbolTable = compiler.getSymbolTable();
+        symbolAssertions.accept(new Scope(symbolTable, listener));
         errAssertions.accept(listener);
     }
 
-    private void assertClass(SymbolTable symbolTable, String classname, List<String> fields) {
-        Declaration clazz = symbolTable.getClassDecl(Identifier.of(classname));
+    private void assertClass(Scope scope, String classname, List<String> fields) {
+        Declaration clazz = scope.getClassDecl(id(classname));
         assertNotNull(clazz);
 
         for (String field : fields) {
-            FieldDecl fieldDecl = (FieldDecl) symbolTable.getMemberDecl(classname, Identifier.of(field),
+            FieldDecl fieldDecl = (FieldDecl) scope.getMemberDecl(classname, id(field),
                     false, null);
             assertNotNull(fieldDecl);
             assertEquals(clazz, fieldDecl.classDecl);
@@ -84,19 +102,19 @@ public class EnterTest {
 
     @Test
     public void single_file_single_class() {
-        Consumer<SymbolTable> symbolAssertions = symbolTable -> {
-            Declaration testClass = symbolTable.getClassDecl(Identifier.of("Test"));
+        Consumer<Scope> symbolAssertions = scope -> {
+            Declaration testClass = scope.getClassDecl(id("Test"));
             assertNotNull(testClass);
-            FieldDecl fieldA = (FieldDecl) symbolTable.getMemberDecl("Test", Identifier.of("a"),
+            FieldDecl fieldA = (FieldDecl) scope.getMemberDecl("Test", id("a"),
                     false, null);
             assertNotNull(fieldA);
             assertEquals(testClass, fieldA.classDecl);
 
-            SymbolTable.ArgType argType = new SymbolTable.ArgType(null, new BaseType(TypeKind.INT, null));
-            SymbolTable.ArgTypes argTypes = new SymbolTable.ArgTypes(List.of(argType), null);
-            symbolTable.pushArgTypes(argTypes);
+            SymbolTable.ArgType argType = new SymbolTable.ArgType(Position.NOPOS, new BaseType(TypeKind.INT, Position.NOPOS));
+            SymbolTable.ArgTypes argTypes = new SymbolTable.ArgTypes(List.of(argType));
+            scope.pushArgTypes(argTypes);
 
-            MethodDecl methodMain = (MethodDecl) symbolTable.getMemberDecl("Test", Identifier.of("main"),
+            MethodDecl methodMain = (MethodDecl) scope.getMemberDecl("Test", id("main"),
                     true, null);
             assertNotNull(methodMain);
             assertEquals(testClass, methodMain.classDecl);
@@ -111,35 +129,35 @@ public class EnterTest {
 
     @Test
     public void single_file_multi_class() {
-        Consumer<SymbolTable> symbolAssertions = symbolTable -> {
-            Declaration testClass = symbolTable.getClassDecl(Identifier.of("Test"));
+        Consumer<Scope> symbolAssertions = scope -> {
+            Declaration testClass = scope.getClassDecl(id("Test"));
             assertNotNull(testClass);
-            FieldDecl fieldA = (FieldDecl) symbolTable.getMemberDecl("Test", Identifier.of("a"),
+            FieldDecl fieldA = (FieldDecl) scope.getMemberDecl("Test", id("a"),
                     false, null);
             assertNotNull(fieldA);
             assertEquals(testClass, fieldA.classDecl);
 
-            SymbolTable.ArgType argType = new SymbolTable.ArgType(null, new BaseType(TypeKind.INT, null));
-            SymbolTable.ArgTypes argTypes = new SymbolTable.ArgTypes(List.of(argType), null);
-            symbolTable.pushArgTypes(argTypes);
+            SymbolTable.ArgType argType = new SymbolTable.ArgType(Position.NOPOS, new BaseType(TypeKind.INT, Position.NOPOS));
+            SymbolTable.ArgTypes argTypes = new SymbolTable.ArgTypes(List.of(argType));
+            scope.pushArgTypes(argTypes);
 
-            MethodDecl methodMain = (MethodDecl) symbolTable.getMemberDecl("Test", Identifier.of("main"),
+            MethodDecl methodMain = (MethodDecl) scope.getMemberDecl("Test", id("main"),
                     true, null);
             assertNotNull(methodMain);
             assertEquals(testClass, methodMain.classDecl);
 
-            Declaration otherClass = symbolTable.getClassDecl(Identifier.of("Other"));
+            Declaration otherClass = scope.getClassDecl(id("Other"));
             assertNotNull(otherClass);
-            FieldDecl fieldB = (FieldDecl) symbolTable.getMemberDecl("Other", Identifier.of("b"),
+            FieldDecl fieldB = (FieldDecl) scope.getMemberDecl("Other", id("b"),
                     false, null);
             assertNotNull(fieldB);
             assertEquals(otherClass, fieldB.classDecl);
 
-            argType = new SymbolTable.ArgType(null, new BaseType(TypeKind.FLOAT, null));
-            argTypes = new SymbolTable.ArgTypes(List.of(argType), null);
-            symbolTable.pushArgTypes(argTypes);
+            argType = new SymbolTable.ArgType(Position.NOPOS, new BaseType(TypeKind.FLOAT, Position.NOPOS));
+            argTypes = new SymbolTable.ArgTypes(List.of(argType));
+            scope.pushArgTypes(argTypes);
 
-            methodMain = (MethodDecl) symbolTable.getMemberDecl("Other", Identifier.of("main"),
+            methodMain = (MethodDecl) scope.getMemberDecl("Other", id("main"),
                     true, null);
             assertNotNull(methodMain);
             assertEquals(otherClass, methodMain.classDecl);
@@ -154,35 +172,35 @@ public class EnterTest {
 
     @Test
     public void multi_file() {
-        Consumer<SymbolTable> symbolAssertions = symbolTable -> {
-            Declaration testClass = symbolTable.getClassDecl(Identifier.of("Test"));
+        Consumer<Scope> symbolAssertions = scope -> {
+            Declaration testClass = scope.getClassDecl(id("Test"));
             assertNotNull(testClass);
-            FieldDecl fieldA = (FieldDecl) symbolTable.getMemberDecl("Test", Identifier.of("a"),
+            FieldDecl fieldA = (FieldDecl) scope.getMemberDecl("Test", id("a"),
                     false, null);
             assertNotNull(fieldA);
             assertEquals(testClass, fieldA.classDecl);
 
-            SymbolTable.ArgType argType = new SymbolTable.ArgType(null, new BaseType(TypeKind.INT, null));
-            SymbolTable.ArgTypes argTypes = new SymbolTable.ArgTypes(List.of(argType), null);
-            symbolTable.pushArgTypes(argTypes);
+            SymbolTable.ArgType argType = new SymbolTable.ArgType(Position.NOPOS, new BaseType(TypeKind.INT, Position.NOPOS));
+            SymbolTable.ArgTypes argTypes = new SymbolTable.ArgTypes(List.of(argType));
+            scope.pushArgTypes(argTypes);
 
-            MethodDecl methodMain = (MethodDecl) symbolTable.getMemberDecl("Test", Identifier.of("main"),
+            MethodDecl methodMain = (MethodDecl) scope.getMemberDecl("Test", id("main"),
                     true, null);
             assertNotNull(methodMain);
             assertEquals(testClass, methodMain.classDecl);
 
-            Declaration otherClass = symbolTable.getClassDecl(Identifier.of("Other"));
+            Declaration otherClass = scope.getClassDecl(id("Other"));
             assertNotNull(otherClass);
-            FieldDecl fieldB = (FieldDecl) symbolTable.getMemberDecl("Other", Identifier.of("b"),
+            FieldDecl fieldB = (FieldDecl) scope.getMemberDecl("Other", id("b"),
                     false, null);
             assertNotNull(fieldB);
             assertEquals(otherClass, fieldB.classDecl);
 
-            argType = new SymbolTable.ArgType(null, new BaseType(TypeKind.FLOAT, null));
-            argTypes = new SymbolTable.ArgTypes(List.of(argType), null);
-            symbolTable.pushArgTypes(argTypes);
+            argType = new SymbolTable.ArgType(Position.NOPOS, new BaseType(TypeKind.FLOAT, Position.NOPOS));
+            argTypes = new SymbolTable.ArgTypes(List.of(argType));
+            scope.pushArgTypes(argTypes);
 
-            methodMain = (MethodDecl) symbolTable.getMemberDecl("Other", Identifier.of("main"),
+            methodMain = (MethodDecl) scope.getMemberDecl("Other", id("main"),
                     true, null);
             assertNotNull(methodMain);
             assertEquals(otherClass, methodMain.classDecl);
@@ -198,8 +216,8 @@ public class EnterTest {
     @Test
     public void multi_file_duplicateClass() {
         String dir = "4";
-        Consumer<SymbolTable> symbolAssertions = symbolTable -> {
-            assertClass(symbolTable, "Test", List.of("x"));
+        Consumer<Scope> symbolAssertions = scope -> {
+            assertClass(scope, "Test", List.of("x"));
         };
 
         Consumer<SimpleListener> errAssertions = listener -> {
@@ -214,8 +232,8 @@ public class EnterTest {
     @Test
     public void single_file_find_duplicateClass() {
         String dir = "5";
-        Consumer<SymbolTable> symbolAssertions = symbolTable -> {
-            assertClass(symbolTable, "Test", List.of("o", "x"));
+        Consumer<Scope> symbolAssertions = scope -> {
+            assertClass(scope, "Test", List.of("o", "x"));
         };
 
         Consumer<SimpleListener> errAssertions = listener -> {
@@ -230,9 +248,9 @@ public class EnterTest {
     @Test
     public void single_file_find_field_success() {
         String dir = "6";
-        Consumer<SymbolTable> symbolAssertions = symbolTable -> {
-            assertClass(symbolTable, "Test", List.of("o"));
-            assertClass(symbolTable, "Other", List.of("x"));
+        Consumer<Scope> symbolAssertions = scope -> {
+            assertClass(scope, "Test", List.of("o"));
+            assertClass(scope, "Other", List.of("x"));
         };
 
         Consumer<SimpleListener> errAssertions = listener -> {
@@ -245,9 +263,9 @@ public class EnterTest {
     @Test
     public void single_file_find_multi_ref_success() {
         String dir = "7";
-        Consumer<SymbolTable> symbolAssertions = symbolTable -> {
-            assertClass(symbolTable, "Test", List.of("o"));
-            assertClass(symbolTable, "Other", List.of("x"));
+        Consumer<Scope> symbolAssertions = scope -> {
+            assertClass(scope, "Test", List.of("o"));
+            assertClass(scope, "Other", List.of("x"));
         };
 
         Consumer<SimpleListener> errAssertions = listener -> {
@@ -260,22 +278,22 @@ public class EnterTest {
     @Test
     public void single_file_find_many_sources_success() {
         String dir = "8";
-        Consumer<SymbolTable> symbolAssertions = symbolTable -> {
-            assertClass(symbolTable, "Test", List.of("a"));
-            assertClass(symbolTable, "A", List.of("val"));
-            assertClass(symbolTable, "B", List.of("val"));
-            assertClass(symbolTable, "C", List.of("val"));
-            assertClass(symbolTable, "D", List.of("val"));
-            assertClass(symbolTable, "E", List.of("val"));
-            assertClass(symbolTable, "F", List.of("val"));
+        Consumer<Scope> symbolAssertions = scope -> {
+            assertClass(scope, "Test", List.of("a"));
+            assertClass(scope, "A", List.of("val"));
+            assertClass(scope, "B", List.of("val"));
+            assertClass(scope, "C", List.of("val"));
+            assertClass(scope, "D", List.of("val"));
+            assertClass(scope, "E", List.of("val"));
+            assertClass(scope, "F", List.of("val"));
             // hacky, these classes shouldn't be in symbol table, so error is added, but b/c there's no active
             // traversal state in the symbol table, null pointer when building error
             // TODO: make this better
-            assertThrows(Exception.class, () -> symbolTable.getClassDecl(Identifier.of("G")));
-            assertThrows(Exception.class, () -> symbolTable.getClassDecl(Identifier.of("H")));
-            assertThrows(Exception.class, () -> symbolTable.getClassDecl(Identifier.of("I")));
-            assertThrows(Exception.class, () -> symbolTable.getClassDecl(Identifier.of("J")));
-            assertThrows(Exception.class, () -> symbolTable.getClassDecl(Identifier.of("K")));
+            assertThrows(Exception.class, () -> scope.getClassDecl(id("G")));
+            assertThrows(Exception.class, () -> scope.getClassDecl(id("H")));
+            assertThrows(Exception.class, () -> scope.getClassDecl(id("I")));
+            assertThrows(Exception.class, () -> scope.getClassDecl(id("J")));
+            assertThrows(Exception.class, () -> scope.getClassDecl(id("K")));
         };
 
         Consumer<SimpleListener> errAssertions = listener -> {
@@ -288,14 +306,14 @@ public class EnterTest {
     @Test
     public void single_file_find_chain_success() {
         String dir = "9";
-        Consumer<SymbolTable> symbolAssertions = symbolTable -> {
-            assertClass(symbolTable, "Test", List.of("a"));
-            assertClass(symbolTable, "A", List.of("b"));
-            assertClass(symbolTable, "B", List.of("c"));
-            assertClass(symbolTable, "C", List.of("d"));
-            assertClass(symbolTable, "D", List.of("e"));
-            assertClass(symbolTable, "E", List.of("f"));
-            assertClass(symbolTable, "F", List.of("val"));
+        Consumer<Scope> symbolAssertions = scope -> {
+            assertClass(scope, "Test", List.of("a"));
+            assertClass(scope, "A", List.of("b"));
+            assertClass(scope, "B", List.of("c"));
+            assertClass(scope, "C", List.of("d"));
+            assertClass(scope, "D", List.of("e"));
+            assertClass(scope, "E", List.of("f"));
+            assertClass(scope, "F", List.of("val"));
         };
 
         Consumer<SimpleListener> errAssertions = listener -> {
@@ -308,11 +326,11 @@ public class EnterTest {
     @Test
     public void single_file_find_enqueue_attempt_when_already_in_queue() {
         String dir = "10";
-        Consumer<SymbolTable> symbolAssertions = symbolTable -> {
-            assertClass(symbolTable, "Test", List.of("a"));
-            assertClass(symbolTable, "A", List.of("b"));
-            assertClass(symbolTable, "B", List.of("c"));
-            assertClass(symbolTable, "C", List.of("val"));
+        Consumer<Scope> symbolAssertions = scope -> {
+            assertClass(scope, "Test", List.of("a"));
+            assertClass(scope, "A", List.of("b"));
+            assertClass(scope, "B", List.of("c"));
+            assertClass(scope, "C", List.of("val"));
         };
 
         Consumer<SimpleListener> errAssertions = listener -> {
@@ -325,11 +343,11 @@ public class EnterTest {
     @Test
     public void single_file_find_enqueue_attempt_when_was_already_in_queue() {
         String dir = "11";
-        Consumer<SymbolTable> symbolAssertions = symbolTable -> {
-            assertClass(symbolTable, "Test", List.of("a"));
-            assertClass(symbolTable, "A", List.of("t", "b"));
-            assertClass(symbolTable, "B", List.of("c", "a"));
-            assertClass(symbolTable, "C", List.of("b"));
+        Consumer<Scope> symbolAssertions = scope -> {
+            assertClass(scope, "Test", List.of("a"));
+            assertClass(scope, "A", List.of("t", "b"));
+            assertClass(scope, "B", List.of("c", "a"));
+            assertClass(scope, "C", List.of("b"));
         };
 
         Consumer<SimpleListener> errAssertions = listener -> {
@@ -342,9 +360,9 @@ public class EnterTest {
     @Test
     public void single_file_selective_find() {
         String dir = "12";
-        Consumer<SymbolTable> symbolAssertions = symbolTable -> {
-            assertClass(symbolTable, "Test", List.of("A"));
-            assertClass(symbolTable, "D", List.of("val"));
+        Consumer<Scope> symbolAssertions = scope -> {
+            assertClass(scope, "Test", List.of("A"));
+            assertClass(scope, "D", List.of("val"));
         };
 
         Consumer<SimpleListener> errAssertions = listener -> {
@@ -357,9 +375,9 @@ public class EnterTest {
     @Test
     public void single_file_no_find() {
         String dir = "13";
-        Consumer<SymbolTable> symbolAssertions = symbolTable -> {
-            assertClass(symbolTable, "Test", List.of("t", "o"));
-            assertClass(symbolTable, "Other", List.of("t"));
+        Consumer<Scope> symbolAssertions = scope -> {
+            assertClass(scope, "Test", List.of("t", "o"));
+            assertClass(scope, "Other", List.of("t"));
         };
 
         Consumer<SimpleListener> errAssertions = listener -> {
@@ -391,4 +409,51 @@ public class EnterTest {
         test(dir, List.of("Test.java", "Fake.java"), exAssertions);
     }
 
+    @Test
+    public void std_lib_faulted_in_on_reference() {
+        String dir = "15";
+
+        Consumer<Scope> symbolAssertions = scope -> {
+            // not entered up front, nor while entering
+            assertNull(new Scope(symbolTable, new SimpleListener(), false).getMemberDecl("System",
+                    id("out"), false, null));
+
+            FieldDecl out = (FieldDecl) scope.getMemberDecl("System", id("out"), false, null);
+            assertNotNull(out);
+            assertEquals("java/lang/System", out.classDecl.id.contents);
+            assertEquals(out.classDecl, scope.getClassDecl(id("java/lang/System")));
+        };
+
+        Consumer<SimpleListener> errAssertions = listener -> {
+            assertFalse(listener.hasErrors());
+        };
+
+        test(dir, List.of("Test.java"), symbolAssertions, errAssertions);
+    }
+
+    @Test
+    public void source_path_class_shadows_std_lib() {
+        String dir = "16";
+
+        Consumer<Scope> symbolAssertions = scope -> {
+            ClassDecl math = (ClassDecl) scope.getClassDecl(id("Math"));
+            assertNotNull(math);
+            assertEquals("Math", math.id.contents);
+            isFile(String.format("%s/Math.java", dir)).assertIt(math.file);
+        };
+
+        Consumer<SimpleListener> errAssertions = listener -> {
+            assertFalse(listener.hasErrors());
+        };
+
+        test(dir, List.of("Test.java"), symbolAssertions, errAssertions, null, args -> args.jrtStdLib = true);
+    }
+
+    @Test
+    public void std_lib_snapshot_matches_yaml() {
+        assertTrue(StandardLibrary.hasSnapshot());
+
+        sameTree(StandardLibrary.getClassesFromYaml(new Names()), StandardLibrary.getClasses(new Names()));
+    }
+
 }
@@ -58,7 +58,7 @@ public class IdCheckerTest {
 
         List<ClassDecl> classes = new ArrayList<>();
 
-        try {
+        try (compiler) {
             classes = compiler.prepare();
         } catch (IOException ex) {
             System.out.println(ex.getMessage());
@@ -0,0 +1,90 @@
+package minijavac.unit.context;
+
+import minijavac.ast.*;
+import minijavac.syntax.Names;
+import minijavac.utils.JrtStandardLibrary;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JrtStandardLibraryTest {
+
+    private final Names names = new Names();
+
+    private static List<MethodDecl> methods(ClassDecl classDecl, String name) {
+        return classDecl.methodDecls.stream()
+                .filter(m -> m.id.contents.equals(name))
+                .toList();
+    }
+
+    @Test
+    public void find_simpleName() {
+        ClassDecl string = new JrtStandardLibrary(8).find("String", names);
+        assertNotNull(string);
+        assertEquals("java/lang/String", string.id.contents);
+        assertEquals("String", string.shortName);
+
+        MethodDecl length = methods(string, "length").get(0);
+        assertFalse(length.isStatic);
+        assertEquals("()I", length.descriptor());
+
+        // only overloads whose types are all supported
+        List<String> valueOf = methods(string, "valueOf").stream().map(MethodDecl::descriptor).toList();
+        assertTrue(valueOf.contains("(I)Ljava/lang/String;"));
+        assertTrue(valueOf.contains("(F)Ljava/lang/String;"));
+        assertTrue(valueOf.contains("(Z)Ljava/lang/String;"));
+        assertTrue(valueOf.contains("(Ljava/lang/Object;)Ljava/lang/String;"));
+        assertFalse(valueOf.contains("(J)Ljava/lang/String;"));
+        assertFalse(valueOf.contains("([C)Ljava/lang/String;"));
+    }
+
+    @Test
+    public void find_qualifiedName() {
+        JrtStandardLibrary stdLib = new JrtStandardLibrary(8);
+
+        ClassDecl arrays = stdLib.find("java/util/Arrays", names);
+        assertNotNull(arrays);
+        assertNull(arrays.shortName);
+        assertTrue(methods(arrays, "sort").stream().anyMatch(m -> m.descriptor().equals("([I)V")));
+
+        FieldDecl out = stdLib.find("java/lang/System", names).fieldDecls.stream()
+                .filter(f -> f.id.contents.equals("out"))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(out.isStatic);
+        assertEquals("Ljava/io/PrintStream;", out.type.descriptor());
+    }
+
+    @Test
+    public void find_noConstructorsOrInterfaceMethods() {
+        JrtStandardLibrary stdLib = new JrtStandardLibrary(8);
+        assertTrue(stdLib.find("StringBuilder", names).methodDecls.stream().noneMatch(MethodDecl::isConstructor));
+        assertNotNull(stdLib.find("Runnable", names));
+        assertTrue(stdLib.find("Runnable", names).methodDecls.isEmpty());
+    }
+
+    @Test
+    public void find_missing() {
+        JrtStandardLibrary stdLib = new JrtStandardLibrary(8);
+        assertNull(stdLib.find("Nope", names));
+        assertNull(stdLib.find("java/nope/Nope", names));
+        assertNull(stdLib.find("sun/misc/Unsafe", names));
+        // non-public
+        assertNull(stdLib.find("java/lang/StringLatin1", names));
+    }
+
+    @Test
+    public void find_boundedCache() {
+        JrtStandardLibrary stdLib = new JrtStandardLibrary(2);
+        assertNotNull(stdLib.find("String", names));
+        assertNotNull(stdLib.find("Math", names));
+        assertNull(stdLib.find("Nope", names));
+        assertEquals(2, stdLib.cached());
+
+        // still found once evicted, and a new declaration is returned every time
+        assertNotSame(stdLib.find("String", names), stdLib.find("String", names));
+        assertEquals(2, stdLib.cached());
+    }
+}
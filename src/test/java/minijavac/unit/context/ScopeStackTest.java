@@ -0,0 +1,104 @@
+package minijavac.unit.context;
+
+import minijavac.ast.*;
+import minijavac.context.ScopeStack;
+import minijavac.syntax.Names;
+import minijavac.syntax.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScopeStackTest {
+
+    private final Names names = new Names();
+
+    private VarDecl var(String name) {
+        return new VarDecl(Identifier.of(name, names), BaseType.stdLib(TypeKind.INT), false, Position.NOPOS);
+    }
+
+    @Test
+    public void get_enclosingScopes() {
+        ScopeStack table = new ScopeStack();
+        VarDecl a = var("a");
+        VarDecl b = var("b");
+
+        table.push();
+        table.add(a);
+        table.push();
+        table.add(b);
+
+        assertSame(a, table.get(names.fromString("a")));
+        assertSame(b, table.get(names.fromString("b")));
+        assertNull(table.get(names.fromString("c")));
+        assertEquals(2, table.depth());
+    }
+
+    @Test
+    public void pop_discardsScope() {
+        ScopeStack table = new ScopeStack();
+        VarDecl a = var("a");
+
+        table.push();
+        table.add(a);
+        table.push();
+        table.add(var("b"));
+        table.pop();
+
+        assertSame(a, table.get(names.fromString("a")));
+        assertNull(table.get(names.fromString("b")));
+
+        // name can be declared again in a sibling scope
+        VarDecl b = var("b");
+        table.push();
+        table.add(b);
+        assertSame(b, table.get(names.fromString("b")));
+
+        table.pop();
+        table.pop();
+        assertNull(table.get(names.fromString("a")));
+        assertEquals(0, table.depth());
+    }
+
+    @Test
+    public void get_shadowed() {
+        ScopeStack table = new ScopeStack();
+        VarDecl outer = var("a");
+        VarDecl inner = var("a");
+
+        table.push();
+        table.add(outer);
+        table.push();
+        table.add(inner);
+        assertSame(inner, table.get(names.fromString("a")));
+
+        table.pop();
+        assertSame(outer, table.get(names.fromString("a")));
+    }
+
+    @Test
+    public void grow_deepNesting() {
+        ScopeStack table = new ScopeStack();
+        VarDecl[] decls = new VarDecl[100];
+
+        // enough names and scopes for the entries, index, and marks to grow, with plenty of bucket collisions
+        for (int i = 0; i < decls.length; i++) {
+            table.push();
+            decls[i] = var("v" + i);
+            table.add(decls[i]);
+        }
+        for (int i = 0; i < decls.length; i++) {
+            assertSame(decls[i], table.get(names.fromString("v" + i)));
+        }
+
+        for (int i = decls.length - 1; i >= 0; i--) {
+            table.pop();
+            assertNull(table.get(names.fromString("v" + i)));
+            if (i > 0) assertSame(decls[i - 1], table.get(names.fromString("v" + (i - 1))));
+        }
+    }
+
+    @Test
+    public void add_noScope() {
+        assertThrows(IllegalStateException.class, () -> new ScopeStack().add(var("a")));
+    }
+}
@@ -0,0 +1,85 @@
+package minijavac.unit.context;
+
+import minijavac.utils.SourcePathIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SourcePathIndexTest {
+
+    @TempDir
+    Path tmp;
+
+    private Path sourcePath() throws IOException {
+        Path dir = Files.createDirectory(tmp.resolve("src"));
+        Files.writeString(dir.resolve("A.java"), "class A {}");
+        Files.writeString(dir.resolve("B.java"), "class B {}");
+        Files.writeString(dir.resolve("C.txt"), "");
+        return dir;
+    }
+
+    @Test
+    public void build() throws IOException {
+        SourcePathIndex index = SourcePathIndex.build(sourcePath());
+        assertTrue(index.contains("A"));
+        assertTrue(index.contains("B"));
+        assertFalse(index.contains("C"));
+        assertFalse(index.contains("String"));
+    }
+
+    @Test
+    public void build_missingDirectory() throws IOException {
+        SourcePathIndex index = SourcePathIndex.build(tmp.resolve("nope"));
+        assertEquals(0, index.size());
+        assertFalse(index.contains("A"));
+    }
+
+    @Test
+    public void load_cached() throws IOException {
+        Path dir = sourcePath();
+        Path cache = tmp.resolve("index.bin");
+        FileTime mtime = FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS));
+        Files.setLastModifiedTime(dir, mtime);
+
+        assertTrue(SourcePathIndex.load(dir, cache).contains("A"));
+        assertTrue(Files.exists(cache));
+
+        // the cache is trusted for as long as the directory's modification time is unchanged
+        Files.writeString(dir.resolve("E.java"), "class E {}");
+        Files.setLastModifiedTime(dir, mtime);
+        assertFalse(SourcePathIndex.load(dir, cache).contains("E"));
+
+        // and is refreshed once it changes
+        Files.setLastModifiedTime(dir, FileTime.from(mtime.toInstant().plusSeconds(1)));
+        SourcePathIndex index = SourcePathIndex.load(dir, cache);
+        assertTrue(index.contains("E"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void load_recentlyModified() throws IOException {
+        Path dir = sourcePath();
+        Path cache = tmp.resolve("index.bin");
+
+        // a change within the same tick could go unnoticed, so the listing isn't cached yet
+        assertTrue(SourcePathIndex.load(dir, cache).contains("B"));
+        assertFalse(Files.exists(cache));
+    }
+
+    @Test
+    public void load_corruptCache() throws IOException {
+        Path dir = sourcePath();
+        Path cache = tmp.resolve("index.bin");
+        Files.writeString(cache, "garbage");
+
+        assertTrue(SourcePathIndex.load(dir, cache).contains("A"));
+    }
+}
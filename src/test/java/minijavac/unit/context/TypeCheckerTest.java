@@ -51,15 +51,21 @@ public class TypeCheckerTest {
     }
 
     private List<ClassDecl> test(String file, Listener listener) {
+        return test(file, listener, new Compiler(listener, args(file)));
+    }
+
+    private static Args args(String file) {
         Args args = new Args();
         args.files = List.of(TYPE_PATH.resolve(file));
         args.sourcePath = TYPE_PATH;
+        return args;
+    }
 
-        Compiler compiler = new Compiler(listener, args);
+    private List<ClassDecl> test(String file, Listener listener, Compiler compiler) {
 
         List<ClassDecl> classes = new ArrayList<>();
 
-        try {
+        try (compiler) {
             classes = compiler.prepare();
         } catch (IOException ex) {
             System.out.println(ex.getMessage());
@@ -258,6 +264,17 @@ public class TypeCheckerTest {
         assertErr(errs.get(1), isFile(file), 4, 10, "incompatible types: int cannot be converted to boolean");
     }
 
+    @Test
+    public void fail_callStmt_cachedOverload() {
+        // failed resolutions aren't cached, so each call site reports its own errors
+        String file = "stmt/call/fail4.java";
+        List<CompileError> errs = fail(file, 4);
+        assertErr(errs.get(0), isFile(file), 3, 10, "incompatible types: boolean cannot be converted to int");
+        assertErr(errs.get(1), isFile(file), 4, 10, "incompatible types: boolean cannot be converted to int");
+        assertErr(errs.get(2), isFile(file), 5, 13, "incompatible types: boolean cannot be converted to int");
+        assertErr(errs.get(3), isFile(file), 6, 13, "incompatible types: boolean cannot be converted to int");
+    }
+
     @Test
     public void fail_callStmt_idError_noTypeError() {
         String file = "stmt/call/fail3.java";
@@ -540,6 +557,25 @@ public class TypeCheckerTest {
         pass("stmt/call/pass1.java");
     }
 
+    @Test
+    public void pass_callStmt_stdLibTypesInOtherClass() {
+        // member signatures are resolved before any class is, so Other's types match no matter the order
+        pass("stmt/call/pass3.java");
+    }
+
+    @Test
+    public void pass_callStmt_cachedOverload() {
+        String file = "stmt/call/pass2.java";
+        SimpleListener listener = new SimpleListener();
+        Compiler compiler = new Compiler(listener, args(file));
+        test(file, listener, compiler);
+        assertFalse(listener.hasErrors());
+
+        // repeated invocations of the same overload with the same argument types are resolved from the cache
+        assertEquals(4, compiler.getStats().get("overload.hits"));
+        assertEquals(7, compiler.getStats().get("overload.misses"));
+    }
+
     @Test
     public void pass_refs() {
         pass("ref/pass1.java");
@@ -0,0 +1,76 @@
+package minijavac.unit.context;
+
+import minijavac.ast.*;
+import minijavac.syntax.Names;
+import minijavac.syntax.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeFactoryTest {
+
+    private final Names names = new Names();
+
+    private ClassDecl string() {
+        return ClassDecl.stdLib("java/lang/String", List.of(), List.of(), "String", names);
+    }
+
+    @Test
+    public void base_shared() {
+        assertSame(TypeFactory.base(TypeKind.INT), TypeFactory.base(TypeKind.INT));
+        assertSame(TypeFactory.base(TypeKind.INT), new TypeFactory(names).canonical(BaseType.stdLib(TypeKind.INT)));
+        assertTrue(TypeFactory.base(TypeKind.BOOLEAN).isCanonical());
+        assertEquals("I", TypeFactory.base(TypeKind.INT).descriptor());
+        assertThrows(IllegalArgumentException.class, () -> TypeFactory.base(TypeKind.CLASS));
+    }
+
+    @Test
+    public void classType_interned() {
+        TypeFactory types = new TypeFactory(names);
+        ClassDecl decl = string();
+
+        ClassType type = types.classType(decl);
+        assertSame(type, types.classType(decl));
+        assertSame(decl, type.decl);
+        assertEquals("String", type.print());
+        assertEquals("Ljava/lang/String;", type.descriptor());
+
+        // class types point at the declarations of a single compilation
+        assertNotSame(type, new TypeFactory(names).classType(decl));
+    }
+
+    @Test
+    public void arrayType_interned() {
+        TypeFactory types = new TypeFactory(names);
+        ClassDecl decl = string();
+
+        ArrayType type = types.arrayType(ClassType.stdLib("java/lang/String", names), 2);
+        assertFalse(type.isCanonical());
+
+        ClassType resolved = new ClassType(Identifier.of("String", names), Position.NOPOS);
+        resolved.decl = decl;
+        ArrayType canonical = types.arrayType(resolved, 2);
+        assertTrue(canonical.isCanonical());
+        assertSame(canonical, types.arrayType(types.classType(decl), 2));
+        assertSame(types.classType(decl), canonical.elementType);
+        assertNotSame(canonical, types.arrayType(types.classType(decl), 1));
+        assertEquals("[[Ljava/lang/String;", canonical.descriptor());
+
+        assertSame(types.arrayType(TypeFactory.base(TypeKind.INT), 1),
+                types.canonical(new ArrayType(BaseType.stdLib(TypeKind.INT), Position.NOPOS, 1)));
+    }
+
+    @Test
+    public void canonical_unresolved() {
+        TypeFactory types = new TypeFactory(names);
+        ClassDecl decl = string();
+        ClassType type = ClassType.stdLib("java/lang/String", names);
+
+        // left alone until the class can be resolved
+        assertSame(type, types.canonical(type));
+        assertSame(type, types.canonical(type, name -> null));
+        assertSame(types.classType(decl), types.canonical(type, name -> decl));
+    }
+}
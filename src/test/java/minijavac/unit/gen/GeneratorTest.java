@@ -11,12 +11,18 @@ import org.apache.bcel.generic.InstructionHandle;
 import org.apache.bcel.generic.InstructionList;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.jar.JarFile;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
 
 import static minijavac.unit.TestUtils.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,16 +48,22 @@ public class GeneratorTest {
     }
 
     private List<JavaClass> test(List<String> files, Set<String> hasConstructor, String dir) {
+        return test(files, hasConstructor, dir, args -> {});
+    }
+
+    private List<JavaClass> test(List<String> files, Set<String> hasConstructor, String dir,
+                                 Consumer<Args> options) {
         SimpleListener listener = new SimpleListener();
 
         Args args = new Args();
         Path dirPath = dir == null ? GEN_PATH : GEN_PATH.resolve(dir);
         args.files = files.stream().map(dirPath::resolve).collect(Collectors.toList());
         args.sourcePath = dirPath;
+        options.accept(args);
 
         Compiler compiler = new Compiler(listener, args);
 
-        try {
+        try (compiler) {
             List<ClassDecl> classes = compiler.prepare();
             List<ClassFile> classFiles = compiler.generate(classes);
 
@@ -62,12 +74,14 @@ public class GeneratorTest {
                 ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream();
                 DataOutputStream stream = new DataOutputStream(byteOutputStream);
                 classFile.writeTo(stream);
+                assertEquals(byteOutputStream.size(), classFile.size());
+                assertArrayEquals(byteOutputStream.toByteArray(), classFile.toByteArray());
 
                 ByteArrayInputStream byteInputStream = new ByteArrayInputStream(byteOutputStream.toByteArray());
                 ClassParser classParser = new ClassParser(byteInputStream, classFile.getClassName());
                 JavaClass parsedClass = classParser.parse();
 
-                assertClass(parsedClass, classes.get(i).pos.file(), classFile.getClassName(),
+                assertClass(parsedClass, classes.get(i).file, classFile.getClassName(),
                         hasConstructor.contains(parsedClass.getClassName()));
                 parsedClasses.add(parsedClass);
             }
@@ -5445,4 +5459,133 @@ public class GeneratorTest {
         assertEquals("F", fields[0].getSignature());
     }
 
+    @Test
+    public void multi_file_find_many_implicit_none() {
+        List<JavaClass> classes = test(List.of("Test.java"), new HashSet<>(), "enter/2",
+                args -> args.implicitNone = true);
+        assertNotNull(classes);
+        assertEquals(1, classes.size());
+
+        JavaClass TestClass = classes.get(0);
+        assertEquals("Test", TestClass.getClassName());
+        assertEquals("(LB;)V", TestClass.getMethods()[1].getSignature());
+
+        List<String> mainInstructions = List.of(
+                "aload_0", "getfield Test.a LA;", "bipush 13", "invokevirtual A/getC(I)LC;", "astore_2",
+                "aload_2", "iconst_3", "invokevirtual C/mult(I)I", "istore_3",
+                "aload_1", "aload_0", "getfield Test.a LA;", "getfield A.val I", "invokevirtual B/done(I)Z", "istore 4",
+                "return"
+        );
+
+        assertInstructions(TestClass.getMethods()[1].getCode(), TestClass.getConstantPool(), mainInstructions);
+    }
+
+    @Test
+    public void multi_file_find_many_parallel() {
+        List<JavaClass> sequential = test(List.of("Test.java"), Set.of("C"), "enter/2", args -> args.threads = 1);
+        List<JavaClass> parallel = test(List.of("Test.java"), Set.of("C"), "enter/2", args -> args.threads = 4);
+        assertNotNull(sequential);
+        assertNotNull(parallel);
+
+        assertEquals(List.of("Test", "A", "B", "C", "D"),
+                parallel.stream().map(JavaClass::getClassName).collect(Collectors.toList()));
+        for (int i = 0; i < sequential.size(); i++) {
+            assertArrayEquals(sequential.get(i).getBytes(), parallel.get(i).getBytes());
+        }
+    }
+
+    @Test
+    public void multi_file_generate_and_write(@TempDir Path tmpDir) throws IOException {
+        Args args = new Args();
+        Path dirPath = GEN_PATH.resolve("enter/2");
+        args.files = List.of(dirPath.resolve("Test.java"));
+        args.sourcePath = dirPath;
+        args.destinationDir = tmpDir;
+        args.threads = 4;
+
+        try (Compiler compiler = new Compiler(new SimpleListener(), args)) {
+            List<ClassDecl> classes = compiler.prepare();
+            compiler.generateAndWrite(classes);
+
+            List<ClassFile> classFiles = compiler.generate(classes);
+            assertEquals(5, classFiles.size());
+            for (ClassFile classFile : classFiles) {
+                ByteArrayOutputStream expected = new ByteArrayOutputStream();
+                classFile.writeTo(new DataOutputStream(expected));
+
+                Path written = tmpDir.resolve(String.format("%s.class", classFile.getClassName()));
+                assertArrayEquals(expected.toByteArray(), Files.readAllBytes(written));
+            }
+        }
+    }
+
+    @Test
+    public void multi_file_skip_unchanged(@TempDir Path tmpDir) throws IOException {
+        Args args = new Args();
+        Path dirPath = GEN_PATH.resolve("enter/2");
+        args.files = List.of(dirPath.resolve("Test.java"));
+        args.sourcePath = dirPath;
+        args.destinationDir = tmpDir;
+
+        try (Compiler compiler = new Compiler(new SimpleListener(), args)) {
+            List<ClassDecl> classes = compiler.prepare();
+            compiler.generateAndWrite(classes);
+
+            FileTime past = FileTime.fromMillis(0);
+            Path unchanged = tmpDir.resolve("A.class");
+            Path changed = tmpDir.resolve("B.class");
+            Files.setLastModifiedTime(unchanged, past);
+            Files.setLastModifiedTime(changed, past);
+            Files.write(changed, new byte[]{0});
+
+            args.skipUnchanged = true;
+            compiler.generateAndWrite(classes);
+
+            assertEquals(past, Files.getLastModifiedTime(unchanged));
+            assertNotEquals(past, Files.getLastModifiedTime(changed));
+            assertArrayEquals(compiler.generate(List.of(classes.get(2))).get(0).toByteArray(),
+                    Files.readAllBytes(changed));
+        }
+    }
+
+    @Test
+    public void multi_file_jar(@TempDir Path tmpDir) throws IOException {
+        Args args = new Args();
+        Path dirPath = GEN_PATH.resolve("enter/2");
+        args.files = List.of(dirPath.resolve("Test.java"));
+        args.sourcePath = dirPath;
+        args.threads = 4;
+
+        try (Compiler compiler = new Compiler(new SimpleListener(), args)) {
+            List<ClassDecl> classes = compiler.prepare();
+            Map<String, byte[]> expected = new HashMap<>();
+            for (ClassFile classFile : compiler.generate(classes)) {
+                expected.put(classFile.getClassName(), classFile.toByteArray());
+            }
+
+            for (int level : new int[]{0, 9}) {
+                args.jarCompression = level;
+                args.destinationDir = tmpDir.resolve(String.format("out/%d.jar", level));
+                compiler.generateAndWrite(classes);
+
+                try (JarFile jar = new JarFile(args.destinationDir.toFile())) {
+                    List<String> names = jar.stream().map(ZipEntry::getName).collect(Collectors.toList());
+                    assertEquals(List.of("META-INF/MANIFEST.MF", "A.class", "B.class", "C.class", "D.class",
+                            "Test.class"), names);
+                    assertNotNull(jar.getManifest());
+
+                    for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+                        ZipEntry zipEntry = jar.getEntry(entry.getKey() + ".class");
+                        assertEquals(level == 0 ? ZipEntry.STORED : ZipEntry.DEFLATED, zipEntry.getMethod());
+                        assertArrayEquals(entry.getValue(), jar.getInputStream(zipEntry).readAllBytes());
+                    }
+                }
+
+                // same classes, same jar
+                byte[] first = Files.readAllBytes(args.destinationDir);
+                compiler.generateAndWrite(classes);
+                assertArrayEquals(first, Files.readAllBytes(args.destinationDir));
+            }
+        }
+    }
 }
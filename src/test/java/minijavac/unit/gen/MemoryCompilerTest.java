@@ -0,0 +1,207 @@
+package minijavac.unit.gen;
+
+import minijavac.Compiler;
+import minijavac.cli.Args;
+import minijavac.listener.Listener;
+import minijavac.memory.Diagnostic;
+import minijavac.memory.MemoryClassLoader;
+import minijavac.memory.MemoryCompiler;
+import minijavac.memory.MemoryCompiler.Result;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemoryCompilerTest {
+
+    private static final Path PROGRAMS_PATH;
+
+    static {
+        PROGRAMS_PATH = Paths.get("src/test/resources/integration/programs");
+    }
+
+    private static String run(Map<String, byte[]> classes, String mainClass) throws Exception {
+        MemoryClassLoader loader = new MemoryClassLoader(classes);
+        Method main = loader.loadClass(mainClass).getMethod("main", String[].class);
+        // compiled classes are package-private
+        main.setAccessible(true);
+
+        PrintStream out = System.out;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bytes, true));
+        try {
+            main.invoke(null, (Object) new String[0]);
+        } finally {
+            System.setOut(out);
+        }
+        return bytes.toString();
+    }
+
+    @Test
+    public void compile_andRun() throws Exception {
+        String source = """
+                class Test {
+                    public static void main(String[] args) {
+                        Counter counter = new Counter();
+                        for (int i = 0; i < 3; i++) counter.inc();
+                        System.out.println(counter.count);
+                    }
+                }
+                class Counter {
+                    int count;
+                    void inc() { count++; }
+                }
+                """;
+
+        Result result = new MemoryCompiler().compile(Map.of("Test.java", source));
+        assertTrue(result.succeeded());
+        assertEquals(List.of("Test", "Counter"), List.copyOf(result.classes().keySet()));
+        assertEquals(String.format("3%n"), run(result.classes(), "Test"));
+    }
+
+    @Test
+    public void compile_referencedAcrossSources() throws Exception {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("Test.java", """
+                class Test {
+                    public static void main(String[] args) {
+                        System.out.println(Util.twice(21));
+                    }
+                }
+                """);
+        sources.put("Util.java", """
+                class Util {
+                    static int twice(int n) { return n * 2; }
+                }
+                """);
+
+        Result result = new MemoryCompiler(0).compile(sources);
+        assertTrue(result.succeeded());
+        assertEquals(List.of("Test", "Util"), List.copyOf(result.classes().keySet()));
+        assertEquals(String.format("42%n"), run(result.classes(), "Test"));
+    }
+
+    @Test
+    public void compile_sameAsDisk() throws Exception {
+        Path file = PROGRAMS_PATH.resolve("BinarySearch.java");
+        Result result = new MemoryCompiler().compile(Map.of("BinarySearch.java", Files.readString(file)));
+        assertTrue(result.succeeded());
+
+        String expected = Files.readAllLines(file).stream()
+                .filter(line -> line.contains("System.out.println"))
+                .map(line -> line.substring(line.indexOf("//") + 3))
+                .map(line -> String.format("%s%n", line))
+                .reduce("", String::concat);
+        assertEquals(expected, run(result.classes(), "BinarySearch"));
+    }
+
+    @Test
+    public void compile_jrtStdLib() throws Exception {
+        String source = """
+                class Test {
+                    public static void main(String[] args) {
+                        String s = String.valueOf(Math.max(3, 41));
+                        System.out.println(Integer.parseInt(s) + 1);
+                        System.out.println(s.length());
+                        System.out.println(Integer.MAX_VALUE);
+                    }
+                }
+                """;
+
+        // not part of the bundled subset
+        assertFalse(new MemoryCompiler().compile(Map.of("Test.java", source)).succeeded());
+
+        Result result = new MemoryCompiler(1, true).compile(Map.of("Test.java", source));
+        assertTrue(result.succeeded(), result.diagnostics()::toString);
+        assertEquals(String.format("42%n2%n%d%n", Integer.MAX_VALUE), run(result.classes(), "Test"));
+    }
+
+    @Test
+    public void compile_errors() throws IOException {
+        String source = """
+                class Test {
+                    void f() {
+                        int x = true;
+                        y = 1;
+                    }
+                }
+                """;
+
+        Result result = new MemoryCompiler().compile(Map.of("Test.java", source));
+        assertFalse(result.succeeded());
+        assertTrue(result.classes().isEmpty());
+
+        List<Diagnostic> diagnostics = result.diagnostics();
+        assertEquals(2, diagnostics.size());
+        assertEquals("Test.java", diagnostics.get(0).file());
+        assertEquals(3, diagnostics.get(0).line());
+        assertEquals(4, diagnostics.get(1).line());
+        assertTrue(diagnostics.get(0).toString().startsWith("Test.java:3: error: "));
+    }
+
+    @Test
+    public void compile_missingReference() throws IOException {
+        String source = """
+                class Test {
+                    Missing m;
+                }
+                """;
+
+        Result result = new MemoryCompiler().compile(Map.of("Test.java", source));
+        assertFalse(result.succeeded());
+        assertEquals(2, result.diagnostics().get(0).line());
+    }
+
+    @Test
+    public void compile_tablesPerCompilation() throws IOException {
+        List<Compiler> compilers = new ArrayList<>();
+        MemoryCompiler memoryCompiler = new MemoryCompiler() {
+            @Override
+            protected Compiler newCompiler(Listener listener, Args args, Map<Path, ByteBuffer> sources) {
+                Compiler compiler = super.newCompiler(listener, args, sources);
+                compilers.add(compiler);
+                return compiler;
+            }
+        };
+
+        // every source declares identifiers (and lives in a file) that no other source does
+        int count = 200;
+        for (int i = 0; i < count; i++) {
+            String source = String.format("""
+                    class Test%1$d {
+                        int field%1$d;
+                        public static void main(String[] args) {
+                            int local%1$d = %1$d;
+                            System.out.println(local%1$d);
+                        }
+                    }
+                    """, i);
+            Result result = memoryCompiler.compile(Map.of(String.format("Test%d.java", i), source));
+            assertTrue(result.succeeded(), result.diagnostics()::toString);
+        }
+
+        assertEquals(count, compilers.size());
+        int names = compilers.get(0).getNames().count();
+        for (Compiler compiler : compilers) {
+            assertEquals(names, compiler.getNames().count());
+            assertEquals(1, compiler.getFiles().size());
+        }
+    }
+
+    @Test
+    public void compile_invalidFileName() {
+        assertThrows(IllegalArgumentException.class, () -> new MemoryCompiler().compile(Map.of("Test", "")));
+    }
+}
@@ -0,0 +1,72 @@
+package minijavac.unit.syntax;
+
+import minijavac.syntax.FileTable;
+import minijavac.syntax.Position;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileTableTest {
+
+    @Test
+    public void id_perTable() {
+        FileTable files = new FileTable();
+        FileTable other = new FileTable();
+        Path a = Path.of("A.java");
+        Path b = Path.of("B.java");
+
+        assertEquals(1, files.id(a));
+        assertEquals(2, files.id(b));
+        assertEquals(1, files.id(a));
+        assertEquals(2, files.size());
+
+        // ids are only meaningful within the table that assigned them
+        assertEquals(1, other.id(b));
+        assertEquals(b, other.file(Position.pack(1, 1, 0)));
+        assertEquals(a, files.file(Position.pack(1, 1, 0)));
+    }
+
+    @Test
+    public void position_expanded() {
+        FileTable files = new FileTable();
+        Path file = Path.of("Test.java");
+        long pos = Position.pack(files.id(file), 3, 7);
+
+        assertEquals(new Position(file, 3, 7), files.position(pos));
+        assertNull(files.position(Position.NOPOS));
+        assertNull(files.file(Position.NOPOS));
+    }
+
+    @Test
+    public void file_afterGrowth() throws Exception {
+        FileTable files = new FileTable();
+        int threads = 4;
+        int count = 1_000;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < count; i++) {
+                        Path file = Path.of(String.format("F%d.java", i));
+                        assertEquals(file, files.file(Position.pack(files.id(file), 1, 0)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertEquals(count, files.size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package minijavac.unit.syntax;
+
+import minijavac.syntax.Name;
+import minijavac.syntax.Names;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NamesTest {
+
+    @Test
+    public void interned_acrossSpellings() {
+        Names names = new Names();
+        ByteBuffer buf = ByteBuffer.wrap("int foo;".getBytes(StandardCharsets.US_ASCII));
+
+        Name foo = names.fromString("foo");
+        assertSame(foo, names.fromBytes(buf, 4, 3));
+        assertSame(foo, names.fromChars(new StringBuilder("foo")));
+        assertNotSame(foo, names.fromBytes(buf, 0, 3));
+        assertEquals(2, names.count());
+    }
+
+    @Test
+    public void interned_perTable() {
+        Names names = new Names();
+        Names other = new Names();
+
+        assertNotSame(names.fromString("foo"), other.fromString("foo"));
+        assertEquals(0, other.fromString("foo").id);
+    }
+
+    @Test
+    public void interned_afterGrowth() {
+        Names names = new Names();
+        List<Name> entered = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            entered.add(names.fromString("v" + i));
+        }
+
+        assertEquals(entered.size(), names.count());
+        for (int i = 0; i < entered.size(); i++) {
+            assertSame(entered.get(i), names.fromString("v" + i));
+            assertEquals(i, entered.get(i).id);
+        }
+    }
+
+    @Test
+    public void interned_concurrently() throws Exception {
+        Names names = new Names();
+        int threads = 4;
+        int count = 10_000;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Name[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    Name[] result = new Name[count];
+                    for (int i = 0; i < count; i++) {
+                        result[i] = names.fromString("v" + i);
+                    }
+                    return result;
+                }));
+            }
+
+            Name[] first = futures.get(0).get();
+            for (Future<Name[]> future : futures) {
+                assertArrayEquals(first, future.get());
+            }
+            assertEquals(count, names.count());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
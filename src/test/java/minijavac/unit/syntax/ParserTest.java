@@ -3330,4 +3330,24 @@ public class ParserTest {
         clazz(classDecls.get(0), "Test", null, List.of(constructor));
     }
 
+    @Test
+    public void pass_skeleton() throws IOException {
+        SimpleListener listener = new SimpleListener();
+        List<ClassDecl> classDecls = new Compiler(listener).parse(PARSE_PATH.resolve("pass1.java"), true);
+        assertFalse(listener.hasErrors());
+
+        classes(classDecls, List.of("Keywords"));
+
+        Asserter<MethodDecl> p = method(Access.PACKAGE_PRIVATE, false, false, voidType(), "p", null, List.of());
+        Asserter<MethodDecl> declare = method(Access.PUBLIC, false, false, intType(), "declare", null, List.of());
+        clazz(classDecls.get(0), "Keywords", null, List.of(p, declare));
+    }
+
+    @Test
+    public void pass_skeleton_skipsBodyErrors() throws IOException {
+        SimpleListener listener = new SimpleListener();
+        List<ClassDecl> classDecls = new Compiler(listener).parse(PARSE_PATH.resolve("stmt/fail1.java"), true);
+        assertFalse(listener.hasErrors());
+        assertTrue(classDecls.get(0).methodDecls.get(0).statementList.isEmpty());
+    }
 }
@@ -0,0 +1,125 @@
+package minijavac.unit.syntax;
+
+import minijavac.ast.ClassDecl;
+import minijavac.err.CompileError;
+import minijavac.listener.SimpleListener;
+import minijavac.syntax.FileTable;
+import minijavac.syntax.Names;
+import minijavac.syntax.Parser;
+import minijavac.syntax.PipelinedCursor;
+import minijavac.syntax.Scanner;
+import minijavac.syntax.TokenKind;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static minijavac.unit.ASTUtils.sameTree;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PipelinedCursorTest {
+
+    private static final Path RESOURCES_PATH;
+
+    static {
+        RESOURCES_PATH = Paths.get("src/test/resources/unit");
+    }
+
+    private static List<Path> sources() throws IOException {
+        try (Stream<Path> paths = Stream.concat(Files.walk(RESOURCES_PATH.resolve("scan")),
+                Files.walk(RESOURCES_PATH.resolve("parse")))) {
+            return paths.filter(p -> p.toString().endsWith(".java"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void pass_sameTokens() throws IOException {
+        for (Path file : sources()) {
+            ByteBuffer source = Scanner.read(file);
+            SimpleListener scannerListener = new SimpleListener();
+            SimpleListener pipelineListener = new SimpleListener();
+            Scanner scanner = new Scanner(source, file, scannerListener);
+
+            // tiny ring, so that the producer repeatedly wraps around and waits on the consumer
+            try (PipelinedCursor cursor = new PipelinedCursor(source, file, pipelineListener, 4)) {
+                do {
+                    scanner.advance();
+                    cursor.advance();
+                    assertEquals(scanner.kind, cursor.kind, file::toString);
+                    assertEquals(scanner.pos, cursor.pos, file::toString);
+                    assertEquals(scanner.start, cursor.start, file::toString);
+                    assertEquals(scanner.end, cursor.end, file::toString);
+                    assertEquals(scannerListener.getErrCnt(), pipelineListener.getErrCnt(), file::toString);
+                } while (scanner.kind != TokenKind.EOF);
+
+                cursor.advance();
+                assertEquals(TokenKind.EOF, cursor.kind);
+            }
+        }
+    }
+
+    @Test
+    public void pass_sameTreeAndErrors() throws IOException {
+        for (Path file : sources()) {
+            ByteBuffer source = Scanner.read(file);
+
+            SimpleListener expectedListener = new SimpleListener();
+            List<ClassDecl> expected = new Parser(new Scanner(source, file, expectedListener), expectedListener)
+                    .parse();
+
+            SimpleListener actualListener = new SimpleListener();
+            List<ClassDecl> actual;
+            try (PipelinedCursor cursor = new PipelinedCursor(source, file, actualListener, 8)) {
+                actual = new Parser(cursor, actualListener).parse();
+            }
+
+            List<CompileError> expectedErrs = expectedListener.getErrors();
+            List<CompileError> actualErrs = actualListener.getErrors();
+            assertEquals(expectedErrs.size(), actualErrs.size(), file::toString);
+            for (int i = 0; i < expectedErrs.size(); i++) {
+                assertEquals(expectedErrs.get(i).getMsg(), actualErrs.get(i).getMsg(), file::toString);
+                assertEquals(expectedErrs.get(i).getPos(), actualErrs.get(i).getPos(), file::toString);
+            }
+
+            sameTree(expected, actual);
+        }
+    }
+
+    @Test
+    public void pass_sharedProducerThread() throws IOException {
+        // one thread for every file - a producer left waiting on a full ring by a fatal parse error must be released by
+        // close, or the next file's producer never runs
+        ExecutorService producers = Executors.newSingleThreadExecutor();
+        try {
+            for (Path file : sources()) {
+                ByteBuffer source = Scanner.read(file);
+
+                SimpleListener expectedListener = new SimpleListener();
+                List<ClassDecl> expected = new Parser(new Scanner(source, file, expectedListener), expectedListener)
+                        .parse();
+
+                SimpleListener actualListener = new SimpleListener();
+                List<ClassDecl> actual;
+                try (PipelinedCursor cursor = new PipelinedCursor(source, file, actualListener, new Names(),
+                        new FileTable(), 4, producers)) {
+                    actual = new Parser(cursor, actualListener).parse();
+                }
+
+                assertEquals(expectedListener.getErrCnt(), actualListener.getErrCnt(), file::toString);
+                sameTree(expected, actual);
+            }
+        } finally {
+            producers.shutdownNow();
+        }
+    }
+}
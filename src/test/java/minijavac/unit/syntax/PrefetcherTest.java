@@ -0,0 +1,102 @@
+package minijavac.unit.syntax;
+
+import minijavac.syntax.Prefetcher;
+import minijavac.utils.Stats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrefetcherTest {
+
+    @TempDir
+    Path tmp;
+
+    /*
+    * Reads are run one at a time, in order, on a single I/O thread - so once a task submitted after them has run, every
+    * read prefetched so far has finished.
+    * */
+    private final ExecutorService io = Executors.newSingleThreadExecutor();
+
+    private Path file(String name, String contents) throws IOException {
+        return Files.writeString(tmp.resolve(name), contents);
+    }
+
+    private static String contents(ByteBuffer buf) {
+        return StandardCharsets.UTF_8.decode(buf).toString();
+    }
+
+    private void awaitReads() throws ExecutionException, InterruptedException {
+        io.submit(() -> {}).get();
+    }
+
+    @Test
+    public void take_prefetched() throws Exception {
+        Path a = file("A.java", "class A {}");
+        Stats stats = new Stats();
+        try (Prefetcher prefetcher = new Prefetcher(Prefetcher.DEFAULT_LIMIT, stats, io)) {
+            prefetcher.prefetch(a);
+            prefetcher.prefetch(a);
+            awaitReads();
+            assertEquals("class A {}", contents(prefetcher.take(a)));
+        }
+        assertEquals(1, stats.get("prefetch.hits"));
+        assertEquals(0, stats.get("prefetch.misses"));
+        assertEquals(10, stats.get("prefetch.bytes"));
+        // the read had already finished, so taking it never waited
+        assertEquals(0, stats.get("prefetch.stall"));
+    }
+
+    @Test
+    public void take_notPrefetched() throws IOException {
+        Path a = file("A.java", "class A {}");
+        Stats stats = new Stats();
+        try (Prefetcher prefetcher = new Prefetcher(Prefetcher.DEFAULT_LIMIT, stats, io)) {
+            assertEquals("class A {}", contents(prefetcher.take(a)));
+        }
+        assertEquals(0, stats.get("prefetch.hits"));
+        assertEquals(1, stats.get("prefetch.misses"));
+    }
+
+    @Test
+    public void take_overLimit() throws Exception {
+        Path a = file("A.java", "class A {}");
+        Path b = file("B.java", "class B {}");
+        Stats stats = new Stats();
+        try (Prefetcher prefetcher = new Prefetcher(15, stats, io)) {
+            prefetcher.prefetch(a);
+            prefetcher.prefetch(b);
+            awaitReads();
+            // only one file fits, and the other is read once it's taken
+            assertEquals("class B {}", contents(prefetcher.take(b)));
+            assertEquals("class A {}", contents(prefetcher.take(a)));
+
+            // the limit applies to bytes held, so there's room again once a file is taken
+            prefetcher.prefetch(b);
+            awaitReads();
+            assertEquals("class B {}", contents(prefetcher.take(b)));
+        }
+        assertEquals(2, stats.get("prefetch.hits"));
+        assertEquals(1, stats.get("prefetch.misses"));
+    }
+
+    @Test
+    public void take_missing() {
+        Path a = tmp.resolve("A.java");
+        try (Prefetcher prefetcher = new Prefetcher(Prefetcher.DEFAULT_LIMIT, new Stats(), io)) {
+            prefetcher.prefetch(a);
+            assertThrows(NoSuchFileException.class, () -> prefetcher.take(a));
+            assertThrows(NoSuchFileException.class, () -> prefetcher.take(a));
+        }
+    }
+}
@@ -3,6 +3,9 @@ package minijavac.unit.syntax;
 import minijavac.listener.Listener;
 import minijavac.listener.SimpleListener;
 import minijavac.err.CompileError;
+import minijavac.syntax.FileTable;
+import minijavac.syntax.Names;
+import minijavac.syntax.Position;
 import minijavac.syntax.Scanner;
 import minijavac.syntax.Token;
 import minijavac.syntax.TokenKind;
@@ -12,12 +15,17 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static minijavac.syntax.TokenKind.*;
 import static minijavac.unit.TestUtils.*;
@@ -35,6 +43,9 @@ public class ScannerTest {
        fileAsserter = getFileAsserter(SCAN_PATH);
     }
 
+    private final Names names = new Names();
+    private final FileTable files = new FileTable();
+
     private static Asserter<Path> isFile(String file) {
         return fileAsserter.apply(file);
     }
@@ -60,7 +71,7 @@ public class ScannerTest {
         String resourceStr = "/" + RESOURCES_PATH.relativize(filePath);
 
         try (InputStream stream = getClass().getResourceAsStream(resourceStr)) {
-            Scanner scanner = new Scanner(stream, filePath, listener);
+            Scanner scanner = new Scanner(ByteBuffer.wrap(stream.readAllBytes()), filePath, listener, names, files);
             Token token;
             do {
                 token = scanner.scan();
@@ -674,4 +685,146 @@ public class ScannerTest {
 
         assertTokens(tokens, kinds, ids, pos, isFile(file));
     }
+
+    @Test
+    public void pass_interned_ids() {
+        String file = "pass37.java";
+        List<Token> tokens = pass(file);
+
+        List<TokenKind> kinds = Arrays.asList(TokenKind.CLASS, IDENTIFIER, TokenKind.LCBRACKET, IDENTIFIER,
+                IDENTIFIER, TokenKind.SEMICOLON, TokenKind.RCBRACKET, TokenKind.EOF);
+        List<String> ids = List.of("Foo", "Foo", "foo");
+        int[][] pos = {{1, 0}, {1, 6}, {1, 10}, {2, 4}, {2, 8}, {2, 11}, {3, 0}};
+
+        assertTokens(tokens, kinds, ids, pos, isFile(file));
+        assertSame(tokens.get(1).name, tokens.get(3).name);
+        assertSame(names.fromString("Foo"), tokens.get(1).name);
+        assertNotSame(tokens.get(3).name, tokens.get(4).name);
+    }
+
+    @Test
+    public void pass_packed_positions() {
+        String file = "pass37.java";
+        List<Token> tokens = pass(file);
+
+        Token foo = tokens.get(4);
+        assertEquals(files.id(SCAN_PATH.resolve(file)), Position.fileId(foo.pos));
+        assertEquals(Position.pack(Position.fileId(foo.pos), 2, 11), foo.endPos());
+        assertEquals(new Position(SCAN_PATH.resolve(file), 2, 8), foo.position());
+        assertEquals(foo.position(), files.position(foo.pos));
+
+        long clamped = Position.pack(1, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        assertEquals(1, Position.fileId(clamped));
+        assertEquals((1 << 24) - 1, Position.line(clamped));
+        assertEquals((1 << 20) - 1, Position.offset(clamped));
+        assertNull(files.position(Position.NOPOS));
+    }
+
+    private static void assertSameTokens(ByteBuffer source, Path file) {
+        SimpleListener bytewiseListener = new SimpleListener();
+        SimpleListener wordListener = new SimpleListener();
+        Scanner bytewise = new Scanner(source, file, bytewiseListener, false);
+        Scanner wordAtATime = new Scanner(source, file, wordListener, true);
+        do {
+            bytewise.advance();
+            wordAtATime.advance();
+            assertEquals(bytewise.kind, wordAtATime.kind, file::toString);
+            assertEquals(bytewise.pos, wordAtATime.pos, file::toString);
+            assertEquals(bytewise.start, wordAtATime.start, file::toString);
+            assertEquals(bytewise.end, wordAtATime.end, file::toString);
+        } while (bytewise.kind != TokenKind.EOF);
+
+        assertEquals(bytewiseListener.getErrCnt(), wordListener.getErrCnt(), file::toString);
+        for (int i = 0; i < bytewiseListener.getErrCnt(); i++) {
+            CompileError expected = bytewiseListener.getErrors().get(i);
+            CompileError actual = wordListener.getErrors().get(i);
+            assertEquals(expected.getMsg(), actual.getMsg(), file::toString);
+            assertEquals(expected.getPos(), actual.getPos(), file::toString);
+        }
+    }
+
+    @Test
+    public void pass_wordAtATime_resources() throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(RESOURCES_PATH.resolve("unit"))) {
+            files = paths.filter(p -> p.toString().endsWith(".java")).sorted().collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            assertSameTokens(Scanner.read(file), file);
+        }
+    }
+
+    @Test
+    public void pass_wordAtATime_edges() {
+        Path file = SCAN_PATH.resolve("edges.java");
+        List<String> sources = List.of(
+                "",
+                "a",
+                "abcdefghijklmnopqrstuvwxyz_$0123456789",
+                "\t\tint\tx ;\r\n\t  y",
+                "x /* a\n\tb\n\t\t*/ y\t/* ** */ z",
+                "x /*******/ y /**/ z /*\n*\n/ */ w",
+                "x // line comment \t\n\t\ty // trailing",
+                "x /* unclosed \n\t comment *",
+                "x /* unclosed",
+                "x /*",
+                "a\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\n\nb # \t c\n\t\t\t\t\t\t\t\t\t\t# d",
+                "verylongidentifiername0123456789 = anotherlongidentifier_$$__ + x;",
+                "é x é\n\tπ"
+        );
+        for (String source : sources) {
+            assertSameTokens(ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8)), file);
+        }
+    }
+
+    @Test
+    public void pass_utf8_columns() {
+        Path file = SCAN_PATH.resolve("utf8.java");
+        String source = "/* é π 😀 */ x\n// ünïcödé\ny é z\n\t€ w";
+        ByteBuffer buf = ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8));
+
+        for (boolean wordAtATime : List.of(true, false)) {
+            SimpleListener listener = new SimpleListener();
+            Scanner scanner = new Scanner(buf, file, listener, names, files, wordAtATime);
+            List<Long> positions = new ArrayList<>();
+            do {
+                scanner.advance();
+                positions.add(scanner.pos);
+            } while (scanner.kind != TokenKind.EOF);
+
+            int fileId = files.id(file);
+            assertEquals(List.of(Position.pack(fileId, 1, 12), Position.pack(fileId, 3, 0),
+                    Position.pack(fileId, 3, 4), Position.pack(fileId, 4, 6), Position.NOPOS), positions);
+
+            assertEquals(2, listener.getErrCnt());
+            assertEquals("illegal character: 'é'", listener.getErrors().get(0).getMsg());
+            assertEquals(new Position(file, 3, 2), listener.getErrors().get(0).getPos());
+            assertEquals("illegal character: '€'", listener.getErrors().get(1).getMsg());
+            assertEquals(new Position(file, 4, 4), listener.getErrors().get(1).getPos());
+        }
+        assertSameTokens(buf, file);
+    }
+
+    @Test
+    public void fail_malformed_utf8() {
+        Path file = SCAN_PATH.resolve("malformed.java");
+        byte[] source = {'x', ' ', (byte) 0xC3, ' ', 'y', ' ', (byte) 0xE2, (byte) 0x82, ' ', 'z'};
+
+        SimpleListener listener = new SimpleListener();
+        Scanner scanner = new Scanner(ByteBuffer.wrap(source), file, listener, names, files);
+        List<Long> positions = new ArrayList<>();
+        do {
+            scanner.advance();
+            positions.add(scanner.pos);
+        } while (scanner.kind != TokenKind.EOF);
+
+        int fileId = files.id(file);
+        // each byte of a truncated sequence is a character of its own
+        assertEquals(List.of(Position.pack(fileId, 1, 0), Position.pack(fileId, 1, 4), Position.pack(fileId, 1, 9),
+                Position.NOPOS), positions);
+        assertEquals(3, listener.getErrCnt());
+        for (CompileError err : listener.getErrors()) {
+            assertEquals("illegal character: '�'", err.getMsg());
+        }
+    }
 }
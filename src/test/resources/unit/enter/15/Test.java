@@ -0,0 +1,5 @@
+class Test {
+    public static void main(String[] args) {
+        System.out.println(1);
+    }
+}
@@ -0,0 +1,5 @@
+class Math {
+    static int twice(int n) {
+        return n * 2;
+    }
+}
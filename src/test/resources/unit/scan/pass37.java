@@ -0,0 +1,3 @@
+class Foo {
+    Foo foo;
+}
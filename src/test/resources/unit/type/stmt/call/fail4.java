@@ -0,0 +1,12 @@
+class Test {
+    public void main() {
+        f(true);
+        f(false);
+        f(1, true);
+        f(1, false);
+    }
+
+    public void f(int x) {}
+
+    public void f(int x, int y) {}
+}
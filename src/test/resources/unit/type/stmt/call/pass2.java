@@ -0,0 +1,37 @@
+class Test {
+    public void main() {
+        Other o = new Other();
+        int x = o.f(1);
+        x = o.f(2);
+        boolean b = o.f(true);
+        b = o.f(false);
+        x = o.f(1, 2);
+        x = o.f(3, 4);
+        o = new Other(1);
+        o = new Other(2);
+        x = f(null);
+        x = f(o);
+    }
+
+    public int f(Other o) {
+        return 1;
+    }
+}
+
+class Other {
+    public Other() {}
+
+    public Other(int x) {}
+
+    public int f(int x) {
+        return x;
+    }
+
+    public boolean f(boolean x) {
+        return x;
+    }
+
+    public int f(int x, int y) {
+        return x + y;
+    }
+}
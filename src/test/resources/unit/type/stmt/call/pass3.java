@@ -0,0 +1,21 @@
+class Test {
+    public static void main(String[] args) {
+        Other o = new Other();
+        o.f(args[0]);
+        o.h = o.g(args);
+        String[][] grid = new String[2][2];
+        grid[1][0] = o.h;
+        o.f(grid[1][0]);
+        o.f(o.g(grid[1]));
+    }
+}
+
+class Other {
+    public String h;
+
+    public void f(String s) {}
+
+    public String g(String[] a) {
+        return a[0];
+    }
+}